@@ -0,0 +1,18 @@
+package org.profiling.agent;
+
+/***
+ * Receives invocations of methods instrumented by {@link ProfilingAgent}.
+ * Implementations are called on the application thread right after the method returns or throws,
+ * so they must be cheap and must not throw.
+ */
+public interface AgentInvocationSink {
+
+    /***
+     * Records a finished invocation.
+     *
+     * @param method pre-resolved metadata of the instrumented method.
+     * @param executionNanos execution time in nanoseconds.
+     * @param thrown exception thrown by the method, {@code null} when it returned normally.
+     */
+    void record(AgentMethod method, long executionNanos, Throwable thrown);
+}
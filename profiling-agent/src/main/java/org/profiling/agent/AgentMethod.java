@@ -0,0 +1,84 @@
+package org.profiling.agent;
+
+import net.bytebuddy.description.method.MethodDescription;
+
+import java.lang.reflect.Method;
+
+/***
+ * Metadata of a method instrumented by {@link ProfilingAgent}, resolved once when its class is loaded.
+ * The reflective {@link Method} is looked up lazily on first use and cached.
+ */
+public final class AgentMethod {
+
+    private final int id;
+    private final String className;
+    private final String methodName;
+    private final String descriptor;
+    private final String message;
+    private volatile Method method;
+
+    AgentMethod(int id, String className, String methodName, String descriptor, String message) {
+        this.id = id;
+        this.className = className;
+        this.methodName = methodName;
+        this.descriptor = descriptor;
+        this.message = message;
+    }
+
+    /***
+     * Returns identifier baked into the instrumented bytecode.
+     *
+     * @return method identifier.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /***
+     * Returns fully qualified method name.
+     *
+     * @return class name and method name separated by a dot.
+     */
+    public String getQualifiedName() {
+        return className + "." + methodName;
+    }
+
+    /***
+     * Returns message declared by the {@code @Profiling} annotation of the method or its class.
+     *
+     * @return profiling message, empty when none is declared.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /***
+     * Returns JVM method descriptor.
+     *
+     * @return method descriptor, e.g. {@code (Ljava/lang/String;)V}.
+     */
+    public String getDescriptor() {
+        return descriptor;
+    }
+
+    /***
+     * Returns reflective method, resolved on first call.
+     *
+     * @param declaringType class that declares the method, or {@code null} to return only an already resolved method.
+     * @return reflective method or {@code null} when it cannot be resolved.
+     */
+    public Method getMethod(Class<?> declaringType) {
+        Method resolved = method;
+        if (resolved == null && declaringType != null) {
+            for (Method candidate : declaringType.getDeclaredMethods()) {
+                if (candidate.getName().equals(methodName)
+                        && new MethodDescription.ForLoadedMethod(candidate).getDescriptor().equals(descriptor)) {
+                    resolved = candidate;
+                    method = candidate;
+                    break;
+                }
+            }
+        }
+        return resolved;
+    }
+}
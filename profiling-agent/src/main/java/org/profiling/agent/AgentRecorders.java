@@ -0,0 +1,82 @@
+package org.profiling.agent;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * Static entry point called from instrumented bytecode. Every instrumented method gets an id at
+ * class-load time; the id is an index into a copy-on-write array of {@link AgentMethod}s, so a
+ * recorded invocation costs an array load and a call into the current {@link AgentInvocationSink}.
+ */
+public final class AgentRecorders {
+
+    private static final AgentInvocationSink NO_OP = (method, executionNanos, thrown) -> {
+    };
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static volatile AgentMethod[] methods = new AgentMethod[0];
+    private static volatile AgentInvocationSink sink = NO_OP;
+
+    private AgentRecorders() {
+    }
+
+    /***
+     * Records an invocation of an instrumented method. Called by {@link ProfilingAdvice}; never throws.
+     *
+     * @param id method identifier baked into the bytecode.
+     * @param declaringType class that declares the method.
+     * @param executionNanos execution time in nanoseconds.
+     * @param thrown exception thrown by the method, {@code null} when it returned normally.
+     */
+    public static void record(int id, Class<?> declaringType, long executionNanos, Throwable thrown) {
+        try {
+            AgentMethod method = methods[id];
+            method.getMethod(declaringType);
+            sink.record(method, executionNanos, thrown);
+        } catch (Throwable ignored) {
+            // profiling must never change the outcome of the profiled call
+        }
+    }
+
+    /***
+     * Replaces the sink receiving instrumented invocations.
+     *
+     * @param newSink sink to use, {@code null} to drop invocations.
+     */
+    public static void setSink(AgentInvocationSink newSink) {
+        sink = newSink != null ? newSink : NO_OP;
+    }
+
+    /***
+     * Returns metadata of all instrumented methods.
+     *
+     * @return instrumented methods indexed by id.
+     */
+    public static AgentMethod[] getMethods() {
+        AgentMethod[] current = methods;
+        return Arrays.copyOf(current, current.length);
+    }
+
+    /***
+     * Assigns an id to an instrumented method. Idempotent for the same method, so classes that are
+     * retransformed keep their ids.
+     *
+     * @param className binary name of the declaring class.
+     * @param methodName method name.
+     * @param descriptor JVM method descriptor.
+     * @param message profiling message.
+     * @return method identifier.
+     */
+    static int register(String className, String methodName, String descriptor, String message) {
+        return ids.computeIfAbsent(className + "#" + methodName + descriptor, key -> {
+            synchronized (AgentRecorders.class) {
+                AgentMethod[] current = methods;
+                AgentMethod[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = new AgentMethod(current.length, className, methodName, descriptor, message);
+                methods = next;
+                return current.length;
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package org.profiling.agent;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.annotation.AnnotationList;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/***
+ * Binds an advice parameter to the id of the instrumented method. The id is registered with
+ * {@link AgentRecorders} while the class is transformed and inlined as an {@code int} constant.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+@interface MethodId {
+
+    /***
+     * Offset mapping factory that resolves {@link MethodId} parameters.
+     */
+    enum Factory implements Advice.OffsetMapping.Factory<MethodId> {
+        INSTANCE;
+
+        @Override
+        public Class<MethodId> getAnnotationType() {
+            return MethodId.class;
+        }
+
+        @Override
+        public Advice.OffsetMapping make(ParameterDescription.InDefinedShape target,
+                                         AnnotationDescription.Loadable<MethodId> annotation,
+                                         AdviceType adviceType) {
+            return (instrumentedType, instrumentedMethod, assigner, argumentHandler, sort) -> {
+                String message = message(instrumentedMethod.getDeclaredAnnotations());
+                if (message == null) {
+                    message = message(instrumentedType.getDeclaredAnnotations());
+                }
+                int id = AgentRecorders.register(instrumentedType.getName(), instrumentedMethod.getInternalName(),
+                        instrumentedMethod.getDescriptor(), message != null ? message : "");
+                return new Advice.OffsetMapping.Target.ForStackManipulation(IntegerConstant.forValue(id));
+            };
+        }
+
+        private static String message(AnnotationList annotations) {
+            // qualified: inside an annotation type, Annotation.annotationType() hides the static import
+            AnnotationList profiling = annotations.filter(
+                    ElementMatchers.annotationType(named(ProfilingAgent.PROFILING_ANNOTATION)));
+            if (profiling.isEmpty()) {
+                return null;
+            }
+            return profiling.getOnly().getValue("message").resolve(String.class);
+        }
+    }
+}
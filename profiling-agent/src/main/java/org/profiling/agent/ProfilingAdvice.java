@@ -0,0 +1,26 @@
+package org.profiling.agent;
+
+import net.bytebuddy.asm.Advice;
+
+/***
+ * Advice inlined into every instrumented method: a {@link System#nanoTime()} on entry and a call
+ * into {@link AgentRecorders} with the method's pre-resolved id on exit.
+ */
+final class ProfilingAdvice {
+
+    private ProfilingAdvice() {
+    }
+
+    @Advice.OnMethodEnter
+    static long enter() {
+        return System.nanoTime();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    static void exit(@Advice.Enter long start,
+                     @MethodId int id,
+                     @Advice.Origin Class<?> declaringType,
+                     @Advice.Thrown Throwable thrown) {
+        AgentRecorders.record(id, declaringType, System.nanoTime() - start, thrown);
+    }
+}
@@ -0,0 +1,107 @@
+package org.profiling.agent;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+
+import java.lang.instrument.Instrumentation;
+
+import static net.bytebuddy.matcher.ElementMatchers.declaresMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isAnnotatedWith;
+import static net.bytebuddy.matcher.ElementMatchers.isBridge;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
+import static net.bytebuddy.matcher.ElementMatchers.isNative;
+import static net.bytebuddy.matcher.ElementMatchers.isSynthetic;
+import static net.bytebuddy.matcher.ElementMatchers.nameStartsWith;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/***
+ * Java agent that profiles {@code @Profiling} methods by rewriting their bytecode at class-load time,
+ * without proxies. Self-invocations, final classes and final methods are profiled like any other call.
+ * <p>
+ * Attach with {@code -javaagent:profiling-agent-<version>-javaagent.jar} or at runtime with {@link #install()}.
+ * Classes loaded before a runtime attach are retransformed.
+ */
+public final class ProfilingAgent {
+
+    static final String PROFILING_ANNOTATION = "org.profiling.Profiling";
+
+    private static final ElementMatcher.Junction<TypeDescription> PROFILED_TYPE =
+            isAnnotatedWith(named(PROFILING_ANNOTATION))
+                    .or(declaresMethod(isAnnotatedWith(named(PROFILING_ANNOTATION))));
+
+    private static final ElementMatcher.Junction<MethodDescription> PROFILED_METHOD =
+            isMethod()
+                    .and(not(isAbstract()))
+                    .and(not(isNative()))
+                    .and(not(isSynthetic()))
+                    .and(not(isBridge()))
+                    .and(isAnnotatedWith(named(PROFILING_ANNOTATION))
+                            .or(isDeclaredBy(isAnnotatedWith(named(PROFILING_ANNOTATION)))));
+
+    private static volatile boolean installed;
+
+    private ProfilingAgent() {
+    }
+
+    /***
+     * Entry point for {@code -javaagent}.
+     *
+     * @param arguments agent arguments (unused).
+     * @param instrumentation JVM instrumentation.
+     */
+    public static void premain(String arguments, Instrumentation instrumentation) {
+        install(instrumentation);
+    }
+
+    /***
+     * Entry point for dynamic attach.
+     *
+     * @param arguments agent arguments (unused).
+     * @param instrumentation JVM instrumentation.
+     */
+    public static void agentmain(String arguments, Instrumentation instrumentation) {
+        install(instrumentation);
+    }
+
+    /***
+     * Attaches the agent to the running JVM through ByteBuddy's self-attach. Does nothing when
+     * the agent is already installed.
+     */
+    public static void install() {
+        if (!installed) {
+            install(ByteBuddyAgent.install());
+        }
+    }
+
+    /***
+     * Indicates whether the agent has been installed in this JVM.
+     *
+     * @return {@code true} once instrumentation is active.
+     */
+    public static boolean isInstalled() {
+        return installed;
+    }
+
+    private static synchronized void install(Instrumentation instrumentation) {
+        if (installed) {
+            return;
+        }
+        new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .ignore(nameStartsWith("net.bytebuddy.").or(isSynthetic()))
+                .type(PROFILED_TYPE)
+                .transform(new AgentBuilder.Transformer.ForAdvice(Advice.withCustomMapping().bind(MethodId.Factory.INSTANCE))
+                        .include(ProfilingAgent.class.getClassLoader())
+                        .advice(PROFILED_METHOD, ProfilingAdvice.class.getName()))
+                .installOn(instrumentation);
+        installed = true;
+    }
+}
@@ -0,0 +1,134 @@
+package org.profiling.agent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.profiling.Profiling;
+import org.profiling.ProfilingAopMethodInterceptor;
+import org.profiling.ProfilingPointcutAdvisor;
+import org.profiling.ProfilingRuntime;
+import org.profiling.enums.LogType;
+import org.profiling.stats.HeapMethodStatsRegistry;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.MethodStatsSnapshot;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingAgentTest {
+
+    @BeforeAll
+    static void installAgent() {
+        ProfilingAgent.install();
+    }
+
+    @AfterEach
+    void resetSink() {
+        AgentRecorders.setSink(null);
+    }
+
+    @Test
+    void profilesSelfInvocationsAndFinalMethods() {
+        List<String> recorded = new CopyOnWriteArrayList<>();
+        AgentRecorders.setSink((method, executionNanos, thrown) -> recorded.add(method.getQualifiedName()));
+
+        new FinalService().outer();
+
+        assertEquals(List.of(FinalService.class.getName() + ".inner", FinalService.class.getName() + ".outer"), recorded);
+    }
+
+    @Test
+    void reportsMessageAndThrownException() {
+        List<Throwable> thrown = new CopyOnWriteArrayList<>();
+        List<String> messages = new CopyOnWriteArrayList<>();
+        AgentRecorders.setSink((method, executionNanos, exception) -> {
+            thrown.add(exception);
+            messages.add(method.getMessage());
+        });
+
+        assertThrows(IllegalStateException.class, () -> new FinalService().fail());
+
+        assertEquals(1, thrown.size());
+        assertTrue(thrown.get(0) instanceof IllegalStateException);
+        assertEquals(List.of("failing call"), messages);
+    }
+
+    @Test
+    void aopModeMissesSelfInvocationThatAgentModeCovers() {
+        MethodStatsRegistry aopStats = new HeapMethodStatsRegistry();
+        ProxiedService proxy = proxy(LogType.SIMPLE, aopStats);
+        List<String> agentRecorded = new CopyOnWriteArrayList<>();
+        AgentRecorders.setSink((method, executionNanos, thrown) -> agentRecorded.add(method.getQualifiedName()));
+
+        proxy.outer();
+
+        assertEquals(List.of(ProxiedService.class.getName() + ".outer"),
+                aopStats.snapshot().stream().map(MethodStatsSnapshot::method).toList());
+        assertTrue(agentRecorded.contains(ProxiedService.class.getName() + ".inner"));
+    }
+
+    @Test
+    void reportsEveryInstrumentedCall() {
+        List<String> recorded = new CopyOnWriteArrayList<>();
+        List<Long> nanos = new CopyOnWriteArrayList<>();
+        List<Throwable> thrown = new CopyOnWriteArrayList<>();
+        AgentRecorders.setSink((method, executionNanos, exception) -> {
+            recorded.add(method.getQualifiedName());
+            nanos.add(executionNanos);
+            if (exception != null) {
+                thrown.add(exception);
+            }
+        });
+        FinalService service = new FinalService();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("inner", service.inner());
+        }
+
+        assertEquals(100, recorded.size());
+        assertTrue(recorded.stream().allMatch((FinalService.class.getName() + ".inner")::equals), recorded.toString());
+        assertTrue(nanos.stream().allMatch(value -> value >= 0), nanos.toString());
+        assertTrue(thrown.isEmpty());
+    }
+
+    private static ProxiedService proxy(LogType logType, MethodStatsRegistry stats) {
+        ProfilingRuntime runtime = new ProfilingRuntime();
+        runtime.setMethodStats(stats);
+        ProxyFactory factory = new ProxyFactory(new ProxiedService());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new ProfilingPointcutAdvisor(new ProfilingAopMethodInterceptor(logType, runtime)));
+        return (ProxiedService) factory.getProxy();
+    }
+
+    @Profiling(message = "final service")
+    static final class FinalService {
+        String outer() {
+            return inner();
+        }
+
+        final String inner() {
+            return "inner";
+        }
+
+        @Profiling(message = "failing call")
+        void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Profiling(logParams = false, logResult = false, logCallerInfo = false)
+    public static class ProxiedService {
+        public String outer() {
+            return inner();
+        }
+
+        public String inner() {
+            return "inner";
+        }
+    }
+}
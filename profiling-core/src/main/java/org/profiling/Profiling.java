@@ -43,4 +43,11 @@ public @interface Profiling {
      * @return boolean value
      */
     boolean logCallerInfo() default true;
+
+    /***
+     * Determine whether wall time of every invocation is split into CPU, blocked, waited and other time.
+     * Enables JVM thread contention monitoring on first use
+     * @return boolean value
+     */
+    boolean contention() default false;
 }
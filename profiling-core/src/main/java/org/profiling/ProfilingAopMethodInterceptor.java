@@ -10,6 +10,7 @@ import org.profiling.enums.LogType;
 public class ProfilingAopMethodInterceptor implements org.aopalliance.intercept.MethodInterceptor {
 
     private final LogType defaultLogType;
+    private final ProfilingRuntime runtime;
 
     /***
      * Creates an adapter with the default log output style.
@@ -17,7 +18,18 @@ public class ProfilingAopMethodInterceptor implements org.aopalliance.intercept.
      * @param defaultLogType log format used by the delegate profiling interceptor.
      */
     public ProfilingAopMethodInterceptor(LogType defaultLogType) {
+        this(defaultLogType, null);
+    }
+
+    /***
+     * Creates an adapter with the default log output style and shared profiling collaborators.
+     *
+     * @param defaultLogType log format used by the delegate profiling interceptor.
+     * @param runtime shared collaborators passed to the delegate, or {@code null}.
+     */
+    public ProfilingAopMethodInterceptor(LogType defaultLogType, ProfilingRuntime runtime) {
         this.defaultLogType = defaultLogType;
+        this.runtime = runtime;
     }
 
     /***
@@ -31,7 +43,7 @@ public class ProfilingAopMethodInterceptor implements org.aopalliance.intercept.
     public Object invoke(MethodInvocation invocation) throws Throwable {
         Object target = invocation.getThis();
         Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
-        ProfilingMethodInterceptor delegate = new ProfilingMethodInterceptor(targetClass, target, defaultLogType);
+        ProfilingMethodInterceptor delegate = new ProfilingMethodInterceptor(targetClass, target, defaultLogType, runtime);
         return delegate.intercept(target, invocation.getMethod(), invocation.getArguments(), null);
     }
 }
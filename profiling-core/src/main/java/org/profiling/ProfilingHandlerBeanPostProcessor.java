@@ -2,6 +2,7 @@ package org.profiling;
 
 
 import org.profiling.enums.LogType;
+import org.profiling.pattern.ProfilingPatterns;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -25,6 +26,7 @@ public class ProfilingHandlerBeanPostProcessor implements BeanPostProcessor {
     private static final Logger logger = LoggerFactory.getLogger(ProfilingHandlerBeanPostProcessor.class);
     private final boolean enabled;
     private final LogType defaultLogType;
+    private final ProfilingRuntime runtime;
 
     /***
      * Creates legacy profiling post processor.
@@ -33,9 +35,21 @@ public class ProfilingHandlerBeanPostProcessor implements BeanPostProcessor {
      * @param defaultLogType default log rendering style for profiling output.
      */
     public ProfilingHandlerBeanPostProcessor(boolean enabled, LogType defaultLogType) {
+        this(enabled, defaultLogType, null);
+    }
+
+    /***
+     * Creates legacy profiling post processor that reports to shared profiling collaborators.
+     *
+     * @param enabled whether profiling is globally enabled.
+     * @param defaultLogType default log rendering style for profiling output.
+     * @param runtime shared collaborators passed to created interceptors, or {@code null}.
+     */
+    public ProfilingHandlerBeanPostProcessor(boolean enabled, LogType defaultLogType, ProfilingRuntime runtime) {
 
         this.enabled = enabled;
         this.defaultLogType = defaultLogType;
+        this.runtime = runtime;
     }
 
     /***
@@ -67,9 +81,12 @@ public class ProfilingHandlerBeanPostProcessor implements BeanPostProcessor {
 
         Class<?> targetClass = bean.getClass();
 
-        //checking whether bean is annotated or not
+        //checking whether bean is annotated or selected by patterns
+        ProfilingPatterns patterns = runtime != null ? runtime.getPatterns() : null;
+        if (patterns != null && !patterns.matchesClass(targetClass)) return bean;
         boolean hasAnnotatedMethods = hasAnnotatedMethods(targetClass);
-        if (!targetClass.isAnnotationPresent(Profiling.class) && !hasAnnotatedMethods) return bean;
+        if (!targetClass.isAnnotationPresent(Profiling.class) && !hasAnnotatedMethods
+                && (patterns == null || !patterns.includesAny(targetClass))) return bean;
 
         //We can't create CGLib proxy for the final class
         if(Modifier.isFinal(targetClass.getModifiers())) {
@@ -105,7 +122,7 @@ public class ProfilingHandlerBeanPostProcessor implements BeanPostProcessor {
         enhancer.setSuperclass(targetClass);
 
         //Setting method interceptor functionality
-        enhancer.setCallback(new ProfilingMethodInterceptor(targetClass, target, defaultLogType));
+        enhancer.setCallback(new ProfilingMethodInterceptor(targetClass, target, defaultLogType, runtime));
 
         Object proxy;
 
@@ -1,7 +1,30 @@
 package org.profiling;
 
 
+import org.profiling.capture.InvocationCaptures;
+import org.profiling.contention.ContentionSplit;
+import org.profiling.contention.ThreadContention;
+import org.profiling.contention.ThreadCounters;
 import org.profiling.enums.LogType;
+import org.profiling.executor.QueuedTask;
+import org.profiling.exemplar.SlowInvocation;
+import org.profiling.exemplar.SlowInvocationReservoir;
+import org.profiling.governor.DetailLevel;
+import org.profiling.governor.OverheadGovernor;
+import org.profiling.jfr.MethodInvocationEvent;
+import org.profiling.pattern.ProfilingPatterns;
+import org.profiling.plan.ProfilingPlan;
+import org.profiling.plan.ProfilingPlans;
+import org.profiling.sampling.HotFrame;
+import org.profiling.sampling.InFlightInvocation;
+import org.profiling.sampling.StackSampler;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.stats.ProfilingPhase;
+import org.profiling.stats.ThreadAllocation;
+import org.profiling.trace.RequestTracker;
+import org.profiling.trace.TraceContext;
+import org.profiling.window.WindowStatsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cglib.proxy.MethodInterceptor;
@@ -9,6 +32,8 @@ import org.springframework.cglib.proxy.MethodProxy;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
 
 /***
  * Core profiling interceptor logic used by both legacy enhancer proxies and
@@ -18,7 +43,16 @@ public class ProfilingMethodInterceptor implements MethodInterceptor {
     private final Class<?> targetClass;
     private final Object target;
     private final LogType defaultLogType;
+    private final ProfilingOverhead overhead;
+    private final OverheadGovernor governor;
+    private final MethodStatsRegistry methodStats;
+    private final RequestTracker requestTracker;
+    private final SlowInvocationReservoir slowInvocations;
+    private final ProfilingPatterns patterns;
+    private final StackSampler sampler;
+    private final WindowStatsRegistry windows;
     private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+    private static final ProfilingRecordFormatter formatter = new ProfilingRecordFormatter();
 
     /***
      * Creates profiling interceptor for the provided runtime target.
@@ -28,9 +62,29 @@ public class ProfilingMethodInterceptor implements MethodInterceptor {
      * @param defaultLogType default log output format for profiling records.
      */
     public ProfilingMethodInterceptor(Class<?> targetClass, Object target, LogType defaultLogType) {
+        this(targetClass, target, defaultLogType, null);
+    }
+
+    /***
+     * Creates profiling interceptor that reports to shared profiling collaborators.
+     *
+     * @param targetClass runtime class that owns intercepted methods.
+     * @param target target object where methods are invoked.
+     * @param defaultLogType default log output format for profiling records.
+     * @param runtime shared collaborators, or {@code null} to run without them.
+     */
+    public ProfilingMethodInterceptor(Class<?> targetClass, Object target, LogType defaultLogType, ProfilingRuntime runtime) {
         this.targetClass = targetClass;
         this.target = target;
         this.defaultLogType = defaultLogType;
+        this.overhead = runtime != null ? runtime.getOverhead() : null;
+        this.governor = runtime != null ? runtime.getGovernor() : null;
+        this.methodStats = runtime != null ? runtime.getMethodStats() : null;
+        this.requestTracker = runtime != null ? runtime.getRequestTracker() : null;
+        this.slowInvocations = runtime != null ? runtime.getSlowInvocations() : null;
+        this.patterns = runtime != null ? runtime.getPatterns() : null;
+        this.sampler = runtime != null ? runtime.getSampler() : null;
+        this.windows = runtime != null ? runtime.getWindows() : null;
     }
 
     /***
@@ -46,27 +100,33 @@ public class ProfilingMethodInterceptor implements MethodInterceptor {
     @Override
     public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
 
-        Method originalMethod = findOriginalMethod(method);
-
-        Profiling methodAnnotation = originalMethod.getAnnotation(Profiling.class);
-        Profiling classAnnotation = targetClass.getAnnotation(Profiling.class);
-
-        Profiling annotation = methodAnnotation != null ? methodAnnotation : classAnnotation;
-        if (annotation == null) {
+        long lookupStart = phaseStart();
+        ProfilingPlan plan = patterns != null
+                ? patterns.resolve(method, targetClass)
+                : ProfilingPlans.resolve(method, targetClass);
+        phaseEnd(ProfilingPhase.LOOKUP, lookupStart);
+        if (plan == null) {
             return invokeMethod(method, target, args);
         }
-        if (!(annotation.logCallerInfo() ||
-                annotation.logParams() ||
-                annotation.logResult() ||
-                annotation.logTime()))  {
-            logger.info("Profiling method intercepted with message: {}", annotation.message());
-            return invokeMethod(method, target, args);
+        Method originalMethod = plan.method();
+        if (defaultLogType == LogType.JFR) {
+            return invokeWithEvent(originalMethod, method, args, plan);
+        }
+        if (!plan.logsDetails())  {
+            logger.info("Profiling method intercepted with message: {}", plan.message());
+            return invokeCaptured(originalMethod, method, args, plan);
         }
 
 
+        DetailLevel level = governor != null ? governor.level() : DetailLevel.FULL;
+        TraceContext trace = requestTracker != null ? requestTracker.enter() : null;
+        long queueWait = QueuedTask.takeQueueWait();
         Object result = null;
         Throwable exception = null;
+        ThreadCounters counters = plan.contention() ? ThreadContention.start() : null;
         long startTime = System.nanoTime();
+        InFlightInvocation inFlight = sampler != null ? sampler.enter(originalMethod) : null;
+        long allocationStart = allocationStart();
 
         try {
             result = invokeMethod(method, target, args);
@@ -75,369 +135,312 @@ public class ProfilingMethodInterceptor implements MethodInterceptor {
             exception = e;
             throw e;
         } finally {
+            long allocated = allocatedSince(allocationStart);
             long executionTime = System.nanoTime() - startTime;
-            logProfilingInfo(originalMethod, args, result, executionTime, exception, annotation);
-        }
-    }
-
-    private Method findOriginalMethod(Method method) {
-        try {
-            return targetClass.getMethod(method.getName(), method.getParameterTypes());
-        } catch (NoSuchMethodException e) {
-            try {
-                Method m = targetClass.getDeclaredMethod(method.getName(), method.getParameterTypes());
-                m.setAccessible(true);
-                return m;
-            } catch (NoSuchMethodException e1) {
-                return method;
+            ContentionSplit contention = counters != null ? ThreadContention.finish(counters, executionTime) : null;
+            List<HotFrame> hotFrames = sampler != null ? sampler.exit(inFlight) : null;
+            capture(originalMethod, executionTime, allocated, exception != null);
+            if (overhead != null) {
+                overhead.record(ProfilingPhase.INVOKE, executionTime);
+            }
+            aggregate(originalMethod, startTime, executionTime, queueWait, contention, exception != null);
+            if (requestTracker != null) {
+                requestTracker.exit(originalMethod, executionTime);
+            }
+            if (slowInvocations != null && slowInvocations.admits(originalMethod, executionTime)) {
+                captureSlowInvocation(originalMethod, args, result, executionTime, queueWait, hotFrames, contention,
+                        exception, plan, trace);
+            }
+            if (governor == null || governor.shouldEmit(level)) {
+                logProfilingInfo(originalMethod, args, result, executionTime, queueWait, hotFrames, contention,
+                        exception, plan, level, trace);
+            }
+            if (governor != null) {
+                governor.maybeEvaluate(startTime + executionTime);
             }
         }
     }
-    private  Object invokeMethod(Method method, Object target, Object[] args) throws Throwable {
-        try{
-            return method.invoke(target, args);
-        } catch (InvocationTargetException e){
-            Throwable exp = e.getTargetException();
-            logger.warn("Invocation of method {} failed", method.getName(), exp);
-            throw exp;
 
-        } catch (Throwable t){
-            logger.warn("Error while invoking profiling method", t);
-            throw t;
+    /***
+     * Invokes target method inside a {@link MethodInvocationEvent}. When the event type is disabled
+     * in every running recording and neither aggregates, requests nor captures need the call, it goes straight
+     * to the target.
+     *
+     * @param originalMethod resolved method used for the event's method name.
+     * @param method intercepted method descriptor.
+     * @param args invocation arguments.
+     * @param plan effective profiling settings.
+     * @return invocation result from the target method.
+     * @throws Throwable when target invocation fails.
+     */
+    private Object invokeWithEvent(Method originalMethod, Method method, Object[] args, ProfilingPlan plan) throws Throwable {
+        MethodInvocationEvent event = new MethodInvocationEvent();
+        boolean eventEnabled = event.isEnabled();
+        if (!eventEnabled && !aggregates() && requestTracker == null && !InvocationCaptures.isActive()) {
+            return invokeMethod(method, target, args);
         }
-    }
-    private void logProfilingInfo(Method originalMethod, Object[] args, Object result, long executionTime, Throwable exception, Profiling annotation) {
-        try {
-            String callerInfo = getCallerInfo();
-            String methodName = originalMethod.getDeclaringClass().getName() + "." + originalMethod.getName();
-            String execTime = formatTime(executionTime);
-            String message = annotation.message();
-
-            StringBuilder sb = new StringBuilder("\n");
-
-            if (defaultLogType == LogType.SIMPLE){
-                sb.append("\n+------------------+");
-                sb.append("\n| Profiling info:  |");
-                sb.append("\n+------------------+");
-                sb.append("\n| ").append(message);
-                sb.append("\n| Method: ").append(methodName);
-
-                if (annotation.logCallerInfo()) {
-                    sb.append("\n| CallerInfo: ").append(callerInfo);
-                }
-
-                if (annotation.logParams()) {
-                    Class<?>[] paramTypes = originalMethod.getParameterTypes();
-                    sb.append("\n| Params: ");
-                    for (int i = 0; i < paramTypes.length; i++) {
-                        sb.append("\n| [").append(i).append("] ")
-                                .append(paramTypes[i].getName()).append(" = ")
-                                .append(prettyToString(args[i]));
-                    }
-                }
-
-                if (annotation.logResult()) {
-                    sb.append("\n| Result: ").append(prettyToString(result)).append("\n");
-                }
-
-                if (annotation.logTime()){
-                    sb.append("\n| Time: ").append(formatTime(executionTime)).append("\n");
-                }
-
-                logger.info(sb.toString());
-            } else if (defaultLogType == LogType.PRETTIER) {
-                int maxWidth = 80;
-
-                maxWidth = Math.max(maxWidth, methodName.length() + 10);
-                maxWidth = Math.max(maxWidth, callerInfo.length() + 15);
 
-                if (annotation.logParams() && args != null) {
-                    Class<?>[] paramTypes = originalMethod.getParameterTypes();
-                    for (int i = 0; i < args.length; i++) {
-                        String paramLine = paramTypes[i].getSimpleName() + " = " + prettyToString(args[i]);
-                        maxWidth = Math.max(maxWidth, paramLine.length() + 2);
-                    }
-                }
-
-                if (annotation.logResult()) {
-                    String resultStr = prettyToString(result);
-                    maxWidth = Math.max(maxWidth, resultStr.length() + 15);
-                }
-
-                // Constraining max width
-                maxWidth = Math.min(maxWidth, 120);
-
-                // Upper bound
-                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
-
-                // Header
-                sb.append("|").append(centerText(" PROFILING INFO ", maxWidth)).append("|\n");
-                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
-
-                // Method
-                appendFormattedLine(sb, "Method", methodName, maxWidth);
-
-                // Where Called from
-                appendFormattedLine(sb, "Called from", callerInfo, maxWidth);
-
-                // Params
-                if (annotation.logParams() && args != null && args.length > 0) {
-                    sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
-                    sb.append("|").append(boldText(" Parameters:", maxWidth)).append("|\n");
-
-                    Class<?>[] paramTypes = originalMethod.getParameterTypes();
-                    String[] paramNames = getParameterNames(originalMethod);
-
-                    for (int i = 0; i < args.length; i++) {
-                        String paramName = paramNames != null && i < paramNames.length
-                                ? paramNames[i]
-                                : "arg" + i;
-                        String paramType = paramTypes[i].getSimpleName();
-                        String paramValue = prettyToString(args[i]);
-
-                        // Formatting with spaces
-                        String paramLine = String.format("  [%d] %s %s = %s",
-                                i, paramType, paramName, paramValue);
-
-                        appendMultilineText(sb, paramLine, maxWidth, "|   ");
-                    }
-                }
-
-                // Execution time
-                if (annotation.logTime()) {
-                    sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
-                    appendFormattedLine(sb, "Execution Time",
-                            execTime, maxWidth);
+        TraceContext trace = requestTracker != null ? requestTracker.enter() : null;
+        long queueWait = QueuedTask.takeQueueWait();
+        Throwable exception = null;
+        ThreadCounters counters = (eventEnabled || methodStats != null) && plan.contention()
+                ? ThreadContention.start()
+                : null;
+        long startTime = System.nanoTime();
+        event.begin();
+        long allocationStart = allocationStart();
+        try {
+            return invokeMethod(method, target, args);
+        } catch (Throwable e) {
+            exception = e;
+            throw e;
+        } finally {
+            long allocated = allocatedSince(allocationStart);
+            event.end();
+            long executionTime = System.nanoTime() - startTime;
+            ContentionSplit contention = counters != null ? ThreadContention.finish(counters, executionTime) : null;
+            capture(originalMethod, executionTime, allocated, exception != null);
+            if (overhead != null) {
+                overhead.record(ProfilingPhase.INVOKE, executionTime);
+            }
+            aggregate(originalMethod, startTime, executionTime, queueWait, contention, exception != null);
+            if (requestTracker != null) {
+                requestTracker.exit(originalMethod, executionTime);
+            }
+            if (eventEnabled && event.shouldCommit()) {
+                long emitStart = phaseStart();
+                event.method = originalMethod.getDeclaringClass().getName() + "." + originalMethod.getName();
+                event.message = plan.message();
+                event.outcome = exception == null ? MethodInvocationEvent.SUCCESS : MethodInvocationEvent.EXCEPTION;
+                event.exceptionType = exception != null ? exception.getClass() : null;
+                event.queueWait = Math.max(0, queueWait);
+                if (contention != null) {
+                    event.cpuTime = contention.cpuNanos();
+                    event.blockedTime = contention.blockedNanos();
+                    event.blockedCount = contention.blockedCount();
+                    event.waitedTime = contention.waitedNanos();
+                    event.waitedCount = contention.waitedCount();
+                    event.otherTime = contention.otherNanos();
                 }
-
-                // Result OR Exception
-                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
-
-                if (exception != null) {
-                    appendFormattedLine(sb, "Status", " EXCEPTION", maxWidth);
-                    appendFormattedLine(sb, "Exception LogType", exception.getClass().getSimpleName(), maxWidth);
-                    String exceptionMsg = exception.getMessage();
-                    if (exceptionMsg != null) {
-                        appendMultilineText(sb, "Message: " + exceptionMsg, maxWidth, "|   ");
-                    }
-                } else if (annotation.logResult()) {
-                    appendFormattedLine(sb, "Status", " SUCCESS", maxWidth);
-                    String resultStr = prettyToString(result);
-
-                    if (resultStr.length() > maxWidth - 20) {
-                        appendMultilineText(sb, "Result: " + resultStr, maxWidth, "|   ");
-                    } else {
-                        appendFormattedLine(sb, "Result", resultStr, maxWidth);
-                    }
+                if (trace != null) {
+                    event.traceId = trace.traceId();
+                    event.spanId = trace.spanId();
                 }
-
-                // Lower bound
-                sb.append("+").append(repeatChar('-', maxWidth)).append("+");
-
-                logger.info(sb.toString());
+                event.commit();
+                phaseEnd(ProfilingPhase.EMIT, emitStart);
             }
-        } catch (Exception e) {
-            logger.error("Error logging profiling info", e);
         }
     }
 
-    private String getCallerInfo() {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-
-        for ( StackTraceElement stackTraceElement : stackTrace ) {
-            String className = stackTraceElement.getClassName();
-
-            if (!className.startsWith("org.profiling")
-                    && !className.contains("$$EnhancerByCGLIB$$")
-                    && !className.contains("$$FastClassByCGLIB$$")
-                    && !className.startsWith("org.springframework.cglib")
-                    && !stackTraceElement.getMethodName().equals("getStackTrace")
-                    && !stackTraceElement.getMethodName().equals("intercept")) {
-
-                return className + "." + stackTraceElement.getMethodName()
-                        + "(" + stackTraceElement.getFileName() + ":" + stackTraceElement.getLineNumber() + ")";
-            }
+    /***
+     * Invokes target method without detailed records, timing it only when aggregates, requests or an
+     * invocation capture need it.
+     *
+     * @param originalMethod resolved method reported to aggregates and captures.
+     * @param method intercepted method descriptor.
+     * @param args invocation arguments.
+     * @param plan effective profiling settings.
+     * @return invocation result from the target method.
+     * @throws Throwable when target invocation fails.
+     */
+    private Object invokeCaptured(Method originalMethod, Method method, Object[] args, ProfilingPlan plan) throws Throwable {
+        if (!aggregates() && requestTracker == null && !InvocationCaptures.isActive()) {
+            return invokeMethod(method, target, args);
         }
-        return "Unknown Caller";
-    }
-
-    private String prettyToString(Object object) {
-        if (object == null) {
-            return "null";
+        if (requestTracker != null) {
+            requestTracker.enter();
         }
-
+        long queueWait = QueuedTask.takeQueueWait();
+        boolean failed = true;
+        ThreadCounters counters = methodStats != null && plan.contention() ? ThreadContention.start() : null;
+        long startTime = System.nanoTime();
+        long allocationStart = allocationStart();
         try {
-            //Collections
-            if (object instanceof java.util.Collection<?> coll) {
-                if (coll.isEmpty()) {
-                    return "[] (empty)";
-                }
-                return String.format("[%d items] %s", coll.size(),
-                        truncate(object.toString(), 150));
-            }
-
-            // Map
-            if (object instanceof java.util.Map<?, ?> map) {
-                if (map.isEmpty()) {
-                    return "{} (empty)";
-                }
-                return String.format("{%d entries} %s", map.size(),
-                        truncate(object.toString(), 150));
-            }
-
-            // Arrays
-            if (object.getClass().isArray()) {
-                int length = java.lang.reflect.Array.getLength(object);
-                if (length == 0) {
-                    return "[] (empty array)";
-                }
-                return String.format("[%d items] %s", length,
-                        truncate(java.util.Arrays.deepToString(new Object[]{object}), 150));
+            Object result = invokeMethod(method, target, args);
+            failed = false;
+            return result;
+        } finally {
+            long allocated = allocatedSince(allocationStart);
+            long executionTime = System.nanoTime() - startTime;
+            ContentionSplit contention = counters != null ? ThreadContention.finish(counters, executionTime) : null;
+            capture(originalMethod, executionTime, allocated, failed);
+            aggregate(originalMethod, startTime, executionTime, queueWait, contention, failed);
+            if (requestTracker != null) {
+                requestTracker.exit(originalMethod, executionTime);
             }
-
-            // Обычные объекты
-            String str = object.toString();
-            return truncate(str, 200);
-
-        } catch (Exception e) {
-            return object.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(object));
         }
     }
 
-    private String formatTime(long nano){
-        if (nano < 1_000) return nano + " ns";
-        if (nano < 1_000_000) return String.format("%.2f μs", nano / 1_000.0);
-        if (nano < 1_000_000_000) return String.format("%.2f ms", nano / 1_000_000.0);
-        return String.format("%.2f s", nano / 1_000_000_000.0);
-    }
-
-    private String truncate(String str, int maxLength) {
-        if ( str == null) return "null";
-        if ( str.length() <= maxLength) return str;
-        return str.substring(0, maxLength-3) + "...";
-    }
-
-
-    private void appendFormattedLine(StringBuilder sb, String label, String value, int maxWidth) {
-        String labelPart = " " + label + ": ";
-        int valueMaxWidth = maxWidth - labelPart.length() - 1;
-
-        if (value.length() > valueMaxWidth) {
-            value = value.substring(0, valueMaxWidth - 3) + "...";
-        }
-
-        sb.append("|").append(labelPart).append(value);
-
-
-        int padding = maxWidth - labelPart.length() - value.length();
-        sb.append(repeatChar(' ', padding)).append("|\n");
+    /***
+     * Indicates whether per-method statistics or rolling windows are kept.
+     *
+     * @return {@code true} when invocations must be timed for aggregates.
+     */
+    private boolean aggregates() {
+        return methodStats != null || windows != null;
     }
 
     /***
-     * Appends text and wraps it to multiple output lines that fit the frame width.
+     * Adds an invocation to per-method statistics and rolling windows, whatever the output mode.
      *
-     * @param sb output builder where formatted lines are appended.
-     * @param text input text to wrap.
-     * @param maxWidth frame width.
-     * @param prefix line prefix used for each wrapped row.
+     * @param originalMethod resolved profiled method.
+     * @param startTime {@link System#nanoTime()} when the invocation started.
+     * @param executionTime execution time in nanoseconds.
+     * @param queueWait time-in-queue in nanoseconds, negative when not dispatched through a timed executor.
+     * @param contention wall time split, or {@code null} when the method doesn't measure contention.
+     * @param failed whether the invocation threw an exception.
      */
-    private void appendMultilineText(StringBuilder sb, String text, int maxWidth, String prefix) {
-        int contentWidth = maxWidth - prefix.length() - 1;
-        //int contentWidth = maxWidth - 4;
-
-        if (text.length() <= contentWidth) {
-            sb.append(prefix).append(text);
-            int padding = maxWidth - prefix.length() - text.length();
-            sb.append(repeatChar(' ', padding)).append(" |\n");
-            return;
-        }
-
-
-        String[] words = text.split(" ");
-        StringBuilder line = new StringBuilder();
-
-        for (String word : words) {
-            if (line.length() + word.length() + 1 <= contentWidth) {
-                if (!line.isEmpty()) line.append(" ");
-                line.append(word);
-            } else {
-
-                sb.append(prefix).append(line);
-                int padding = maxWidth - prefix.length() - line.length();
-                sb.append(repeatChar(' ', padding)).append(" |\n");
-
-
-                line = new StringBuilder(word);
+    private void aggregate(Method originalMethod, long startTime, long executionTime, long queueWait,
+                           ContentionSplit contention, boolean failed) {
+        if (methodStats != null) {
+            methodStats.record(originalMethod, executionTime, failed);
+            if (queueWait >= 0) {
+                methodStats.recordQueueWait(originalMethod, queueWait);
+            }
+            if (contention != null) {
+                methodStats.recordContention(originalMethod, contention);
             }
         }
-
-
-        if (!line.isEmpty()) {
-            sb.append(prefix).append(line);
-            int padding = maxWidth - prefix.length() - line.length();
-            sb.append(repeatChar(' ', padding)).append(" |\n");
+        if (windows != null) {
+            windows.record(originalMethod, startTime + executionTime, executionTime, failed);
         }
     }
 
     /***
-     * Centers text in a fixed-width field.
+     * Reads the thread allocation counter when an invocation capture is open. Called right before the
+     * target, so the profiler's own bookkeeping is not counted.
      *
-     * @param text input text.
-     * @param width total field width.
-     * @return centered text padded with spaces.
+     * @return allocated bytes of the current thread, or {@code -1} when not measured.
      */
-    private String centerText(String text, int width) {
-        int padding = width - text.length();
-        int leftPadding = padding / 2;
-        int rightPadding = padding - leftPadding;
+    private static long allocationStart() {
+        return InvocationCaptures.isActive() ? ThreadAllocation.currentThreadAllocatedBytes() : -1L;
+    }
 
-        return repeatChar(' ', leftPadding) + text + repeatChar(' ', rightPadding);
+    /***
+     * Reads bytes allocated by the current thread since {@link #allocationStart()}. Called right after the target.
+     *
+     * @param allocationStart value returned by {@link #allocationStart()}.
+     * @return allocated bytes, or {@code -1} when not measured.
+     */
+    private static long allocatedSince(long allocationStart) {
+        return allocationStart >= 0 ? ThreadAllocation.currentThreadAllocatedBytes() - allocationStart : -1L;
+    }
+
+    /***
+     * Reports an invocation to open invocation captures.
+     *
+     * @param originalMethod resolved profiled method.
+     * @param executionTime execution time in nanoseconds.
+     * @param allocated value returned by {@link #allocatedSince(long)}.
+     * @param failed whether the invocation threw an exception.
+     */
+    private static void capture(Method originalMethod, long executionTime, long allocated, boolean failed) {
+        if (InvocationCaptures.isActive()) {
+            InvocationCaptures.record(originalMethod, executionTime, allocated, failed);
+        }
     }
 
     /***
-     * Aligns section title text to a fixed width.
+     * Starts a self-instrumentation measurement.
      *
-     * @param text section title.
-     * @param width total field width.
-     * @return padded string representation.
+     * @return current timer value, or {@code 0} when self-instrumentation is disabled.
      */
-    private String boldText(String text, int width) {
-        int padding = width - text.length();
-        return text + repeatChar(' ', padding);
+    private long phaseStart() {
+        return overhead != null ? System.nanoTime() : 0L;
     }
 
     /***
-     * Repeats character a fixed number of times.
+     * Completes a self-instrumentation measurement started with {@link #phaseStart()}.
      *
-     * @param c character to repeat.
-     * @param count number of repetitions.
-     * @return string containing repeated characters.
+     * @param phase measured phase.
+     * @param start value returned by {@link #phaseStart()}.
      */
-    private String repeatChar(char c, int count) {
-        return String.valueOf(c).repeat(Math.max(0, count));
+    private void phaseEnd(ProfilingPhase phase, long start) {
+        if (overhead != null) {
+            overhead.record(phase, System.nanoTime() - start);
+        }
     }
 
+    private  Object invokeMethod(Method method, Object target, Object[] args) throws Throwable {
+        try{
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e){
+            Throwable exp = e.getTargetException();
+            logger.warn("Invocation of method {} failed", method.getName(), exp);
+            throw exp;
 
+        } catch (Throwable t){
+            logger.warn("Error while invoking profiling method", t);
+            throw t;
+        }
+    }
+    private void logProfilingInfo(Method originalMethod, Object[] args, Object result, long executionTime, long queueWait, List<HotFrame> hotFrames, ContentionSplit contention, Throwable exception, ProfilingPlan plan, DetailLevel level, TraceContext trace) {
+        try {
+            boolean logCallerInfo = plan.logCallerInfo() && level.callerInfo();
+            boolean logParams = plan.logParams() && level.payload();
+            boolean logResult = plan.logResult() && level.payload();
+            boolean logTime = plan.logTime();
+
+            long captureStart = phaseStart();
+            String callerInfo = logCallerInfo || (defaultLogType == LogType.PRETTIER && level.callerInfo())
+                    ? getCallerInfo()
+                    : null;
+            phaseEnd(ProfilingPhase.CAPTURE, captureStart);
+
+            long renderStart = phaseStart();
+            ProfilingRecord record = new ProfilingRecord(originalMethod, plan.message(), args, result, exception,
+                    executionTime, callerInfo, trace, logParams, logResult, logTime, logCallerInfo,
+                    plan.parameterNames(), queueWait, hotFrames, contention);
+            String text = formatter.format(defaultLogType, record);
+            phaseEnd(ProfilingPhase.RENDER, renderStart);
+
+            long emitStart = phaseStart();
+            logger.info(text);
+            phaseEnd(ProfilingPhase.EMIT, emitStart);
+        } catch (Exception e) {
+            logger.error("Error logging profiling info", e);
+        }
+    }
 
     /***
-     * Attempts to resolve Java parameter names from reflection metadata.
-     *
-     * @param method target method.
-     * @return array of parameter names or {@code null} when unavailable.
+     * Captures full detail of an invocation admitted to the slow invocation reservoir. Arguments and
+     * result are rendered right away so the retained record doesn't depend on later object state.
      */
-    private String[] getParameterNames(Method method) {
+    private void captureSlowInvocation(Method originalMethod, Object[] args, Object result, long executionTime,
+                                       long queueWait, List<HotFrame> hotFrames, ContentionSplit contention,
+                                       Throwable exception, ProfilingPlan plan, TraceContext trace) {
         try {
-            // Java 8+ поддержка Parameter.getName()
-            java.lang.reflect.Parameter[] parameters = method.getParameters();
-            String[] names = new String[parameters.length];
-            for (int i = 0; i < parameters.length; i++) {
-                names[i] = parameters[i].getName();
+            Object[] renderedArgs = new Object[args != null ? args.length : 0];
+            for (int i = 0; i < renderedArgs.length; i++) {
+                renderedArgs[i] = formatter.prettyToString(args[i]);
             }
-            return names;
+            ProfilingRecord record = new ProfilingRecord(originalMethod, plan.message(), renderedArgs,
+                    formatter.prettyToString(result), exception, executionTime, getCallerInfo(), trace,
+                    true, true, true, true, plan.parameterNames(), queueWait, hotFrames, contention);
+            slowInvocations.offer(originalMethod, new SlowInvocation(Instant.now(), record));
         } catch (Exception e) {
-            // Fallback для старых версий Java
-            return null;
+            logger.error("Error capturing slow invocation", e);
+        }
+    }
+
+    private String getCallerInfo() {
+        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+
+        for ( StackTraceElement stackTraceElement : stackTrace ) {
+            String className = stackTraceElement.getClassName();
+
+            if (!className.startsWith("org.profiling")
+                    && !className.contains("$$EnhancerByCGLIB$$")
+                    && !className.contains("$$FastClassByCGLIB$$")
+                    && !className.startsWith("org.springframework.cglib")
+                    && !stackTraceElement.getMethodName().equals("getStackTrace")
+                    && !stackTraceElement.getMethodName().equals("intercept")) {
+
+                return className + "." + stackTraceElement.getMethodName()
+                        + "(" + stackTraceElement.getFileName() + ":" + stackTraceElement.getLineNumber() + ")";
+            }
         }
+        return "Unknown Caller";
     }
 
 }
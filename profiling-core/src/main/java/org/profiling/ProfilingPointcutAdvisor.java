@@ -1,6 +1,7 @@
 package org.profiling;
 
 import org.aopalliance.aop.Advice;
+import org.profiling.pattern.ProfilingPatterns;
 import org.springframework.aop.ClassFilter;
 import org.springframework.aop.framework.AopInfrastructureBean;
 import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
@@ -9,18 +10,32 @@ import org.springframework.beans.factory.config.BeanPostProcessor;
 import java.lang.reflect.Method;
 
 /***
- * Advisor that applies profiling advice to classes or methods annotated with {@link Profiling}.
+ * Advisor that applies profiling advice to classes or methods annotated with {@link Profiling},
+ * or selected by configured {@link ProfilingPatterns}.
  */
 public class ProfilingPointcutAdvisor extends StaticMethodMatcherPointcutAdvisor {
 
+    private final ProfilingPatterns patterns;
+
     /***
      * Creates advisor that routes matched invocations to profiling advice.
      *
      * @param advice method advice that performs profiling.
      */
     public ProfilingPointcutAdvisor(Advice advice) {
+        this(advice, null);
+    }
+
+    /***
+     * Creates advisor that also profiles methods selected by patterns.
+     *
+     * @param advice method advice that performs profiling.
+     * @param patterns compiled include and exclude patterns, or {@code null} to match annotations only.
+     */
+    public ProfilingPointcutAdvisor(Advice advice, ProfilingPatterns patterns) {
+        this.patterns = patterns;
         setAdvice(advice);
-        setClassFilter(new ProfilingClassFilter());
+        setClassFilter(new ProfilingClassFilter(patterns));
     }
 
     /***
@@ -28,13 +43,17 @@ public class ProfilingPointcutAdvisor extends StaticMethodMatcherPointcutAdvisor
      *
      * @param method method selected by Spring AOP.
      * @param targetClass actual bean class where the method is invoked.
-     * @return {@code true} when class-level or method-level {@link Profiling} annotation is present.
+     * @return {@code true} when class-level or method-level {@link Profiling} annotation is present,
+     *         or an include pattern selects the method and no exclude pattern does.
      */
     @Override
     public boolean matches(Method method, Class<?> targetClass) {
         if (targetClass == null) {
             return false;
         }
+        if (patterns != null) {
+            return patterns.resolve(method, targetClass) != null;
+        }
 
         if (targetClass.isAnnotationPresent(Profiling.class)) {
             return true;
@@ -66,8 +85,14 @@ public class ProfilingPointcutAdvisor extends StaticMethodMatcherPointcutAdvisor
 
     private static final class ProfilingClassFilter implements ClassFilter {
 
+        private final ProfilingPatterns patterns;
+
+        private ProfilingClassFilter(ProfilingPatterns patterns) {
+            this.patterns = patterns;
+        }
+
         /***
-         * Excludes infrastructure classes from profiling advisor application.
+         * Excludes infrastructure classes and classes excluded by pattern from profiling advisor application.
          *
          * @param clazz class to evaluate.
          * @return {@code true} when class is eligible for profiling advice.
@@ -76,7 +101,8 @@ public class ProfilingPointcutAdvisor extends StaticMethodMatcherPointcutAdvisor
         public boolean matches(Class<?> clazz) {
             return !AopInfrastructureBean.class.isAssignableFrom(clazz)
                     && !Advice.class.isAssignableFrom(clazz)
-                    && !BeanPostProcessor.class.isAssignableFrom(clazz);
+                    && !BeanPostProcessor.class.isAssignableFrom(clazz)
+                    && (patterns == null || patterns.matchesClass(clazz));
         }
     }
 }
@@ -0,0 +1,37 @@
+package org.profiling;
+
+import org.profiling.contention.ContentionSplit;
+import org.profiling.sampling.HotFrame;
+import org.profiling.trace.TraceContext;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/***
+ * Everything known about a single profiled invocation at the time it is rendered.
+ *
+ * @param method resolved profiled method.
+ * @param message message declared by the {@link Profiling} annotation.
+ * @param args invocation arguments.
+ * @param result returned value, {@code null} when the invocation failed.
+ * @param exception thrown exception, {@code null} when the invocation succeeded.
+ * @param executionNanos execution time in nanoseconds.
+ * @param callerInfo caller description, {@code null} when not captured.
+ * @param trace trace context, {@code null} when trace correlation is disabled.
+ * @param logParams whether parameters are rendered.
+ * @param logResult whether the result is rendered.
+ * @param logTime whether execution time is rendered.
+ * @param logCallerInfo whether caller information is rendered in the simple layout.
+ * @param parameterNames parameter names known ahead of time, {@code null} to read them from the method.
+ * @param queueWaitNanos time the invocation waited in an executor queue, {@code -1} when not dispatched
+ *                       through a timed executor.
+ * @param hotFrames frames most often on top of the stack while the invocation ran long, {@code null} when
+ *                  it was not sampled.
+ * @param contention wall time split into CPU, blocked, waited and other time, {@code null} when not measured.
+ */
+public record ProfilingRecord(Method method, String message, Object[] args, Object result, Throwable exception,
+                              long executionNanos, String callerInfo, TraceContext trace,
+                              boolean logParams, boolean logResult, boolean logTime, boolean logCallerInfo,
+                              String[] parameterNames, long queueWaitNanos, List<HotFrame> hotFrames,
+                              ContentionSplit contention) {
+}
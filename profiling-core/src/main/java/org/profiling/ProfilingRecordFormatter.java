@@ -0,0 +1,421 @@
+package org.profiling;
+
+import org.profiling.contention.ContentionSplit;
+import org.profiling.enums.LogType;
+import org.profiling.sampling.HotFrame;
+import org.profiling.trace.TraceContext;
+
+import java.lang.reflect.Method;
+
+/***
+ * Renders {@link ProfilingRecord}s into the text layouts selected by {@link LogType}.
+ * Stateless and safe to share between threads.
+ */
+public class ProfilingRecordFormatter {
+
+    /***
+     * Renders a profiling record.
+     *
+     * @param logType output layout, {@link LogType#SIMPLE} or {@link LogType#PRETTIER}.
+     * @param record record to render.
+     * @return rendered record text.
+     */
+    public String format(LogType logType, ProfilingRecord record) {
+        Method originalMethod = record.method();
+        Object[] args = record.args();
+        Object result = record.result();
+        Throwable exception = record.exception();
+        long executionTime = record.executionNanos();
+        String callerInfo = record.callerInfo();
+        TraceContext trace = record.trace();
+        boolean logParams = record.logParams();
+        boolean logResult = record.logResult();
+        boolean logTime = record.logTime();
+        boolean logCallerInfo = record.logCallerInfo();
+
+        String methodName = originalMethod.getDeclaringClass().getName() + "." + originalMethod.getName();
+        String execTime = formatTime(executionTime);
+        String message = record.message();
+
+        StringBuilder sb = new StringBuilder("\n");
+
+        if (logType == LogType.SIMPLE){
+            sb.append("\n+------------------+");
+            sb.append("\n| Profiling info:  |");
+            sb.append("\n+------------------+");
+            sb.append("\n| ").append(message);
+            sb.append("\n| Method: ").append(methodName);
+
+            if (trace != null) {
+                sb.append("\n| Trace: ").append(trace);
+            }
+
+            if (logCallerInfo) {
+                sb.append("\n| CallerInfo: ").append(callerInfo);
+            }
+
+            if (logParams) {
+                Class<?>[] paramTypes = originalMethod.getParameterTypes();
+                sb.append("\n| Params: ");
+                for (int i = 0; i < paramTypes.length; i++) {
+                    sb.append("\n| [").append(i).append("] ")
+                            .append(paramTypes[i].getName()).append(" = ")
+                            .append(prettyToString(args[i]));
+                }
+            }
+
+            if (logResult) {
+                sb.append("\n| Result: ").append(prettyToString(result)).append("\n");
+            }
+
+            if (logTime){
+                if (record.queueWaitNanos() >= 0) {
+                    sb.append("\n| Queue wait: ").append(formatTime(record.queueWaitNanos()));
+                }
+                sb.append("\n| Time: ").append(formatTime(executionTime)).append("\n");
+            }
+
+            if (record.contention() != null) {
+                sb.append("| Contention: ").append(formatContention(record.contention())).append("\n");
+            }
+
+            if (record.hotFrames() != null) {
+                sb.append("| Hot frames: ");
+                for (HotFrame frame : record.hotFrames()) {
+                    sb.append("\n|   ").append(frame);
+                }
+                sb.append("\n");
+            }
+
+        } else if (logType == LogType.PRETTIER) {
+            int maxWidth = 80;
+
+            maxWidth = Math.max(maxWidth, methodName.length() + 10);
+            if (callerInfo != null) {
+                maxWidth = Math.max(maxWidth, callerInfo.length() + 15);
+            }
+
+            if (logParams && args != null) {
+                Class<?>[] paramTypes = originalMethod.getParameterTypes();
+                for (int i = 0; i < args.length; i++) {
+                    String paramLine = paramTypes[i].getSimpleName() + " = " + prettyToString(args[i]);
+                    maxWidth = Math.max(maxWidth, paramLine.length() + 2);
+                }
+            }
+
+            if (logResult) {
+                String resultStr = prettyToString(result);
+                maxWidth = Math.max(maxWidth, resultStr.length() + 15);
+            }
+
+            // Constraining max width
+            maxWidth = Math.min(maxWidth, 120);
+
+            // Upper bound
+            sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+
+            // Header
+            sb.append("|").append(centerText(" PROFILING INFO ", maxWidth)).append("|\n");
+            sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+
+            // Method
+            appendFormattedLine(sb, "Method", methodName, maxWidth);
+
+            // Trace
+            if (trace != null) {
+                appendFormattedLine(sb, "Trace", trace.toString(), maxWidth);
+            }
+
+            // Where Called from
+            if (callerInfo != null) {
+                appendFormattedLine(sb, "Called from", callerInfo, maxWidth);
+            }
+
+            // Params
+            if (logParams && args != null && args.length > 0) {
+                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+                sb.append("|").append(boldText(" Parameters:", maxWidth)).append("|\n");
+
+                Class<?>[] paramTypes = originalMethod.getParameterTypes();
+                String[] paramNames = record.parameterNames() != null
+                        ? record.parameterNames()
+                        : getParameterNames(originalMethod);
+
+                for (int i = 0; i < args.length; i++) {
+                    String paramName = paramNames != null && i < paramNames.length
+                            ? paramNames[i]
+                            : "arg" + i;
+                    String paramType = paramTypes[i].getSimpleName();
+                    String paramValue = prettyToString(args[i]);
+
+                    // Formatting with spaces
+                    String paramLine = String.format("  [%d] %s %s = %s",
+                            i, paramType, paramName, paramValue);
+
+                    appendMultilineText(sb, paramLine, maxWidth, "|   ");
+                }
+            }
+
+            // Execution time
+            if (logTime) {
+                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+                if (record.queueWaitNanos() >= 0) {
+                    appendFormattedLine(sb, "Queue Wait", formatTime(record.queueWaitNanos()), maxWidth);
+                }
+                appendFormattedLine(sb, "Execution Time",
+                        execTime, maxWidth);
+            }
+
+            // Wall time split
+            if (record.contention() != null) {
+                ContentionSplit contention = record.contention();
+                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+                appendFormattedLine(sb, "CPU", formatTime(contention.cpuNanos()), maxWidth);
+                appendFormattedLine(sb, "Blocked", formatTime(contention.blockedNanos())
+                        + " (" + contention.blockedCount() + "x)", maxWidth);
+                appendFormattedLine(sb, "Waited", formatTime(contention.waitedNanos())
+                        + " (" + contention.waitedCount() + "x)", maxWidth);
+                appendFormattedLine(sb, "Other", formatTime(contention.otherNanos()), maxWidth);
+            }
+
+            // Hot frames
+            if (record.hotFrames() != null) {
+                sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+                sb.append("|").append(boldText(" Hot frames:", maxWidth)).append("|\n");
+                for (HotFrame frame : record.hotFrames()) {
+                    appendMultilineText(sb, "  " + frame, maxWidth, "|   ");
+                }
+            }
+
+            // Result OR Exception
+            sb.append("+").append(repeatChar('-', maxWidth)).append("+\n");
+
+            if (exception != null) {
+                appendFormattedLine(sb, "Status", " EXCEPTION", maxWidth);
+                appendFormattedLine(sb, "Exception LogType", exception.getClass().getSimpleName(), maxWidth);
+                String exceptionMsg = exception.getMessage();
+                if (exceptionMsg != null) {
+                    appendMultilineText(sb, "Message: " + exceptionMsg, maxWidth, "|   ");
+                }
+            } else if (logResult) {
+                appendFormattedLine(sb, "Status", " SUCCESS", maxWidth);
+                String resultStr = prettyToString(result);
+
+                if (resultStr.length() > maxWidth - 20) {
+                    appendMultilineText(sb, "Result: " + resultStr, maxWidth, "|   ");
+                } else {
+                    appendFormattedLine(sb, "Result", resultStr, maxWidth);
+                }
+            }
+
+            // Lower bound
+            sb.append("+").append(repeatChar('-', maxWidth)).append("+");
+        }
+        return sb.toString();
+    }
+
+    /***
+     * Renders a value for profiling output: collections, maps and arrays get their size, long values are truncated.
+     *
+     * @param object value to render, may be {@code null}.
+     * @return printable representation.
+     */
+    public String prettyToString(Object object) {
+        if (object == null) {
+            return "null";
+        }
+
+        try {
+            //Collections
+            if (object instanceof java.util.Collection<?> coll) {
+                if (coll.isEmpty()) {
+                    return "[] (empty)";
+                }
+                return String.format("[%d items] %s", coll.size(),
+                        truncate(object.toString(), 150));
+            }
+
+            // Map
+            if (object instanceof java.util.Map<?, ?> map) {
+                if (map.isEmpty()) {
+                    return "{} (empty)";
+                }
+                return String.format("{%d entries} %s", map.size(),
+                        truncate(object.toString(), 150));
+            }
+
+            // Arrays
+            if (object.getClass().isArray()) {
+                int length = java.lang.reflect.Array.getLength(object);
+                if (length == 0) {
+                    return "[] (empty array)";
+                }
+                return String.format("[%d items] %s", length,
+                        truncate(java.util.Arrays.deepToString(new Object[]{object}), 150));
+            }
+
+            // Обычные объекты
+            String str = object.toString();
+            return truncate(str, 200);
+
+        } catch (Exception e) {
+            return object.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(object));
+        }
+    }
+
+    /***
+     * Renders a duration with the most readable unit.
+     *
+     * @param nano duration in nanoseconds.
+     * @return formatted duration, e.g. {@code 1.20 ms}.
+     */
+    public String formatTime(long nano){
+        if (nano < 1_000) return nano + " ns";
+        if (nano < 1_000_000) return String.format("%.2f μs", nano / 1_000.0);
+        if (nano < 1_000_000_000) return String.format("%.2f ms", nano / 1_000_000.0);
+        return String.format("%.2f s", nano / 1_000_000_000.0);
+    }
+
+    /***
+     * Formats wall time split of an invocation on a single line.
+     *
+     * @param contention wall time split.
+     * @return human-readable split, e.g. {@code cpu 1.20 ms, blocked 3.00 ms (2x), waited 0 ns (0x), other 0.10 ms}.
+     */
+    public String formatContention(ContentionSplit contention) {
+        return "cpu " + formatTime(contention.cpuNanos())
+                + ", blocked " + formatTime(contention.blockedNanos()) + " (" + contention.blockedCount() + "x)"
+                + ", waited " + formatTime(contention.waitedNanos()) + " (" + contention.waitedCount() + "x)"
+                + ", other " + formatTime(contention.otherNanos());
+    }
+
+    private String truncate(String str, int maxLength) {
+        if ( str == null) return "null";
+        if ( str.length() <= maxLength) return str;
+        return str.substring(0, maxLength-3) + "...";
+    }
+
+
+    private void appendFormattedLine(StringBuilder sb, String label, String value, int maxWidth) {
+        String labelPart = " " + label + ": ";
+        int valueMaxWidth = maxWidth - labelPart.length() - 1;
+
+        if (value.length() > valueMaxWidth) {
+            value = value.substring(0, valueMaxWidth - 3) + "...";
+        }
+
+        sb.append("|").append(labelPart).append(value);
+
+
+        int padding = maxWidth - labelPart.length() - value.length();
+        sb.append(repeatChar(' ', padding)).append("|\n");
+    }
+
+    /***
+     * Appends text and wraps it to multiple output lines that fit the frame width.
+     *
+     * @param sb output builder where formatted lines are appended.
+     * @param text input text to wrap.
+     * @param maxWidth frame width.
+     * @param prefix line prefix used for each wrapped row.
+     */
+    private void appendMultilineText(StringBuilder sb, String text, int maxWidth, String prefix) {
+        int contentWidth = maxWidth - prefix.length() - 1;
+        //int contentWidth = maxWidth - 4;
+
+        if (text.length() <= contentWidth) {
+            sb.append(prefix).append(text);
+            int padding = maxWidth - prefix.length() - text.length();
+            sb.append(repeatChar(' ', padding)).append(" |\n");
+            return;
+        }
+
+
+        String[] words = text.split(" ");
+        StringBuilder line = new StringBuilder();
+
+        for (String word : words) {
+            if (line.length() + word.length() + 1 <= contentWidth) {
+                if (!line.isEmpty()) line.append(" ");
+                line.append(word);
+            } else {
+
+                sb.append(prefix).append(line);
+                int padding = maxWidth - prefix.length() - line.length();
+                sb.append(repeatChar(' ', padding)).append(" |\n");
+
+
+                line = new StringBuilder(word);
+            }
+        }
+
+
+        if (!line.isEmpty()) {
+            sb.append(prefix).append(line);
+            int padding = maxWidth - prefix.length() - line.length();
+            sb.append(repeatChar(' ', padding)).append(" |\n");
+        }
+    }
+
+    /***
+     * Centers text in a fixed-width field.
+     *
+     * @param text input text.
+     * @param width total field width.
+     * @return centered text padded with spaces.
+     */
+    private String centerText(String text, int width) {
+        int padding = width - text.length();
+        int leftPadding = padding / 2;
+        int rightPadding = padding - leftPadding;
+
+        return repeatChar(' ', leftPadding) + text + repeatChar(' ', rightPadding);
+    }
+
+    /***
+     * Aligns section title text to a fixed width.
+     *
+     * @param text section title.
+     * @param width total field width.
+     * @return padded string representation.
+     */
+    private String boldText(String text, int width) {
+        int padding = width - text.length();
+        return text + repeatChar(' ', padding);
+    }
+
+    /***
+     * Repeats character a fixed number of times.
+     *
+     * @param c character to repeat.
+     * @param count number of repetitions.
+     * @return string containing repeated characters.
+     */
+    private String repeatChar(char c, int count) {
+        return String.valueOf(c).repeat(Math.max(0, count));
+    }
+
+
+
+    /***
+     * Attempts to resolve Java parameter names from reflection metadata.
+     *
+     * @param method target method.
+     * @return array of parameter names or {@code null} when unavailable.
+     */
+    private String[] getParameterNames(Method method) {
+        try {
+            // Java 8+ поддержка Parameter.getName()
+            java.lang.reflect.Parameter[] parameters = method.getParameters();
+            String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                names[i] = parameters[i].getName();
+            }
+            return names;
+        } catch (Exception e) {
+            // Fallback для старых версий Java
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package org.profiling;
+
+import org.profiling.exemplar.SlowInvocationReservoir;
+import org.profiling.executor.ExecutorStatsRegistry;
+import org.profiling.governor.OverheadGovernor;
+import org.profiling.pattern.ProfilingPatterns;
+import org.profiling.sampling.StackSampler;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.trace.RequestTracker;
+import org.profiling.window.WindowStatsRegistry;
+
+/***
+ * Shared collaborators used by profiling interceptors. A single instance is created per
+ * application context and handed to every interceptor; unset collaborators disable the
+ * corresponding feature.
+ */
+public class ProfilingRuntime {
+
+    private ProfilingOverhead overhead;
+    private OverheadGovernor governor;
+    private MethodStatsRegistry methodStats;
+    private RequestTracker requestTracker;
+    private SlowInvocationReservoir slowInvocations;
+    private ExecutorStatsRegistry executorStats;
+    private ProfilingPatterns patterns;
+    private StackSampler sampler;
+    private WindowStatsRegistry windows;
+
+    /***
+     * Returns self-instrumentation statistics.
+     *
+     * @return overhead statistics or {@code null} when self-instrumentation is disabled.
+     */
+    public ProfilingOverhead getOverhead() {
+        return overhead;
+    }
+
+    /***
+     * Sets self-instrumentation statistics.
+     *
+     * @param overhead overhead statistics, {@code null} to disable self-instrumentation.
+     */
+    public void setOverhead(ProfilingOverhead overhead) {
+        this.overhead = overhead;
+    }
+
+    /***
+     * Returns governor that adapts detail level to the overhead budget.
+     *
+     * @return overhead governor or {@code null} when detail is never reduced.
+     */
+    public OverheadGovernor getGovernor() {
+        return governor;
+    }
+
+    /***
+     * Sets governor that adapts detail level to the overhead budget.
+     *
+     * @param governor overhead governor, {@code null} to always produce full detail.
+     */
+    public void setGovernor(OverheadGovernor governor) {
+        this.governor = governor;
+    }
+
+    /***
+     * Returns per-method aggregated statistics.
+     *
+     * @return method statistics registry or {@code null} when aggregation is disabled.
+     */
+    public MethodStatsRegistry getMethodStats() {
+        return methodStats;
+    }
+
+    /***
+     * Sets per-method aggregated statistics.
+     *
+     * @param methodStats method statistics registry, {@code null} to disable aggregation.
+     */
+    public void setMethodStats(MethodStatsRegistry methodStats) {
+        this.methodStats = methodStats;
+    }
+
+    /***
+     * Returns tracker that ties profiled invocations to requests.
+     *
+     * @return request tracker or {@code null} when trace correlation is disabled.
+     */
+    public RequestTracker getRequestTracker() {
+        return requestTracker;
+    }
+
+    /***
+     * Sets tracker that ties profiled invocations to requests.
+     *
+     * @param requestTracker request tracker, {@code null} to disable trace correlation.
+     */
+    public void setRequestTracker(RequestTracker requestTracker) {
+        this.requestTracker = requestTracker;
+    }
+
+    /***
+     * Returns reservoir of the slowest invocations per method.
+     *
+     * @return slow invocation reservoir or {@code null} when slow call capture is disabled.
+     */
+    public SlowInvocationReservoir getSlowInvocations() {
+        return slowInvocations;
+    }
+
+    /***
+     * Sets reservoir of the slowest invocations per method.
+     *
+     * @param slowInvocations slow invocation reservoir, {@code null} to disable slow call capture.
+     */
+    public void setSlowInvocations(SlowInvocationReservoir slowInvocations) {
+        this.slowInvocations = slowInvocations;
+    }
+
+    /***
+     * Returns per-executor queue and execution statistics.
+     *
+     * @return executor statistics registry or {@code null} when executors are not timed.
+     */
+    public ExecutorStatsRegistry getExecutorStats() {
+        return executorStats;
+    }
+
+    /***
+     * Sets per-executor queue and execution statistics.
+     *
+     * @param executorStats executor statistics registry, {@code null} when executors are not timed.
+     */
+    public void setExecutorStats(ExecutorStatsRegistry executorStats) {
+        this.executorStats = executorStats;
+    }
+
+    /***
+     * Returns configured include and exclude patterns.
+     *
+     * @return compiled patterns or {@code null} when only annotations select profiled methods.
+     */
+    public ProfilingPatterns getPatterns() {
+        return patterns;
+    }
+
+    /***
+     * Sets configured include and exclude patterns.
+     *
+     * @param patterns compiled patterns, {@code null} to select profiled methods by annotations only.
+     */
+    public void setPatterns(ProfilingPatterns patterns) {
+        this.patterns = patterns;
+    }
+
+    /***
+     * Returns stack sampler of long-running invocations.
+     *
+     * @return stack sampler or {@code null} when stack sampling is disabled.
+     */
+    public StackSampler getSampler() {
+        return sampler;
+    }
+
+    /***
+     * Sets stack sampler of long-running invocations.
+     *
+     * @param sampler stack sampler, {@code null} to disable stack sampling.
+     */
+    public void setSampler(StackSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    /***
+     * Returns per-method rolling windows.
+     *
+     * @return rolling windows or {@code null} when rolling windows are disabled.
+     */
+    public WindowStatsRegistry getWindows() {
+        return windows;
+    }
+
+    /***
+     * Sets per-method rolling windows.
+     *
+     * @param windows rolling windows, {@code null} to disable them.
+     */
+    public void setWindows(WindowStatsRegistry windows) {
+        this.windows = windows;
+    }
+}
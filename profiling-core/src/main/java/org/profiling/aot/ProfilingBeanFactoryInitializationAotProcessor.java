@@ -0,0 +1,141 @@
+package org.profiling.aot;
+
+import org.aopalliance.aop.Advice;
+import org.profiling.Profiling;
+import org.profiling.plan.ProfilingPlan;
+import org.profiling.plan.ProfilingPlans;
+import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.aot.generate.GeneratedMethod;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.javapoet.CodeBlock;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.lang.model.element.Modifier;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/***
+ * Discovers {@link Profiling} beans during Spring AOT processing and generates code that registers
+ * their {@link ProfilingPlan}s at startup, so profiled calls in an AOT-processed application or
+ * a native image need no annotation lookup and no parameter name reflection.
+ * Only invocation hints of profiled methods are registered.
+ */
+public class ProfilingBeanFactoryInitializationAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    /***
+     * Collects profiling plans of all bean classes.
+     *
+     * @param beanFactory bean factory being processed ahead of time.
+     * @return contribution registering the plans, or {@code null} when no bean is profiled.
+     */
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Set<Class<?>> beanClasses = new LinkedHashSet<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanClass = ClassUtils.getUserClass(RegisteredBean.of(beanFactory, beanName).getBeanClass());
+            if (isEligible(beanClass)) {
+                beanClasses.add(beanClass);
+            }
+        }
+
+        List<PlannedMethod> plans = new ArrayList<>();
+        for (Class<?> beanClass : beanClasses) {
+            Profiling classAnnotation = beanClass.getAnnotation(Profiling.class);
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanClass, ReflectionUtils.USER_DECLARED_METHODS)) {
+                Profiling methodAnnotation = method.getAnnotation(Profiling.class);
+                Profiling annotation = methodAnnotation != null ? methodAnnotation : classAnnotation;
+                if (annotation != null && isProfilable(method)) {
+                    plans.add(new PlannedMethod(beanClass, method, annotation));
+                }
+            }
+        }
+        return plans.isEmpty() ? null : new Contribution(plans);
+    }
+
+    private static boolean isEligible(Class<?> beanClass) {
+        return beanClass != null
+                && !AopInfrastructureBean.class.isAssignableFrom(beanClass)
+                && !Advice.class.isAssignableFrom(beanClass)
+                && !BeanPostProcessor.class.isAssignableFrom(beanClass);
+    }
+
+    private static boolean isProfilable(Method method) {
+        int modifiers = method.getModifiers();
+        return !java.lang.reflect.Modifier.isStatic(modifiers) && !java.lang.reflect.Modifier.isPrivate(modifiers);
+    }
+
+    private record PlannedMethod(Class<?> beanClass, Method method, Profiling annotation) {
+    }
+
+    private static final class Contribution implements BeanFactoryInitializationAotContribution {
+
+        private final List<PlannedMethod> plans;
+
+        private Contribution(List<PlannedMethod> plans) {
+            this.plans = plans;
+        }
+
+        @Override
+        public void applyTo(GenerationContext generationContext, BeanFactoryInitializationCode beanFactoryInitializationCode) {
+            ReflectionHints hints = generationContext.getRuntimeHints().reflection();
+            CodeBlock.Builder code = CodeBlock.builder();
+            for (PlannedMethod plan : plans) {
+                Method method = plan.method();
+                Profiling annotation = plan.annotation();
+                hints.registerMethod(method, ExecutableMode.INVOKE);
+                code.addStatement("$T.register($S, $S, $L, $S, $L, $L, $L, $L, $L, $L)", ProfilingPlans.class,
+                        plan.beanClass().getName(), method.getName(), parameterTypeNames(method),
+                        annotation.message(), annotation.logParams(), annotation.logResult(),
+                        annotation.logTime(), annotation.logCallerInfo(), parameterNames(method),
+                        annotation.contention());
+            }
+
+            GeneratedMethod generatedMethod = beanFactoryInitializationCode.getMethods().add("registerProfilingPlans",
+                    method -> method.addJavadoc("Register build-time profiling plans.")
+                            .addModifiers(Modifier.PUBLIC)
+                            .addParameter(DefaultListableBeanFactory.class, "beanFactory")
+                            .addCode(code.build()));
+            beanFactoryInitializationCode.addInitializer(generatedMethod.toMethodReference());
+        }
+
+        private static CodeBlock parameterTypeNames(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            String[] names = new String[types.length];
+            for (int i = 0; i < types.length; i++) {
+                names[i] = types[i].getName();
+            }
+            return stringArray(names);
+        }
+
+        private static CodeBlock parameterNames(Method method) {
+            Parameter[] parameters = method.getParameters();
+            String[] names = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                names[i] = parameters[i].getName();
+            }
+            return stringArray(names);
+        }
+
+        private static CodeBlock stringArray(String[] values) {
+            List<CodeBlock> elements = new ArrayList<>(values.length);
+            for (String value : values) {
+                elements.add(CodeBlock.of("$S", value));
+            }
+            return CodeBlock.of("new $T[] {$L}", String.class, CodeBlock.join(elements, ", "));
+        }
+    }
+}
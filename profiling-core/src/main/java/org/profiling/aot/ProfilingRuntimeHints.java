@@ -0,0 +1,32 @@
+package org.profiling.aot;
+
+import org.profiling.Profiling;
+import org.profiling.executor.QueueTimingBeanPostProcessor;
+import org.profiling.jfr.MethodInvocationEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/***
+ * Static hints of the profiling runtime itself. Hints of profiled beans are contributed by
+ * {@link ProfilingBeanFactoryInitializationAotProcessor}.
+ */
+public class ProfilingRuntimeHints implements RuntimeHintsRegistrar {
+
+    /***
+     * Registers annotation attributes read when a method has no build-time plan, the JFR event
+     * whose fields are recorded reflectively, and the executor field holding an existing task decorator.
+     *
+     * @param hints hints to contribute to.
+     * @param classLoader class loader used for the application.
+     */
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(Profiling.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(MethodInvocationEvent.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS);
+        hints.reflection().registerType(ThreadPoolTaskExecutor.class,
+                type -> type.withField(QueueTimingBeanPostProcessor.TASK_DECORATOR_FIELD));
+    }
+}
@@ -0,0 +1,66 @@
+package org.profiling.baseline;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+/***
+ * Command line comparison of two baseline files:
+ * <pre>
+ * java -cp profiling-core.jar org.profiling.baseline.BaselineCli before.prfb after.prfb [--alpha 0.01] [--min-change 0.05]
+ * </pre>
+ * Exit status is {@code 0} without regressions, {@code 1} when latency regressed and {@code 2} on usage or read errors,
+ * so the command can gate a release pipeline.
+ */
+public final class BaselineCli {
+
+    private BaselineCli() {
+    }
+
+    /***
+     * Runs comparison and exits with its status.
+     *
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        Path before = null;
+        Path after = null;
+        double alpha = BaselineComparator.DEFAULT_ALPHA;
+        double minChange = BaselineComparator.DEFAULT_MIN_RELATIVE_CHANGE;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--alpha" -> alpha = Double.parseDouble(args[++i]);
+                    case "--min-change" -> minChange = Double.parseDouble(args[++i]);
+                    default -> {
+                        if (before == null) {
+                            before = Path.of(args[i]);
+                        } else if (after == null) {
+                            after = Path.of(args[i]);
+                        } else {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                    }
+                }
+            }
+            if (after == null) {
+                throw new IllegalArgumentException("Two baseline files are required");
+            }
+            BaselineComparison comparison = new BaselineComparator(alpha, minChange)
+                    .compare(BaselineSnapshot.read(before), BaselineSnapshot.read(after));
+            out.print(comparison.format());
+            return comparison.hasRegressions() ? 1 : 0;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            err.println("Usage: BaselineCli <before> <after> [--alpha 0.01] [--min-change 0.05]");
+            err.println(e.getMessage());
+            return 2;
+        } catch (IOException e) {
+            err.println("Cannot read baseline: " + e.getMessage());
+            return 2;
+        }
+    }
+}
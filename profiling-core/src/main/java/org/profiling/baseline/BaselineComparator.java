@@ -0,0 +1,142 @@
+package org.profiling.baseline;
+
+import org.profiling.stats.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/***
+ * Compares two baselines and reports significant per-method changes of p50, p99 and throughput.
+ * <p>
+ * A percentile change is tested on the share of invocations slower than the earlier baseline's
+ * percentile (two-proportion z-test), throughput as a difference of Poisson rates. A change is reported
+ * when it is significant at {@code alpha} and its relative size is at least {@code minRelativeChange},
+ * so large samples do not turn negligible drifts into findings.
+ */
+public class BaselineComparator {
+
+    /***
+     * Default significance level.
+     */
+    public static final double DEFAULT_ALPHA = 0.01;
+
+    /***
+     * Default smallest relative change worth reporting.
+     */
+    public static final double DEFAULT_MIN_RELATIVE_CHANGE = 0.05;
+
+    private final double alpha;
+    private final double minRelativeChange;
+
+    /***
+     * Creates comparator with default thresholds.
+     */
+    public BaselineComparator() {
+        this(DEFAULT_ALPHA, DEFAULT_MIN_RELATIVE_CHANGE);
+    }
+
+    /***
+     * Creates comparator.
+     *
+     * @param alpha significance level, between {@code 0} and {@code 1}.
+     * @param minRelativeChange smallest relative change reported, e.g. {@code 0.05} for 5%.
+     */
+    public BaselineComparator(double alpha, double minRelativeChange) {
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("alpha must be between 0 and 1: " + alpha);
+        }
+        if (minRelativeChange < 0) {
+            throw new IllegalArgumentException("minRelativeChange must not be negative: " + minRelativeChange);
+        }
+        this.alpha = alpha;
+        this.minRelativeChange = minRelativeChange;
+    }
+
+    /***
+     * Compares two baselines.
+     *
+     * @param before earlier baseline.
+     * @param after later baseline.
+     * @return significant changes ranked by impact.
+     */
+    public BaselineComparison compare(BaselineSnapshot before, BaselineSnapshot after) {
+        List<MethodComparison> methods = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+
+        for (MethodBaseline earlier : before.methods().values()) {
+            MethodBaseline later = after.methods().get(earlier.method());
+            if (later == null) {
+                removed.add(earlier.method());
+                continue;
+            }
+            List<MetricChange> changes = new ArrayList<>();
+            addIfSignificant(changes, percentileChange(Metric.P50, 50, earlier.latency(), later.latency()));
+            addIfSignificant(changes, percentileChange(Metric.P99, 99, earlier.latency(), later.latency()));
+            addIfSignificant(changes, throughputChange(earlier.count(), before.durationSeconds(),
+                    later.count(), after.durationSeconds()));
+            if (!changes.isEmpty()) {
+                double impact = Math.abs(later.totalNanos() / after.durationSeconds()
+                        - earlier.totalNanos() / before.durationSeconds());
+                methods.add(new MethodComparison(earlier.method(), List.copyOf(changes), impact));
+            }
+        }
+        for (String method : after.methods().keySet()) {
+            if (!before.methods().containsKey(method)) {
+                added.add(method);
+            }
+        }
+
+        methods.sort(Comparator.comparingDouble(MethodComparison::impactNanosPerSecond).reversed());
+        added.sort(Comparator.naturalOrder());
+        removed.sort(Comparator.naturalOrder());
+        return new BaselineComparison(List.copyOf(methods), List.copyOf(added), List.copyOf(removed));
+    }
+
+    private void addIfSignificant(List<MetricChange> changes, MetricChange change) {
+        if (change != null && change.pValue() < alpha && Math.abs(change.relativeChange()) >= minRelativeChange) {
+            changes.add(change);
+        }
+    }
+
+    static MetricChange percentileChange(Metric metric, double percentile, LatencyHistogram before, LatencyHistogram after) {
+        long n1 = before.getCount();
+        long n2 = after.getCount();
+        if (n1 == 0 || n2 == 0) {
+            return null;
+        }
+        long threshold = before.valueAtPercentile(percentile);
+        long k1 = before.countAbove(threshold);
+        long k2 = after.countAbove(threshold);
+        double pooled = (double) (k1 + k2) / (n1 + n2);
+        double variance = pooled * (1 - pooled) * (1.0 / n1 + 1.0 / n2);
+        double pValue = variance == 0 ? 1.0 : twoSidedPValue(((double) k2 / n2 - (double) k1 / n1) / Math.sqrt(variance));
+        return new MetricChange(metric, threshold, after.valueAtPercentile(percentile), pValue);
+    }
+
+    static MetricChange throughputChange(long count1, double seconds1, long count2, double seconds2) {
+        if (count1 == 0 && count2 == 0) {
+            return null;
+        }
+        double rate1 = count1 / seconds1;
+        double rate2 = count2 / seconds2;
+        double variance = count1 / (seconds1 * seconds1) + count2 / (seconds2 * seconds2);
+        return new MetricChange(Metric.THROUGHPUT, rate1, rate2, twoSidedPValue((rate2 - rate1) / Math.sqrt(variance)));
+    }
+
+    static double twoSidedPValue(double z) {
+        return Math.min(1.0, 2 * (1 - standardNormalCdf(Math.abs(z))));
+    }
+
+    /***
+     * Standard normal CDF via the Abramowitz-Stegun 7.1.26 approximation of erf (absolute error below 1.5e-7).
+     */
+    private static double standardNormalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t + 0.254829592)
+                * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+}
@@ -0,0 +1,47 @@
+package org.profiling.baseline;
+
+import java.util.List;
+import java.util.Locale;
+
+/***
+ * Result of comparing two baselines.
+ *
+ * @param methods methods with significant changes, highest impact first.
+ * @param added methods present only in the later baseline.
+ * @param removed methods present only in the earlier baseline.
+ */
+public record BaselineComparison(List<MethodComparison> methods, List<String> added, List<String> removed) {
+
+    /***
+     * Indicates whether any method regressed.
+     *
+     * @return {@code true} when at least one latency regression was found.
+     */
+    public boolean hasRegressions() {
+        return methods.stream().anyMatch(MethodComparison::isRegression);
+    }
+
+    /***
+     * Renders human-readable report.
+     *
+     * @return report text.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        if (methods.isEmpty()) {
+            sb.append("No significant changes\n");
+        }
+        for (MethodComparison method : methods) {
+            sb.append(method.isRegression() ? "REGRESSION " : "CHANGE     ")
+                    .append(method.method())
+                    .append(String.format(Locale.ROOT, " (impact %.0f ns/s)%n", method.impactNanosPerSecond()));
+            for (MetricChange change : method.changes()) {
+                sb.append(String.format(Locale.ROOT, "  %-10s %14.1f -> %14.1f  %+7.1f%%  p=%.2g%n",
+                        change.metric(), change.before(), change.after(), change.relativeChange() * 100, change.pValue()));
+            }
+        }
+        added.forEach(method -> sb.append("ADDED      ").append(method).append('\n'));
+        removed.forEach(method -> sb.append("REMOVED    ").append(method).append('\n'));
+        return sb.toString();
+    }
+}
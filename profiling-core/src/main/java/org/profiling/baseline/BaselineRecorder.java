@@ -0,0 +1,69 @@
+package org.profiling.baseline;
+
+import org.profiling.stats.MethodStatsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/***
+ * Writes baselines of a {@link MethodStatsRegistry} to a fixed file on demand and, optionally, on close.
+ */
+public class BaselineRecorder implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final MethodStatsRegistry registry;
+    private final Path file;
+    private final boolean writeOnClose;
+
+    /***
+     * Creates recorder.
+     *
+     * @param registry statistics to persist.
+     * @param file baseline file, replaced on every write.
+     * @param writeOnClose whether {@link #close()} writes a final baseline.
+     */
+    public BaselineRecorder(MethodStatsRegistry registry, Path file, boolean writeOnClose) {
+        this.registry = registry;
+        this.file = file;
+        this.writeOnClose = writeOnClose;
+    }
+
+    /***
+     * Writes current statistics.
+     *
+     * @return written file.
+     * @throws IOException when the file cannot be written.
+     */
+    public Path write() throws IOException {
+        BaselineWriter.write(registry, file);
+        return file;
+    }
+
+    /***
+     * Returns baseline file.
+     *
+     * @return target file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /***
+     * Writes final baseline when configured to.
+     */
+    @Override
+    public void close() {
+        if (!writeOnClose) {
+            return;
+        }
+        try {
+            write();
+            logger.info("Profiling baseline written to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("Error writing profiling baseline to {}", file.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.profiling.baseline;
+
+import org.profiling.stats.LatencyHistogram;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/***
+ * Baseline loaded from a file written by {@link BaselineWriter}.
+ *
+ * @param startedAt when aggregation started.
+ * @param writtenAt when the baseline was written.
+ * @param methods method statistics keyed by fully qualified method name.
+ */
+public record BaselineSnapshot(Instant startedAt, Instant writtenAt, Map<String, MethodBaseline> methods) {
+
+    /***
+     * Returns length of the aggregation window.
+     *
+     * @return seconds between start and write, at least one millisecond.
+     */
+    public double durationSeconds() {
+        return Math.max(1, Duration.between(startedAt, writtenAt).toMillis()) / 1000.0;
+    }
+
+    /***
+     * Reads baseline file.
+     *
+     * @param file baseline file.
+     * @return loaded baseline.
+     * @throws IOException when the file cannot be read or is not a baseline.
+     */
+    public static BaselineSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /***
+     * Reads baseline from a stream.
+     *
+     * @param source input stream positioned at the start of a baseline.
+     * @return loaded baseline.
+     * @throws IOException when reading fails or data is not a baseline.
+     */
+    public static BaselineSnapshot read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        if (in.readInt() != BaselineWriter.MAGIC) {
+            throw new IOException("Not a profiling baseline");
+        }
+        int version = in.readUnsignedByte();
+        if (version != BaselineWriter.VERSION) {
+            throw new IOException("Unsupported baseline version " + version);
+        }
+        int subBuckets = in.readUnsignedByte();
+        if (subBuckets != LatencyHistogram.SUB_BUCKETS) {
+            throw new IOException("Baseline uses " + subBuckets + " sub-buckets, expected " + LatencyHistogram.SUB_BUCKETS);
+        }
+        Instant startedAt = Instant.ofEpochMilli(in.readLong());
+        Instant writtenAt = Instant.ofEpochMilli(in.readLong());
+
+        Map<String, MethodBaseline> methods = new LinkedHashMap<>();
+        while (in.readUnsignedByte() == 1) {
+            String method = in.readUTF();
+            long count = Varints.read(in);
+            long errors = Varints.read(in);
+            long totalNanos = Varints.read(in);
+            long maxNanos = Varints.read(in);
+            LatencyHistogram latency = new LatencyHistogram();
+            int index = -1;
+            for (long delta = Varints.read(in); delta != 0; delta = Varints.read(in)) {
+                index += (int) delta;
+                try {
+                    latency.recordBucket(index, Varints.read(in));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Corrupt baseline: " + e.getMessage(), e);
+                }
+            }
+            methods.put(method, new MethodBaseline(method, count, errors, totalNanos, maxNanos, latency));
+        }
+        return new BaselineSnapshot(startedAt, writtenAt, Collections.unmodifiableMap(methods));
+    }
+}
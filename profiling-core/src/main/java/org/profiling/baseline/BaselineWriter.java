@@ -0,0 +1,103 @@
+package org.profiling.baseline;
+
+import org.profiling.stats.LatencyHistogram;
+import org.profiling.stats.MethodStats;
+import org.profiling.stats.MethodStatsRegistry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+
+/***
+ * Streams per-method statistics of a {@link MethodStatsRegistry} into a compact baseline file.
+ * Methods and histogram buckets are read and written one at a time without locking, so profiled
+ * calls keep running while a baseline is written. A file is read back with {@link BaselineSnapshot#read(Path)}.
+ * <p>
+ * Layout: magic, version, sub-buckets per power of two, start and end epoch millis; then per method a
+ * {@code 1} marker, name, varint count/errors/total/max and varint (index delta, count) bucket pairs ending
+ * with a zero delta; a {@code 0} marker ends the file.
+ */
+public final class BaselineWriter {
+
+    static final int MAGIC = 0x50524642;
+    static final int VERSION = 1;
+
+    private BaselineWriter() {
+    }
+
+    /***
+     * Writes baseline to a file. Data goes to a temporary file first, which then replaces the target,
+     * so readers never see a partially written baseline.
+     *
+     * @param registry statistics to write.
+     * @param file target file.
+     * @throws IOException when the file cannot be written.
+     */
+    public static void write(MethodStatsRegistry registry, Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        if (absolute.getParent() != null) {
+            Files.createDirectories(absolute.getParent());
+        }
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                write(registry, out);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /***
+     * Writes baseline to a stream. The stream is flushed but not closed.
+     *
+     * @param registry statistics to write.
+     * @param target output stream.
+     * @throws IOException when writing fails.
+     */
+    public static void write(MethodStatsRegistry registry, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(LatencyHistogram.SUB_BUCKETS);
+        out.writeLong(registry.getStartedAt().toEpochMilli());
+        out.writeLong(Instant.now().toEpochMilli());
+
+        for (MethodStats stats : registry.getMethods()) {
+            out.writeByte(1);
+            out.writeUTF(stats.getMethod());
+            Varints.write(out, stats.getCount());
+            Varints.write(out, stats.getErrors());
+            Varints.write(out, stats.getTotalNanos());
+            Varints.write(out, stats.getMaxNanos());
+            writeBuckets(out, stats.getLatency());
+        }
+        out.writeByte(0);
+        out.flush();
+    }
+
+    private static void writeBuckets(DataOutputStream out, LatencyHistogram latency) throws IOException {
+        int[] previous = {-1};
+        try {
+            latency.forEachBucket((index, count) -> {
+                try {
+                    Varints.write(out, index - previous[0]);
+                    Varints.write(out, count);
+                    previous[0] = index;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Varints.write(out, 0);
+    }
+}
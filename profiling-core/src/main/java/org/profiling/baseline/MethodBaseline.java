@@ -0,0 +1,17 @@
+package org.profiling.baseline;
+
+import org.profiling.stats.LatencyHistogram;
+
+/***
+ * Statistics of one method as persisted in a baseline.
+ *
+ * @param method fully qualified method name.
+ * @param count number of invocations.
+ * @param errors number of invocations that threw an exception.
+ * @param totalNanos accumulated execution time in nanoseconds.
+ * @param maxNanos longest execution time in nanoseconds.
+ * @param latency latency distribution.
+ */
+public record MethodBaseline(String method, long count, long errors, long totalNanos, long maxNanos,
+                             LatencyHistogram latency) {
+}
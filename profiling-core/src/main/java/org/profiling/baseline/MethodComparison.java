@@ -0,0 +1,22 @@
+package org.profiling.baseline;
+
+import java.util.List;
+
+/***
+ * Significant changes of one method between two baselines.
+ *
+ * @param method fully qualified method name.
+ * @param changes significant metric changes.
+ * @param impactNanosPerSecond absolute change of execution time spent in the method per second of wall time.
+ */
+public record MethodComparison(String method, List<MetricChange> changes, double impactNanosPerSecond) {
+
+    /***
+     * Indicates whether any change is a regression.
+     *
+     * @return {@code true} when latency got significantly worse.
+     */
+    public boolean isRegression() {
+        return changes.stream().anyMatch(MetricChange::isRegression);
+    }
+}
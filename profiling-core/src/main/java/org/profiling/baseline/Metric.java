@@ -0,0 +1,19 @@
+package org.profiling.baseline;
+
+/***
+ * Per-method metric compared between baselines.
+ */
+public enum Metric {
+    /***
+     * Median latency in nanoseconds.
+     */
+    P50,
+    /***
+     * 99th percentile latency in nanoseconds.
+     */
+    P99,
+    /***
+     * Invocations per second.
+     */
+    THROUGHPUT
+}
@@ -0,0 +1,31 @@
+package org.profiling.baseline;
+
+/***
+ * Statistically significant change of a metric.
+ *
+ * @param metric compared metric.
+ * @param before value in the earlier baseline.
+ * @param after value in the later baseline.
+ * @param pValue two-sided p-value of the change.
+ */
+public record MetricChange(Metric metric, double before, double after, double pValue) {
+
+    /***
+     * Returns change relative to the earlier value.
+     *
+     * @return e.g. {@code 0.25} for a 25% increase.
+     */
+    public double relativeChange() {
+        return before == 0 ? (after == 0 ? 0 : Double.POSITIVE_INFINITY) : (after - before) / before;
+    }
+
+    /***
+     * Indicates whether the change is a regression: higher latency. Throughput changes depend on
+     * offered load and are never treated as regressions.
+     *
+     * @return {@code true} for latency increases.
+     */
+    public boolean isRegression() {
+        return metric != Metric.THROUGHPUT && after > before;
+    }
+}
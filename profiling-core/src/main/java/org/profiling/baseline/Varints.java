@@ -0,0 +1,35 @@
+package org.profiling.baseline;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/***
+ * Unsigned LEB128 encoding of non-negative longs: small counters take a single byte.
+ */
+final class Varints {
+
+    private Varints() {
+    }
+
+    static void write(DataOutput out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    static long read(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,40 @@
+package org.profiling.capture;
+
+import org.profiling.stats.LatencyHistogram;
+
+import java.util.List;
+
+/***
+ * Point-in-time view of an {@link InvocationCapture}.
+ *
+ * @param methods captured methods ordered by name.
+ */
+public record CaptureSnapshot(List<CapturedMethodStats> methods) {
+
+    /***
+     * Returns statistics of all methods matching a pattern, merged together so overloads count as one.
+     *
+     * @param pattern method pattern, see {@link CapturedMethodStats#matches(String)}.
+     * @return merged statistics; {@code count} is {@code 0} when nothing matched.
+     */
+    public CapturedMethodStats method(String pattern) {
+        LatencyHistogram latency = new LatencyHistogram();
+        String name = pattern;
+        long errors = 0;
+        long allocatedBytes = 0;
+        long maxAllocatedBytes = 0;
+        boolean allocationMeasured = true;
+        for (CapturedMethodStats stats : methods) {
+            if (stats.matches(pattern)) {
+                name = stats.method();
+                latency.add(stats.latency());
+                errors += stats.errors();
+                allocatedBytes += stats.allocatedBytes();
+                maxAllocatedBytes = Math.max(maxAllocatedBytes, stats.maxAllocatedBytes());
+                allocationMeasured &= stats.allocationMeasured();
+            }
+        }
+        return new CapturedMethodStats(name, latency.getCount(), errors, latency, allocatedBytes, maxAllocatedBytes,
+                allocationMeasured);
+    }
+}
@@ -0,0 +1,42 @@
+package org.profiling.capture;
+
+import org.profiling.stats.LatencyHistogram;
+
+/***
+ * Captured statistics of one method, or of several methods merged by {@link CaptureSnapshot#method(String)}.
+ *
+ * @param method fully qualified method name.
+ * @param count number of invocations.
+ * @param errors number of invocations that threw an exception.
+ * @param latency latency distribution.
+ * @param allocatedBytes bytes allocated by all measured invocations.
+ * @param maxAllocatedBytes largest allocation of a single invocation.
+ * @param allocationMeasured whether allocation was measured for every invocation.
+ */
+public record CapturedMethodStats(String method, long count, long errors, LatencyHistogram latency,
+                                  long allocatedBytes, long maxAllocatedBytes, boolean allocationMeasured) {
+
+    /***
+     * Returns latency at the given percentile.
+     *
+     * @param percentile percentile between {@code 0} and {@code 100}.
+     * @return latency in nanoseconds.
+     */
+    public long percentileNanos(double percentile) {
+        return latency.valueAtPercentile(percentile);
+    }
+
+    /***
+     * Indicates whether the fully qualified method name matches a pattern. The pattern is either the
+     * full name or its trailing part, e.g. {@code UserService.loadUser}; nested classes may be written
+     * with {@code .} instead of {@code $}.
+     *
+     * @param pattern method pattern.
+     * @return {@code true} on match.
+     */
+    public boolean matches(String pattern) {
+        String name = method.replace('$', '.');
+        String normalized = pattern.replace('$', '.');
+        return name.equals(normalized) || name.endsWith("." + normalized);
+    }
+}
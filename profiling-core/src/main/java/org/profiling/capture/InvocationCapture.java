@@ -0,0 +1,82 @@
+package org.profiling.capture;
+
+import org.profiling.stats.LatencyHistogram;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * In-memory aggregation of profiled invocations made while the capture is open, e.g. during one test.
+ * Created by {@link InvocationCaptures#open()} and closed on the thread that opened it.
+ */
+public final class InvocationCapture implements AutoCloseable {
+
+    private final ConcurrentMap<Method, Aggregate> methods = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    InvocationCapture() {
+    }
+
+    void record(Method method, long executionNanos, long allocatedBytes, boolean failed) {
+        methods.computeIfAbsent(method, m -> new Aggregate()).record(executionNanos, allocatedBytes, failed);
+    }
+
+    /***
+     * Builds a point-in-time snapshot of everything captured so far.
+     *
+     * @return captured statistics.
+     */
+    public CaptureSnapshot snapshot() {
+        return new CaptureSnapshot(methods.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(CapturedMethodStats::method))
+                .toList());
+    }
+
+    /***
+     * Stops receiving invocations. Captured data stays available.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            InvocationCaptures.close(this);
+        }
+    }
+
+    boolean isOpen() {
+        return !closed.get();
+    }
+
+    private static final class Aggregate {
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder unmeasured = new LongAdder();
+
+        void record(long executionNanos, long allocated, boolean failed) {
+            latency.record(executionNanos);
+            if (failed) {
+                errors.increment();
+            }
+            if (allocated >= 0) {
+                allocatedBytes.add(allocated);
+                maxAllocatedBytes.accumulate(allocated);
+            } else {
+                unmeasured.increment();
+            }
+        }
+
+        CapturedMethodStats snapshot(Method method) {
+            LatencyHistogram copy = latency.copy();
+            return new CapturedMethodStats(method.getDeclaringClass().getName() + "." + method.getName(),
+                    copy.getCount(), errors.sum(), copy, allocatedBytes.sum(), maxAllocatedBytes.get(),
+                    unmeasured.sum() == 0);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.profiling.capture;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/***
+ * Open {@link InvocationCapture}s, scoped to the thread that opened them and the threads it starts.
+ * Interceptors report the profiled invocations of those threads while a capture is open, so tests run in
+ * parallel don't see each other's invocations. Threads that already existed when the capture was opened,
+ * such as pooled executor threads, are not captured. With no capture open anywhere the cost is a single
+ * volatile read.
+ */
+public final class InvocationCaptures {
+
+    private static final InheritableThreadLocal<InvocationCapture[]> scoped = new InheritableThreadLocal<>();
+    private static final AtomicInteger opened = new AtomicInteger();
+
+    private InvocationCaptures() {
+    }
+
+    /***
+     * Opens a capture that receives profiled invocations of the current thread, and of threads it starts,
+     * until it is closed.
+     *
+     * @return open capture.
+     */
+    public static InvocationCapture open() {
+        InvocationCapture capture = new InvocationCapture();
+        InvocationCapture[] current = scoped.get();
+        if (current == null) {
+            scoped.set(new InvocationCapture[]{capture});
+        } else {
+            InvocationCapture[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = capture;
+            scoped.set(next);
+        }
+        opened.incrementAndGet();
+        return capture;
+    }
+
+    /***
+     * Indicates whether a capture is open for the current thread.
+     *
+     * @return {@code true} when invocations should be reported.
+     */
+    public static boolean isActive() {
+        if (opened.get() == 0) {
+            return false;
+        }
+        InvocationCapture[] captures = scoped.get();
+        if (captures != null) {
+            for (InvocationCapture capture : captures) {
+                if (capture.isOpen()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /***
+     * Reports an invocation to the captures open for the current thread.
+     *
+     * @param method profiled method.
+     * @param executionNanos execution time in nanoseconds.
+     * @param allocatedBytes bytes allocated by the invoking thread during the call, {@code -1} when not measured.
+     * @param failed whether the invocation threw an exception.
+     */
+    public static void record(Method method, long executionNanos, long allocatedBytes, boolean failed) {
+        InvocationCapture[] captures = scoped.get();
+        if (captures == null) {
+            return;
+        }
+        for (InvocationCapture capture : captures) {
+            if (capture.isOpen()) {
+                capture.record(method, executionNanos, allocatedBytes, failed);
+            }
+        }
+    }
+
+    /***
+     * Forgets a closed capture. Threads started while it was open keep a reference, but skip it.
+     */
+    static void close(InvocationCapture capture) {
+        InvocationCapture[] current = scoped.get();
+        if (current != null) {
+            InvocationCapture[] next = Arrays.stream(current).filter(open -> open != capture)
+                    .toArray(InvocationCapture[]::new);
+            if (next.length == 0) {
+                scoped.remove();
+            } else {
+                scoped.set(next);
+            }
+        }
+        opened.decrementAndGet();
+    }
+}
@@ -0,0 +1,40 @@
+package org.profiling.contention;
+
+/***
+ * Wall time of a single invocation split by what its thread was doing.
+ *
+ * @param cpuNanos time on CPU.
+ * @param blockedNanos time blocked entering or re-entering a monitor, millisecond resolution.
+ * @param blockedCount number of times the thread blocked on a monitor.
+ * @param waitedNanos time in {@code Object.wait}, {@code LockSupport.park}, {@code Thread.sleep} and the like,
+ *                    millisecond resolution.
+ * @param waitedCount number of waits.
+ * @param otherNanos remaining wall time, e.g. blocking I/O, page faults or waiting for a CPU.
+ */
+public record ContentionSplit(long cpuNanos, long blockedNanos, long blockedCount, long waitedNanos, long waitedCount,
+                              long otherNanos) {
+
+    /***
+     * Splits wall time of an invocation.
+     *
+     * @param wallNanos wall time of the invocation.
+     * @param cpuNanos time on CPU.
+     * @param blockedNanos time blocked on monitors.
+     * @param blockedCount number of monitor blocks.
+     * @param waitedNanos time waiting.
+     * @param waitedCount number of waits.
+     * @return split whose parts never exceed the wall time.
+     */
+    public static ContentionSplit of(long wallNanos, long cpuNanos, long blockedNanos, long blockedCount,
+                                     long waitedNanos, long waitedCount) {
+        long cpu = clamp(cpuNanos, wallNanos);
+        long blocked = clamp(blockedNanos, wallNanos - cpu);
+        long waited = clamp(waitedNanos, wallNanos - cpu - blocked);
+        return new ContentionSplit(cpu, blocked, Math.max(0, blockedCount), waited, Math.max(0, waitedCount),
+                Math.max(0, wallNanos - cpu - blocked - waited));
+    }
+
+    private static long clamp(long value, long max) {
+        return Math.max(0, Math.min(value, max));
+    }
+}
@@ -0,0 +1,16 @@
+package org.profiling.contention;
+
+/***
+ * Accumulated wall time split of all measured invocations of a method.
+ *
+ * @param count number of measured invocations.
+ * @param cpuNanos total time on CPU.
+ * @param blockedNanos total time blocked on monitors.
+ * @param blockedCount total number of monitor blocks.
+ * @param waitedNanos total time waiting.
+ * @param waitedCount total number of waits.
+ * @param otherNanos total remaining wall time.
+ */
+public record ContentionTotals(long count, long cpuNanos, long blockedNanos, long blockedCount, long waitedNanos,
+                               long waitedCount, long otherNanos) {
+}
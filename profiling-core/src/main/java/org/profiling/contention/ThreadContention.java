@@ -0,0 +1,96 @@
+package org.profiling.contention;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Measures where the current thread spent the wall time of an invocation, from {@link ThreadMXBean}
+ * counters. Thread contention monitoring is switched on when this class is first used, i.e. by the
+ * first invocation of a method that opted in.
+ * <p>
+ * CPU time is read without {@link ThreadInfo}. Blocks and waits come from a stack-less
+ * {@code ThreadInfo} at start and at the end of every invocation. Their counts are exact, while their
+ * times have the JVM's millisecond resolution, so many short blocks show up as counts with little or
+ * no blocked time.
+ */
+public final class ThreadContention {
+
+    private static final ThreadMXBean threads = resolve();
+
+    private ThreadContention() {
+    }
+
+    /***
+     * Indicates whether invocations can be measured on this JVM.
+     *
+     * @return {@code true} when thread CPU time is available.
+     */
+    public static boolean isSupported() {
+        return threads != null;
+    }
+
+    /***
+     * Reads counters of the current thread before an invocation.
+     *
+     * @return counters, or {@code null} when unsupported.
+     */
+    public static ThreadCounters start() {
+        if (threads == null) {
+            return null;
+        }
+        ThreadInfo info = threads.getThreadInfo(Thread.currentThread().getId(), 0);
+        long cpu = threads.getCurrentThreadCpuTime();
+        if (info == null) {
+            return new ThreadCounters(cpu, 0, -1, 0, -1);
+        }
+        return new ThreadCounters(cpu, info.getBlockedCount(), info.getBlockedTime(),
+                info.getWaitedCount(), info.getWaitedTime());
+    }
+
+    /***
+     * Splits wall time of an invocation of the current thread.
+     *
+     * @param start counters read by {@link #start()} on this thread.
+     * @param wallNanos wall time of the invocation.
+     * @return split, or {@code null} when {@code start} is {@code null}.
+     */
+    public static ContentionSplit finish(ThreadCounters start, long wallNanos) {
+        if (start == null) {
+            return null;
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - start.cpuNanos();
+        if (start.blockedMillis() < 0) {
+            return ContentionSplit.of(wallNanos, cpu, 0, 0, 0, 0);
+        }
+        ThreadInfo info = threads.getThreadInfo(Thread.currentThread().getId(), 0);
+        if (info == null) {
+            return ContentionSplit.of(wallNanos, cpu, 0, 0, 0, 0);
+        }
+        return ContentionSplit.of(wallNanos, cpu,
+                TimeUnit.MILLISECONDS.toNanos(info.getBlockedTime() - start.blockedMillis()),
+                info.getBlockedCount() - start.blockedCount(),
+                TimeUnit.MILLISECONDS.toNanos(info.getWaitedTime() - start.waitedMillis()),
+                info.getWaitedCount() - start.waitedCount());
+    }
+
+    private static ThreadMXBean resolve() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!bean.isCurrentThreadCpuTimeSupported()) {
+                return null;
+            }
+            if (!bean.isThreadCpuTimeEnabled()) {
+                bean.setThreadCpuTimeEnabled(true);
+            }
+            if (bean.isThreadContentionMonitoringSupported() && !bean.isThreadContentionMonitoringEnabled()) {
+                bean.setThreadContentionMonitoringEnabled(true);
+            }
+            return bean;
+        } catch (RuntimeException | LinkageError ignored) {
+            // management not available
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package org.profiling.contention;
+
+/***
+ * Counters of the current thread read when a measured invocation starts.
+ *
+ * @param cpuNanos thread CPU time.
+ * @param blockedCount number of monitor blocks.
+ * @param blockedMillis time blocked on monitors in milliseconds, {@code -1} when contention monitoring is unavailable.
+ * @param waitedCount number of waits.
+ * @param waitedMillis time waiting in milliseconds, {@code -1} when contention monitoring is unavailable.
+ */
+public record ThreadCounters(long cpuNanos, long blockedCount, long blockedMillis, long waitedCount, long waitedMillis) {
+}
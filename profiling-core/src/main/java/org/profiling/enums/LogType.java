@@ -13,5 +13,10 @@ public enum LogType {
     /***
      * prettier log format. utilized table formatting, multi-line formatting and so on. Looks great in th log but takes up a lot of space/memory
      */
-    PRETTIER
+    PRETTIER,
+
+    /***
+     * no log output. commits a JDK Flight Recorder event ({@code org.profiling.MethodInvocation}) per invocation instead, so timings land in running JFR recordings
+     */
+    JFR
 }
@@ -0,0 +1,109 @@
+package org.profiling.executor;
+
+import org.profiling.stats.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/***
+ * Lock-free aggregate of the tasks dispatched through a single executor: how long they waited
+ * in its queue, how long they ran and how many are waiting right now.
+ * <p>
+ * Queue depth is either read from the executor or counted from submissions. Counting needs to see
+ * rejections, so it is only done by {@link ExecutorStatsRegistry#wrap wrapped} executors; a
+ * {@link QueueTimingTaskDecorator} sees a task only once the executor accepted and started it.
+ */
+public class ExecutorStats {
+
+    private final String name;
+    private final IntSupplier queueDepth;
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder active = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram wait = new LatencyHistogram();
+    private final LatencyHistogram execution = new LatencyHistogram();
+
+    /***
+     * Creates empty statistics for an executor.
+     *
+     * @param name executor name.
+     * @param queueDepth reads the executor's own queue size, or {@code null} to count submitted
+     *                   tasks that have not started yet.
+     */
+    public ExecutorStats(String name, IntSupplier queueDepth) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+    }
+
+    void submitted() {
+        queued.increment();
+    }
+
+    void rejected() {
+        queued.decrement();
+    }
+
+    void started(long waitNanos) {
+        if (queueDepth == null) {
+            queued.decrement();
+        }
+        active.increment();
+        wait.record(waitNanos);
+        maxWaitNanos.accumulate(waitNanos);
+    }
+
+    void finished(long executionNanos) {
+        active.decrement();
+        completed.increment();
+        execution.record(executionNanos);
+    }
+
+    /***
+     * Returns executor name.
+     *
+     * @return executor name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /***
+     * Returns number of tasks waiting in the queue.
+     *
+     * @return current queue depth.
+     */
+    public long getQueueDepth() {
+        return queueDepth != null ? queueDepth.getAsInt() : Math.max(0, queued.sum());
+    }
+
+    /***
+     * Returns live time-in-queue distribution. Callers must not record into it.
+     *
+     * @return queue wait histogram.
+     */
+    public LatencyHistogram getWait() {
+        return wait;
+    }
+
+    /***
+     * Returns live execution time distribution. Callers must not record into it.
+     *
+     * @return execution time histogram.
+     */
+    public LatencyHistogram getExecution() {
+        return execution;
+    }
+
+    /***
+     * Builds a point-in-time snapshot.
+     *
+     * @return current totals.
+     */
+    public ExecutorStatsSnapshot snapshot() {
+        return new ExecutorStatsSnapshot(name, getQueueDepth(), Math.max(0, active.sum()), completed.sum(),
+                wait.valueAtPercentile(50), wait.valueAtPercentile(99), maxWaitNanos.get(),
+                execution.valueAtPercentile(50), execution.valueAtPercentile(99));
+    }
+}
@@ -0,0 +1,75 @@
+package org.profiling.executor;
+
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntSupplier;
+
+/***
+ * Per-executor queue and execution statistics, keyed by executor name.
+ */
+public class ExecutorStatsRegistry {
+
+    private final ConcurrentMap<String, ExecutorStats> stats = new ConcurrentHashMap<>();
+
+    /***
+     * Returns statistics of an executor whose queue depth is counted from submitted tasks.
+     *
+     * @param name executor name.
+     * @return executor statistics, created on first use.
+     */
+    public ExecutorStats forExecutor(String name) {
+        return forExecutor(name, null);
+    }
+
+    /***
+     * Returns statistics of an executor.
+     *
+     * @param name executor name.
+     * @param queueDepth reads the executor's own queue size, or {@code null} to count submitted tasks.
+     *                   Ignored when statistics of the executor already exist.
+     * @return executor statistics, created on first use.
+     */
+    public ExecutorStats forExecutor(String name, IntSupplier queueDepth) {
+        return stats.computeIfAbsent(name, n -> new ExecutorStats(n, queueDepth));
+    }
+
+    /***
+     * Wraps a hand-made executor so that its tasks report time-in-queue and execution time.
+     *
+     * @param name executor name.
+     * @param executor executor to wrap.
+     * @return timing executor delegating to {@code executor}.
+     */
+    public ExecutorService wrap(String name, ExecutorService executor) {
+        return new QueueTimingExecutorService(forExecutor(name), executor);
+    }
+
+    /***
+     * Creates task decorator reporting to the named executor's statistics.
+     *
+     * @param name executor name.
+     * @param delegate decorator applied to tasks before timing, or {@code null}.
+     * @param queueDepth reads the decorated executor's own queue size.
+     * @return timing task decorator.
+     */
+    public TaskDecorator decorator(String name, TaskDecorator delegate, IntSupplier queueDepth) {
+        return new QueueTimingTaskDecorator(forExecutor(name, queueDepth), delegate);
+    }
+
+    /***
+     * Builds snapshots of all executors ordered by 99th percentile time-in-queue, longest first.
+     *
+     * @return executor snapshots.
+     */
+    public List<ExecutorStatsSnapshot> snapshot() {
+        return stats.values().stream()
+                .map(ExecutorStats::snapshot)
+                .sorted(Comparator.comparingLong(ExecutorStatsSnapshot::p99WaitNanos).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package org.profiling.executor;
+
+/***
+ * Point-in-time totals for a single executor.
+ *
+ * @param executor executor name.
+ * @param queueDepth number of tasks waiting in the queue.
+ * @param active number of tasks running.
+ * @param completed number of finished tasks.
+ * @param p50WaitNanos median time-in-queue in nanoseconds.
+ * @param p99WaitNanos 99th percentile time-in-queue in nanoseconds.
+ * @param maxWaitNanos longest time-in-queue in nanoseconds.
+ * @param p50ExecutionNanos median execution time in nanoseconds.
+ * @param p99ExecutionNanos 99th percentile execution time in nanoseconds.
+ */
+public record ExecutorStatsSnapshot(String executor, long queueDepth, long active, long completed,
+                                    long p50WaitNanos, long p99WaitNanos, long maxWaitNanos,
+                                    long p50ExecutionNanos, long p99ExecutionNanos) {
+}
@@ -0,0 +1,81 @@
+package org.profiling.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+/***
+ * Applies a {@link QueueTimingTaskDecorator} to every {@link ThreadPoolTaskExecutor} bean, including
+ * the one behind {@code @Async}, before it is initialized. A decorator already set on the executor
+ * keeps being applied inside the timing wrapper. Statistics are named after the bean and read the
+ * queue depth from the executor itself.
+ * <p>
+ * The executor exposes no getter for its decorator, so it is read from the {@value #TASK_DECORATOR_FIELD}
+ * field (registered for reflection by {@link org.profiling.aot.ProfilingRuntimeHints}). When the field
+ * cannot be read the executor is left untouched, so its decorator is never dropped, and a warning is logged.
+ */
+public class QueueTimingBeanPostProcessor implements BeanPostProcessor {
+
+    /***
+     * Name of the {@link ThreadPoolTaskExecutor} field holding its task decorator.
+     */
+    public static final String TASK_DECORATOR_FIELD = "taskDecorator";
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final ExecutorStatsRegistry registry;
+    private final Field taskDecorator;
+
+    /***
+     * Creates post processor.
+     *
+     * @param registry registry receiving per-executor statistics.
+     */
+    public QueueTimingBeanPostProcessor(ExecutorStatsRegistry registry) {
+        this(registry, ReflectionUtils.findField(ThreadPoolTaskExecutor.class, TASK_DECORATOR_FIELD, TaskDecorator.class));
+    }
+
+    QueueTimingBeanPostProcessor(ExecutorStatsRegistry registry, Field taskDecorator) {
+        this.registry = registry;
+        this.taskDecorator = taskDecorator;
+    }
+
+    /***
+     * Decorates thread pool executors before their pool is created.
+     *
+     * @param bean bean instance.
+     * @param beanName bean name used as executor name.
+     * @return the same bean instance.
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof ThreadPoolTaskExecutor executor) {
+            TaskDecorator current;
+            try {
+                current = currentDecorator(executor);
+            } catch (RuntimeException e) {
+                logger.warn("Queue time of executor {} is not measured: its task decorator cannot be read ({})",
+                        beanName, e.toString());
+                return bean;
+            }
+            if (!(current instanceof QueueTimingTaskDecorator)) {
+                ExecutorStats stats = registry.forExecutor(beanName, executor::getQueueSize);
+                executor.setTaskDecorator(new QueueTimingTaskDecorator(stats, current));
+            }
+        }
+        return bean;
+    }
+
+    private TaskDecorator currentDecorator(ThreadPoolTaskExecutor executor) {
+        if (taskDecorator == null) {
+            throw new IllegalStateException("No " + TASK_DECORATOR_FIELD + " field on " + ThreadPoolTaskExecutor.class.getName());
+        }
+        ReflectionUtils.makeAccessible(taskDecorator);
+        return (TaskDecorator) ReflectionUtils.getField(taskDecorator, executor);
+    }
+}
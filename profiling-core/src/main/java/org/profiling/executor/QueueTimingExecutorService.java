@@ -0,0 +1,59 @@
+package org.profiling.executor;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * {@link ExecutorService} wrapper that reports time-in-queue and execution time of every task
+ * to {@link ExecutorStats}. Lifecycle calls go straight to the wrapped executor.
+ */
+class QueueTimingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorStats stats;
+    private final ExecutorService delegate;
+
+    QueueTimingExecutorService(ExecutorStats stats, ExecutorService delegate) {
+        this.stats = stats;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        QueuedTask task = new QueuedTask(stats, command);
+        stats.submitted();
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            stats.rejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
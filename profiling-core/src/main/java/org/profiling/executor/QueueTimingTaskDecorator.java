@@ -0,0 +1,37 @@
+package org.profiling.executor;
+
+import org.springframework.core.task.TaskDecorator;
+
+/***
+ * {@link TaskDecorator} that stamps tasks with their submission time so that time-in-queue is
+ * reported separately from execution time. Decorators are applied at submission, so the stamp
+ * is taken when the task enters the executor. A task the executor rejects after decorating it is
+ * never seen again, so tasks are counted once they start and queue depth is read from the executor.
+ */
+public class QueueTimingTaskDecorator implements TaskDecorator {
+
+    private final ExecutorStats stats;
+    private final TaskDecorator delegate;
+
+    /***
+     * Creates decorator.
+     *
+     * @param stats statistics of the decorated executor, reading queue depth from the executor itself.
+     * @param delegate decorator applied to tasks before timing, or {@code null}.
+     */
+    public QueueTimingTaskDecorator(ExecutorStats stats, TaskDecorator delegate) {
+        this.stats = stats;
+        this.delegate = delegate;
+    }
+
+    /***
+     * Wraps runnable in a {@link QueuedTask}.
+     *
+     * @param runnable task submitted to an executor.
+     * @return decorated task.
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return new QueuedTask(stats, delegate != null ? delegate.decorate(runnable) : runnable);
+    }
+}
@@ -0,0 +1,65 @@
+package org.profiling.executor;
+
+/***
+ * Task wrapper that stamps the submission time and reports time-in-queue and execution time
+ * to {@link ExecutorStats}. It is the only object allocated per task.
+ */
+public final class QueuedTask implements Runnable {
+
+    private static final ThreadLocal<QueuedTask> CURRENT = new ThreadLocal<>();
+
+    private final ExecutorStats stats;
+    private final Runnable task;
+    private final long submittedAt;
+    private long queueWaitNanos = -1L;
+
+    /***
+     * Wraps a task at submission time. Counting it as queued is left to the submitter, which alone
+     * learns whether the executor accepted it.
+     *
+     * @param stats statistics of the executor the task is submitted to.
+     * @param task submitted task.
+     */
+    QueuedTask(ExecutorStats stats, Runnable task) {
+        this.stats = stats;
+        this.task = task;
+        this.submittedAt = System.nanoTime();
+    }
+
+    /***
+     * Runs the task, reporting its wait in the executor queue before it starts and its
+     * execution time after it finishes.
+     */
+    @Override
+    public void run() {
+        long startedAt = System.nanoTime();
+        long waitNanos = startedAt - submittedAt;
+        stats.started(waitNanos);
+        queueWaitNanos = waitNanos;
+        QueuedTask outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            CURRENT.set(outer);
+            stats.finished(System.nanoTime() - startedAt);
+        }
+    }
+
+    /***
+     * Returns the wait of the task running on the current thread and hands it out only once,
+     * so that only the outermost profiled invocation of a task is charged with it.
+     *
+     * @return time-in-queue in nanoseconds, or {@code -1} when the current thread runs no queued
+     *         task or its wait was already taken.
+     */
+    public static long takeQueueWait() {
+        QueuedTask current = CURRENT.get();
+        if (current == null) {
+            return -1L;
+        }
+        long waitNanos = current.queueWaitNanos;
+        current.queueWaitNanos = -1L;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package org.profiling.exemplar;
+
+import org.profiling.ProfilingRecord;
+
+import java.time.Instant;
+
+/***
+ * Fully captured profiled invocation admitted to a {@link SlowInvocationReservoir}.
+ * Arguments and result are stored already rendered, so later changes to the objects don't
+ * affect what is reported.
+ *
+ * @param timestamp completion time of the invocation.
+ * @param record captured invocation details.
+ */
+public record SlowInvocation(Instant timestamp, ProfilingRecord record) {
+
+    /***
+     * Returns execution time of the invocation.
+     *
+     * @return execution time in nanoseconds.
+     */
+    public long executionNanos() {
+        return record.executionNanos();
+    }
+}
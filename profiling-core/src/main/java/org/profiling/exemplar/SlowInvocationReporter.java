@@ -0,0 +1,73 @@
+package org.profiling.exemplar;
+
+import org.profiling.ProfilingRecordFormatter;
+import org.profiling.enums.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Periodically drains a {@link SlowInvocationReservoir} and logs the retained invocations
+ * in the {@link LogType#PRETTIER} layout.
+ */
+public class SlowInvocationReporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final SlowInvocationReservoir reservoir;
+    private final ProfilingRecordFormatter formatter = new ProfilingRecordFormatter();
+    private final ScheduledExecutorService scheduler;
+
+    /***
+     * Creates reporter and schedules periodic reports.
+     *
+     * @param reservoir reservoir to drain.
+     * @param interval reporting interval, zero to report only when {@link #report()} is called.
+     */
+    public SlowInvocationReporter(SlowInvocationReservoir reservoir, Duration interval) {
+        this.reservoir = reservoir;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "profiling-slow-invocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        if (millis > 0) {
+            scheduler.scheduleAtFixedRate(this::report, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /***
+     * Drains the reservoir and logs its content. Does nothing when no invocation was retained.
+     */
+    public void report() {
+        try {
+            List<SlowInvocation> invocations = reservoir.drain();
+            if (invocations.isEmpty()) {
+                return;
+            }
+            StringBuilder sb = new StringBuilder("\nSlowest profiled invocations since last report: ")
+                    .append(invocations.size());
+            for (SlowInvocation invocation : invocations) {
+                sb.append("\n").append(invocation.timestamp())
+                        .append(formatter.format(LogType.PRETTIER, invocation.record()));
+            }
+            logger.info(sb.toString());
+        } catch (Exception e) {
+            logger.error("Error reporting slow invocations", e);
+        }
+    }
+
+    /***
+     * Stops periodic reports.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
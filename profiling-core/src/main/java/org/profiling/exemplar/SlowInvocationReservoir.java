@@ -0,0 +1,170 @@
+package org.profiling.exemplar;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/***
+ * Keeps the N slowest invocations per method. Each method has a fixed-size min-heap whose root is
+ * the fastest retained invocation; its duration is published as a volatile admission threshold, so
+ * the vast majority of invocations are rejected by a single comparison without locking or capturing
+ * any detail. Only admitted invocations are captured and inserted under the method's lock.
+ */
+public class SlowInvocationReservoir {
+
+    private static final Comparator<SlowInvocation> SLOWEST_FIRST =
+            Comparator.comparingLong(SlowInvocation::executionNanos).reversed();
+
+    private final int capacity;
+    private final ConcurrentMap<Method, MethodReservoir> reservoirs = new ConcurrentHashMap<>();
+
+    /***
+     * Creates reservoir.
+     *
+     * @param capacity number of slowest invocations kept per method.
+     */
+    public SlowInvocationReservoir(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Reservoir capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /***
+     * Checks whether an invocation is slow enough to be retained. Lock-free.
+     *
+     * @param method profiled method.
+     * @param executionNanos execution time of the invocation.
+     * @return {@code true} when the invocation should be captured and {@link #offer offered}.
+     */
+    public boolean admits(Method method, long executionNanos) {
+        MethodReservoir reservoir = reservoirs.get(method);
+        return reservoir == null || executionNanos > reservoir.threshold;
+    }
+
+    /***
+     * Offers a captured invocation. It is retained only if it is still among the N slowest.
+     *
+     * @param method profiled method.
+     * @param invocation captured invocation.
+     */
+    public void offer(Method method, SlowInvocation invocation) {
+        MethodReservoir reservoir = reservoirs.get(method);
+        if (reservoir == null) {
+            reservoir = reservoirs.computeIfAbsent(method, m -> new MethodReservoir(capacity));
+        }
+        reservoir.offer(invocation);
+    }
+
+    /***
+     * Drops invocations retained for a method, e.g. when its statistics are evicted.
+     *
+     * @param method profiled method.
+     */
+    public void remove(Method method) {
+        reservoirs.remove(method);
+    }
+
+    /***
+     * Returns retained invocations without removing them.
+     *
+     * @return retained invocations of all methods, slowest first.
+     */
+    public List<SlowInvocation> snapshot() {
+        List<SlowInvocation> result = new ArrayList<>();
+        for (MethodReservoir reservoir : reservoirs.values()) {
+            reservoir.copyTo(result, false);
+        }
+        result.sort(SLOWEST_FIRST);
+        return result;
+    }
+
+    /***
+     * Removes and returns retained invocations, starting a new collection period.
+     *
+     * @return retained invocations of all methods, slowest first.
+     */
+    public List<SlowInvocation> drain() {
+        List<SlowInvocation> result = new ArrayList<>();
+        for (MethodReservoir reservoir : reservoirs.values()) {
+            reservoir.copyTo(result, true);
+        }
+        result.sort(SLOWEST_FIRST);
+        return result;
+    }
+
+    /***
+     * Min-heap of the slowest invocations of one method.
+     */
+    private static final class MethodReservoir {
+        private final SlowInvocation[] heap;
+        private int size;
+        private volatile long threshold = -1;
+
+        private MethodReservoir(int capacity) {
+            this.heap = new SlowInvocation[capacity];
+        }
+
+        private synchronized void offer(SlowInvocation invocation) {
+            if (size < heap.length) {
+                heap[size] = invocation;
+                siftUp(size++);
+            } else if (invocation.executionNanos() > heap[0].executionNanos()) {
+                heap[0] = invocation;
+                siftDown(0);
+            } else {
+                return;
+            }
+            threshold = size == heap.length ? heap[0].executionNanos() : -1;
+        }
+
+        private synchronized void copyTo(List<SlowInvocation> target, boolean clear) {
+            target.addAll(Arrays.asList(heap).subList(0, size));
+            if (clear) {
+                Arrays.fill(heap, null);
+                size = 0;
+                threshold = -1;
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent].executionNanos() <= heap[index].executionNanos()) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left].executionNanos() < heap[smallest].executionNanos()) {
+                    smallest = left;
+                }
+                if (right < size && heap[right].executionNanos() < heap[smallest].executionNanos()) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            SlowInvocation tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
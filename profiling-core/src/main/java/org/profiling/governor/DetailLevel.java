@@ -0,0 +1,68 @@
+package org.profiling.governor;
+
+/***
+ * Amount of detail produced per profiled invocation, from most to least expensive.
+ * Each level also drops everything dropped by the previous levels.
+ */
+public enum DetailLevel {
+    /***
+     * Everything requested by {@link org.profiling.Profiling} attributes.
+     */
+    FULL,
+
+    /***
+     * Caller information is no longer captured.
+     */
+    NO_CALLER_INFO,
+
+    /***
+     * Parameters and results are no longer rendered.
+     */
+    NO_PAYLOAD,
+
+    /***
+     * Only a sample of invocations produce a record.
+     */
+    SAMPLED,
+
+    /***
+     * No records at all, invocations only update aggregated statistics.
+     */
+    AGGREGATE_ONLY;
+
+    /***
+     * Indicates whether caller information may be captured.
+     *
+     * @return {@code true} for {@link #FULL}.
+     */
+    public boolean callerInfo() {
+        return this == FULL;
+    }
+
+    /***
+     * Indicates whether parameters and results may be rendered.
+     *
+     * @return {@code true} for {@link #FULL} and {@link #NO_CALLER_INFO}.
+     */
+    public boolean payload() {
+        return ordinal() < NO_PAYLOAD.ordinal();
+    }
+
+    /***
+     * Returns the next cheaper level.
+     *
+     * @return degraded level, or this level when it is already the cheapest.
+     */
+    public DetailLevel degrade() {
+        return this == AGGREGATE_ONLY ? this : values()[ordinal() + 1];
+    }
+
+    /***
+     * Returns the next richer level.
+     *
+     * @return restored level, or this level when it is already {@link #FULL}.
+     */
+    public DetailLevel restore() {
+        return this == FULL ? this : values()[ordinal() - 1];
+    }
+}
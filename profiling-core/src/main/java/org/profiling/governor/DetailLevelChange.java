@@ -0,0 +1,12 @@
+package org.profiling.governor;
+
+/***
+ * Event reported by {@link OverheadGovernor} whenever it switches detail level.
+ *
+ * @param previous level before the transition.
+ * @param current level after the transition.
+ * @param overheadShare measured profiler share of observed time in the last window.
+ * @param budget configured overhead budget.
+ */
+public record DetailLevelChange(DetailLevel previous, DetailLevel current, double overheadShare, double budget) {
+}
@@ -0,0 +1,132 @@
+package org.profiling.governor;
+
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.stats.ProfilingPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/***
+ * Keeps the profiler within an overhead budget. At the end of every window the profiler's share
+ * of observed time is computed from {@link ProfilingOverhead}; above the budget the detail level is
+ * degraded one step, below half of the budget it is restored one step.
+ * <p>
+ * State is a single immutable snapshot swapped with CAS, so readers never lock and only one thread
+ * evaluates a given window.
+ */
+public class OverheadGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverheadGovernor.class);
+    private static final double RESTORE_FACTOR = 0.5;
+
+    private final ProfilingOverhead overhead;
+    private final double budget;
+    private final long windowNanos;
+    private final int sampleRate;
+    private final Consumer<DetailLevelChange> listener;
+    private final AtomicReference<State> state;
+
+    /***
+     * Creates governor starting at {@link DetailLevel#FULL}.
+     *
+     * @param overhead self-instrumentation statistics to watch.
+     * @param budget maximum profiler share of observed time, e.g. {@code 0.01} for 1%.
+     * @param window evaluation window.
+     * @param sampleRate one of how many invocations produces a record at {@link DetailLevel#SAMPLED}.
+     * @param listener receives level transitions, may be {@code null}.
+     */
+    public OverheadGovernor(ProfilingOverhead overhead, double budget, Duration window, int sampleRate,
+                            Consumer<DetailLevelChange> listener) {
+        if (budget <= 0 || budget >= 1) {
+            throw new IllegalArgumentException("Overhead budget must be between 0 and 1, got " + budget);
+        }
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive, got " + sampleRate);
+        }
+        this.overhead = overhead;
+        this.budget = budget;
+        this.windowNanos = window.toNanos();
+        this.sampleRate = sampleRate;
+        this.listener = listener;
+        this.state = new AtomicReference<>(new State(DetailLevel.FULL, System.nanoTime() + windowNanos,
+                profilerNanos(), invokeNanos()));
+    }
+
+    /***
+     * Returns current detail level. Called on every profiled invocation.
+     *
+     * @return active detail level.
+     */
+    public DetailLevel level() {
+        return state.get().level();
+    }
+
+    /***
+     * Decides whether an invocation at the given level should produce a record.
+     *
+     * @param level level read by the caller for this invocation.
+     * @return {@code true} when a record should be emitted.
+     */
+    public boolean shouldEmit(DetailLevel level) {
+        if (level == DetailLevel.AGGREGATE_ONLY) {
+            return false;
+        }
+        return level != DetailLevel.SAMPLED || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /***
+     * Evaluates the finished window if its deadline has passed. Cheap when it has not.
+     *
+     * @param now current {@link System#nanoTime()} value.
+     */
+    public void maybeEvaluate(long now) {
+        State current = state.get();
+        if (now - current.deadline() < 0) {
+            return;
+        }
+
+        long profiler = profilerNanos();
+        long invoke = invokeNanos();
+        long profilerDelta = profiler - current.profilerNanos();
+        long observed = profilerDelta + invoke - current.invokeNanos();
+        double share = observed > 0 ? (double) profilerDelta / observed : 0.0;
+
+        DetailLevel next = current.level();
+        if (share > budget) {
+            next = next.degrade();
+        } else if (share < budget * RESTORE_FACTOR) {
+            next = next.restore();
+        }
+
+        if (!state.compareAndSet(current, new State(next, now + windowNanos, profiler, invoke))) {
+            return; // another thread evaluated this window
+        }
+        if (next != current.level()) {
+            DetailLevelChange change = new DetailLevelChange(current.level(), next, share, budget);
+            logger.info("Profiling detail level changed from {} to {} (overhead {}%, budget {}%)",
+                    change.previous(), change.current(),
+                    String.format("%.2f", share * 100), String.format("%.2f", budget * 100));
+            if (listener != null) {
+                listener.accept(change);
+            }
+        }
+    }
+
+    private long profilerNanos() {
+        return overhead.phase(ProfilingPhase.LOOKUP).totalNanos()
+                + overhead.phase(ProfilingPhase.CAPTURE).totalNanos()
+                + overhead.phase(ProfilingPhase.RENDER).totalNanos()
+                + overhead.phase(ProfilingPhase.EMIT).totalNanos();
+    }
+
+    private long invokeNanos() {
+        return overhead.phase(ProfilingPhase.INVOKE).totalNanos();
+    }
+
+    private record State(DetailLevel level, long deadline, long profilerNanos, long invokeNanos) {
+    }
+}
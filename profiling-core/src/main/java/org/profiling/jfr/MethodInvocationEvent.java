@@ -0,0 +1,95 @@
+package org.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/***
+ * JDK Flight Recorder event committed for every {@link org.profiling.Profiling} invocation
+ * when {@link org.profiling.enums.LogType#JFR} output is selected.
+ * Event duration is the target method execution time, so the usual JFR {@code threshold}
+ * setting can be used to record only slow invocations.
+ */
+@Name(MethodInvocationEvent.NAME)
+@Label("Profiled Method Invocation")
+@Category("Profiling")
+@Description("Execution of a method annotated with @Profiling")
+@Threshold("0 ms")
+public class MethodInvocationEvent extends Event {
+
+    /***
+     * Event type name used in JFR settings and recordings.
+     */
+    public static final String NAME = "org.profiling.MethodInvocation";
+
+    /***
+     * Outcome value for invocations that returned normally.
+     */
+    public static final String SUCCESS = "SUCCESS";
+
+    /***
+     * Outcome value for invocations that threw an exception.
+     */
+    public static final String EXCEPTION = "EXCEPTION";
+
+    @Label("Method")
+    @Description("Fully qualified name of the profiled method")
+    public String method;
+
+    @Label("Message")
+    @Description("Message declared by the @Profiling annotation")
+    public String message;
+
+    @Label("Outcome")
+    @Description("SUCCESS or EXCEPTION")
+    public String outcome;
+
+    @Label("Exception Type")
+    @Description("Type of the thrown exception, if any")
+    public Class<?> exceptionType;
+
+    @Label("Trace Id")
+    @Description("Trace identifier of the request, when trace correlation is enabled")
+    public String traceId;
+
+    @Label("Span Id")
+    @Description("Span identifier of the request, when trace correlation is enabled")
+    public String spanId;
+
+    @Label("Queue Wait")
+    @Description("Time spent in an executor queue before the invocation started, zero when not dispatched through a timed executor")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+
+    @Label("CPU Time")
+    @Description("Time the thread spent on CPU, zero when contention is not measured for the method")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cpuTime;
+
+    @Label("Blocked Time")
+    @Description("Time the thread spent blocked on monitors, millisecond resolution")
+    @Timespan(Timespan.NANOSECONDS)
+    public long blockedTime;
+
+    @Label("Blocked Count")
+    @Description("Number of times the thread blocked on a monitor")
+    public long blockedCount;
+
+    @Label("Waited Time")
+    @Description("Time the thread spent waiting, parked or sleeping, millisecond resolution")
+    @Timespan(Timespan.NANOSECONDS)
+    public long waitedTime;
+
+    @Label("Waited Count")
+    @Description("Number of times the thread waited, parked or slept")
+    public long waitedCount;
+
+    @Label("Other Time")
+    @Description("Remaining time off CPU, e.g. blocking I/O or waiting for a CPU")
+    @Timespan(Timespan.NANOSECONDS)
+    public long otherTime;
+}
@@ -0,0 +1,149 @@
+package org.profiling.pattern;
+
+import org.profiling.plan.ProfilingPlan;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/***
+ * {@link MethodPattern} with its globs turned into precompiled predicates.
+ */
+final class CompiledPattern {
+
+    private static final String ANY_REMAINING = "..";
+
+    private final MethodPattern source;
+    private final Pattern type;
+    private final boolean simpleName;
+    private final Pattern method;
+    private final Pattern returns;
+    private final Pattern[] parameters;
+    private final boolean openParameters;
+
+    CompiledPattern(MethodPattern source) {
+        if (source.type() == null || source.type().isBlank()) {
+            throw new IllegalArgumentException("Profiling pattern needs a type: " + source);
+        }
+        this.source = source;
+        this.type = glob(source.type());
+        this.simpleName = source.type().indexOf('.') < 0;
+        this.method = source.method() != null ? glob(source.method()) : null;
+        this.returns = source.returns() != null ? glob(source.returns()) : null;
+        if (source.parameters() == null) {
+            this.parameters = null;
+            this.openParameters = true;
+        } else {
+            List<Pattern> compiled = new ArrayList<>();
+            boolean open = false;
+            for (String parameter : source.parameters().split(",")) {
+                String trimmed = parameter.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                if (trimmed.equals(ANY_REMAINING)) {
+                    open = true;
+                    break;
+                }
+                compiled.add(glob(trimmed));
+            }
+            this.parameters = compiled.toArray(Pattern[]::new);
+            this.openParameters = open;
+        }
+    }
+
+    /***
+     * Returns leading name segments without wildcards, used as the pattern's trie path.
+     */
+    String[] literalPrefix() {
+        if (simpleName) {
+            return new String[0];
+        }
+        String[] segments = source.type().split("\\.");
+        int literal = 0;
+        while (literal < segments.length - 1 && segments[literal].indexOf('*') < 0) {
+            literal++;
+        }
+        String[] prefix = new String[literal];
+        System.arraycopy(segments, 0, prefix, 0, literal);
+        return prefix;
+    }
+
+    boolean matchesType(Class<?> type) {
+        String name = simpleName ? simpleName(type) : type.getName();
+        return this.type.matcher(name).matches();
+    }
+
+    boolean matchesMethod(Method candidate) {
+        if (method != null && !method.matcher(candidate.getName()).matches()) {
+            return false;
+        }
+        if (returns != null && !matchesTypeName(returns, candidate.getReturnType())) {
+            return false;
+        }
+        if (parameters != null) {
+            Class<?>[] types = candidate.getParameterTypes();
+            if (types.length < parameters.length || (!openParameters && types.length != parameters.length)) {
+                return false;
+            }
+            for (int i = 0; i < parameters.length; i++) {
+                if (!matchesTypeName(parameters[i], types[i])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean isClassWide() {
+        return source.isClassWide();
+    }
+
+    ProfilingPlan plan(Method method) {
+        return new ProfilingPlan(method, source.message() != null ? source.message() : "", source.logParams(),
+                source.logResult(), source.logTime(), source.logCallerInfo(), null, source.contention());
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+
+    private static boolean matchesTypeName(Pattern pattern, Class<?> type) {
+        return pattern.matcher(type.getTypeName()).matches()
+                || pattern.matcher(type.getSimpleName()).matches();
+    }
+
+    private static String simpleName(Class<?> type) {
+        String name = type.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /***
+     * Translates a glob into a regular expression: {@code **} matches anything, {@code *} anything but a dot.
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            if (glob.charAt(i) != '*') {
+                continue;
+            }
+            if (i > literalStart) {
+                regex.append(Pattern.quote(glob.substring(literalStart, i)));
+            }
+            if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else {
+                regex.append("[^.]*");
+            }
+            literalStart = i + 1;
+        }
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
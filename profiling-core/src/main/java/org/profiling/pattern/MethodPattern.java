@@ -0,0 +1,43 @@
+package org.profiling.pattern;
+
+/***
+ * Configured selection of methods to profile (or not) without {@link org.profiling.Profiling} annotations.
+ * Type, method and return type are globs: {@code *} matches within a name segment, {@code **} across
+ * segments. Type patterns without a dot match simple class names.
+ *
+ * @param type class glob, e.g. {@code com.acme.**}, {@code com.acme.*Client} or {@code UserService}.
+ * @param method method name glob, {@code null} for any method.
+ * @param returns return type glob, {@code null} for any return type.
+ * @param parameters comma separated parameter type globs where {@code ..} matches any remaining parameters,
+ *                   {@code ""} for no parameters, {@code null} for any parameters.
+ * @param message message to be displayed in the logs.
+ * @param logParams whether parameters are logged.
+ * @param logResult whether the result is logged.
+ * @param logTime whether execution time is logged.
+ * @param logCallerInfo whether caller information is logged.
+ * @param contention whether wall time is split into CPU, blocked, waited and other time.
+ */
+public record MethodPattern(String type, String method, String returns, String parameters, String message,
+                            boolean logParams, boolean logResult, boolean logTime, boolean logCallerInfo,
+                            boolean contention) {
+
+    /***
+     * Creates pattern with the default {@link org.profiling.Profiling} flags.
+     *
+     * @param type class glob.
+     * @param method method name glob, {@code null} for any method.
+     * @return method pattern.
+     */
+    public static MethodPattern of(String type, String method) {
+        return new MethodPattern(type, method, null, null, "", true, true, true, true, false);
+    }
+
+    /***
+     * Indicates whether the pattern selects whole classes.
+     *
+     * @return {@code true} when neither method name, return type nor parameters are constrained.
+     */
+    public boolean isClassWide() {
+        return method == null && returns == null && parameters == null;
+    }
+}
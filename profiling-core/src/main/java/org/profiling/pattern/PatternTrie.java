@@ -0,0 +1,53 @@
+package org.profiling.pattern;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Trie of compiled patterns keyed by the literal package segments their type glob starts with.
+ * Looking up a class walks its name segment by segment and only collects patterns on that path,
+ * so the cost depends on the depth of the package, not on the number of patterns.
+ */
+final class PatternTrie {
+
+    private final Node root = new Node();
+
+    void add(CompiledPattern pattern) {
+        Node node = root;
+        for (String segment : pattern.literalPrefix()) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.patterns.add(pattern);
+    }
+
+    /***
+     * Returns patterns whose literal prefix is a prefix of the class name and whose type glob matches.
+     */
+    List<CompiledPattern> matching(Class<?> type) {
+        List<CompiledPattern> result = new ArrayList<>();
+        String name = type.getName();
+        Node node = root;
+        int start = 0;
+        while (node != null) {
+            for (CompiledPattern pattern : node.patterns) {
+                if (pattern.matchesType(type)) {
+                    result.add(pattern);
+                }
+            }
+            int end = name.indexOf('.', start);
+            if (end < 0) {
+                break;
+            }
+            node = node.children.get(name.substring(start, end));
+            start = end + 1;
+        }
+        return result;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<CompiledPattern> patterns = new ArrayList<>();
+    }
+}
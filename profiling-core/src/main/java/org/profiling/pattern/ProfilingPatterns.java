@@ -0,0 +1,189 @@
+package org.profiling.pattern;
+
+import org.profiling.plan.ProfilingPlan;
+import org.profiling.plan.ProfilingPlans;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Include and exclude {@link MethodPattern}s compiled into a prefix trie per kind. A class is looked up
+ * in the tries once; the patterns matching its name are kept and only their method predicates run for
+ * its methods. Excludes win over includes and over {@link org.profiling.Profiling} annotations.
+ */
+public class ProfilingPatterns {
+
+    private static final ProfilingPlan NONE = new ProfilingPlan(null, "", false, false, false, false, null, false);
+
+    private final PatternTrie includes = new PatternTrie();
+    private final PatternTrie excludes = new PatternTrie();
+    private final boolean hasIncludes;
+    private final boolean empty;
+    private final Map<Class<?>, ClassPatterns> classes = new ConcurrentReferenceHashMap<>();
+    private final Map<MethodClassKey, ProfilingPlan> resolved = new ConcurrentReferenceHashMap<>();
+    private final LongAdder matchNanos = new LongAdder();
+    private final LongAdder matchedClasses = new LongAdder();
+
+    /***
+     * Compiles patterns.
+     *
+     * @param includes patterns selecting methods to profile.
+     * @param excludes patterns selecting methods never to profile.
+     * @throws IllegalArgumentException when a pattern has no type.
+     */
+    public ProfilingPatterns(List<MethodPattern> includes, List<MethodPattern> excludes) {
+        includes.forEach(pattern -> this.includes.add(new CompiledPattern(pattern)));
+        excludes.forEach(pattern -> this.excludes.add(new CompiledPattern(pattern)));
+        this.hasIncludes = !includes.isEmpty();
+        this.empty = includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /***
+     * Indicates whether no pattern is configured.
+     *
+     * @return {@code true} when only annotations select profiled methods.
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /***
+     * Checks whether methods of a class may be profiled at all.
+     *
+     * @param type candidate class.
+     * @return {@code false} when a class-wide exclude pattern matches the class.
+     */
+    public boolean matchesClass(Class<?> type) {
+        return !patterns(type).excludedClass;
+    }
+
+    /***
+     * Checks whether an include pattern selects any method of a class, e.g. to decide whether to proxy it.
+     *
+     * @param type candidate class.
+     * @return {@code true} when at least one declared or inherited method is selected by an include pattern.
+     */
+    public boolean includesAny(Class<?> type) {
+        ClassPatterns patterns = patterns(type);
+        if (patterns.excludedClass || patterns.includes.isEmpty()) {
+            return false;
+        }
+        for (Method method : type.getMethods()) {
+            if (method.getDeclaringClass() != Object.class && !Modifier.isStatic(method.getModifiers())
+                    && matchesAny(patterns.includes, method) && !matchesAny(patterns.excludes, method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /***
+     * Returns plan for a method: excludes first, then {@link org.profiling.Profiling} annotations, then
+     * include patterns. The result is cached per method and class.
+     *
+     * @param method invoked method.
+     * @param targetClass runtime class of the target.
+     * @return plan, or {@code null} when the method is not profiled.
+     */
+    public ProfilingPlan resolve(Method method, Class<?> targetClass) {
+        MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+        ProfilingPlan plan = resolved.get(cacheKey);
+        if (plan == null) {
+            plan = lookup(method, targetClass);
+            resolved.put(cacheKey, plan);
+        }
+        return plan != NONE ? plan : null;
+    }
+
+    /***
+     * Returns time spent matching classes and methods against patterns, excluding annotation lookups.
+     *
+     * @return matching time in nanoseconds.
+     */
+    public long getMatchNanos() {
+        return matchNanos.sum();
+    }
+
+    /***
+     * Returns number of classes looked up in the pattern tries.
+     *
+     * @return matched class count.
+     */
+    public long getMatchedClasses() {
+        return matchedClasses.sum();
+    }
+
+    private ProfilingPlan lookup(Method method, Class<?> targetClass) {
+        ClassPatterns patterns = patterns(targetClass);
+        if (patterns.excludedClass) {
+            return NONE;
+        }
+        if (patterns.includes.isEmpty() && patterns.excludes.isEmpty()) {
+            ProfilingPlan annotated = ProfilingPlans.resolve(method, targetClass);
+            return annotated != null ? annotated : NONE;
+        }
+        if (method.getDeclaringClass() == Object.class || method.isBridge() || method.isSynthetic()
+                || Modifier.isStatic(method.getModifiers())) {
+            ProfilingPlan annotated = ProfilingPlans.resolve(method, targetClass);
+            return annotated != null ? annotated : NONE;
+        }
+        long start = System.nanoTime();
+        Method specific = ClassUtils.getMostSpecificMethod(method, targetClass);
+        boolean excluded = matchesAny(patterns.excludes, specific);
+        matchNanos.add(System.nanoTime() - start);
+        if (excluded) {
+            return NONE;
+        }
+        ProfilingPlan annotated = ProfilingPlans.resolve(method, targetClass);
+        if (annotated != null) {
+            return annotated;
+        }
+        start = System.nanoTime();
+        try {
+            for (CompiledPattern include : patterns.includes) {
+                if (include.matchesMethod(specific)) {
+                    return include.plan(specific);
+                }
+            }
+            return NONE;
+        } finally {
+            matchNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private ClassPatterns patterns(Class<?> type) {
+        ClassPatterns patterns = classes.get(type);
+        if (patterns == null) {
+            long start = System.nanoTime();
+            List<CompiledPattern> matchingExcludes = excludes.matching(type);
+            boolean excludedClass = matchingExcludes.stream().anyMatch(CompiledPattern::isClassWide);
+            List<CompiledPattern> matchingIncludes = hasIncludes && !excludedClass
+                    ? includes.matching(type)
+                    : List.of();
+            patterns = new ClassPatterns(excludedClass, matchingIncludes, matchingExcludes);
+            classes.put(type, patterns);
+            matchedClasses.increment();
+            matchNanos.add(System.nanoTime() - start);
+        }
+        return patterns;
+    }
+
+    private static boolean matchesAny(List<CompiledPattern> patterns, Method method) {
+        for (CompiledPattern pattern : patterns) {
+            if (pattern.matchesMethod(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record ClassPatterns(boolean excludedClass, List<CompiledPattern> includes,
+                                 List<CompiledPattern> excludes) {
+    }
+}
@@ -0,0 +1,54 @@
+package org.profiling.plan;
+
+import org.profiling.Profiling;
+
+import java.lang.reflect.Method;
+
+/***
+ * Effective profiling settings of a single method: the {@link Profiling} annotation of the method,
+ * or of its class, flattened into plain values.
+ *
+ * @param method profiled method, {@code null} for plans registered at build time and not yet resolved.
+ * @param message message to be displayed in the logs.
+ * @param logParams whether parameters are logged.
+ * @param logResult whether the result is logged.
+ * @param logTime whether execution time is logged.
+ * @param logCallerInfo whether caller information is logged.
+ * @param parameterNames parameter names captured at build time, {@code null} to read them reflectively.
+ * @param contention whether wall time is split into CPU, blocked, waited and other time.
+ */
+public record ProfilingPlan(Method method, String message, boolean logParams, boolean logResult, boolean logTime,
+                            boolean logCallerInfo, String[] parameterNames, boolean contention) {
+
+    /***
+     * Creates plan from annotation found at runtime.
+     *
+     * @param method profiled method.
+     * @param annotation effective annotation of the method.
+     * @return profiling plan.
+     */
+    public static ProfilingPlan of(Method method, Profiling annotation) {
+        return new ProfilingPlan(method, annotation.message(), annotation.logParams(), annotation.logResult(),
+                annotation.logTime(), annotation.logCallerInfo(), null, annotation.contention());
+    }
+
+    /***
+     * Indicates whether anything besides the message is logged.
+     *
+     * @return {@code true} when at least one detail flag is enabled.
+     */
+    public boolean logsDetails() {
+        return logCallerInfo || logParams || logResult || logTime;
+    }
+
+    /***
+     * Returns copy of this plan bound to the invoked method.
+     *
+     * @param invokedMethod method the plan applies to.
+     * @return bound plan.
+     */
+    ProfilingPlan bind(Method invokedMethod) {
+        return new ProfilingPlan(invokedMethod, message, logParams, logResult, logTime, logCallerInfo, parameterNames,
+                contention);
+    }
+}
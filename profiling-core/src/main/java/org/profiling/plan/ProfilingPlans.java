@@ -0,0 +1,123 @@
+package org.profiling.plan;
+
+import org.profiling.Profiling;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * Registry of {@link ProfilingPlan}s. Plans are either registered ahead of time by code generated
+ * during Spring AOT processing, or resolved once per method from annotations and cached.
+ * Either way the annotation lookup no longer runs on every invocation.
+ */
+public final class ProfilingPlans {
+
+    private static final ProfilingPlan NONE = new ProfilingPlan(null, "", false, false, false, false, null, false);
+
+    private static final Map<String, ProfilingPlan> registered = new ConcurrentHashMap<>();
+    private static final Map<MethodClassKey, ProfilingPlan> resolved = new ConcurrentReferenceHashMap<>();
+
+    private ProfilingPlans() {
+    }
+
+    /***
+     * Registers plan computed at build time. Types are given by name so generated code does not
+     * need access to non-public classes.
+     *
+     * @param className binary name of the bean class.
+     * @param methodName method name.
+     * @param parameterTypeNames binary names of parameter types.
+     * @param message message to be displayed in the logs.
+     * @param logParams whether parameters are logged.
+     * @param logResult whether the result is logged.
+     * @param logTime whether execution time is logged.
+     * @param logCallerInfo whether caller information is logged.
+     * @param parameterNames parameter names.
+     * @param contention whether wall time is split into CPU, blocked, waited and other time.
+     */
+    public static void register(String className, String methodName, String[] parameterTypeNames, String message,
+                                boolean logParams, boolean logResult, boolean logTime, boolean logCallerInfo,
+                                String[] parameterNames, boolean contention) {
+        registered.put(key(className, methodName, parameterTypeNames),
+                new ProfilingPlan(null, message, logParams, logResult, logTime, logCallerInfo, parameterNames,
+                        contention));
+    }
+
+    /***
+     * Returns plan for the invoked method.
+     *
+     * @param method invoked method.
+     * @param targetClass runtime class of the target.
+     * @return plan, or {@code null} when the method is not profiled.
+     */
+    public static ProfilingPlan resolve(Method method, Class<?> targetClass) {
+        MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+        ProfilingPlan plan = resolved.get(cacheKey);
+        if (plan == null) {
+            plan = lookup(method, targetClass);
+            resolved.put(cacheKey, plan);
+        }
+        return plan != NONE ? plan : null;
+    }
+
+    /***
+     * Indicates whether a build-time plan exists for the method.
+     *
+     * @param targetClass bean class.
+     * @param method method.
+     * @return {@code true} when a plan was registered ahead of time.
+     */
+    public static boolean isRegistered(Class<?> targetClass, Method method) {
+        return registered.containsKey(key(targetClass, method));
+    }
+
+    /***
+     * Removes all registered and cached plans.
+     */
+    public static void reset() {
+        registered.clear();
+        resolved.clear();
+    }
+
+    private static ProfilingPlan lookup(Method method, Class<?> targetClass) {
+        Method originalMethod = findOriginalMethod(method, targetClass);
+        ProfilingPlan plan = registered.get(key(targetClass, method));
+        if (plan != null) {
+            return plan.bind(originalMethod);
+        }
+
+        Profiling methodAnnotation = originalMethod.getAnnotation(Profiling.class);
+        Profiling annotation = methodAnnotation != null ? methodAnnotation : targetClass.getAnnotation(Profiling.class);
+        return annotation != null ? ProfilingPlan.of(originalMethod, annotation) : NONE;
+    }
+
+    private static Method findOriginalMethod(Method method, Class<?> targetClass) {
+        try {
+            return targetClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            try {
+                Method m = targetClass.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                m.setAccessible(true);
+                return m;
+            } catch (NoSuchMethodException e1) {
+                return method;
+            }
+        }
+    }
+
+    private static String key(Class<?> targetClass, Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        String[] names = new String[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            names[i] = parameterTypes[i].getName();
+        }
+        return key(targetClass.getName(), method.getName(), names);
+    }
+
+    private static String key(String className, String methodName, String[] parameterTypeNames) {
+        return className + "#" + methodName + "(" + String.join(",", parameterTypeNames) + ")";
+    }
+}
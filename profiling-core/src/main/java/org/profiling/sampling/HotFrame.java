@@ -0,0 +1,15 @@
+package org.profiling.sampling;
+
+/***
+ * Stack frame found on top of the stack while a long-running invocation was sampled.
+ *
+ * @param frame frame description, {@code class.method(file:line)}.
+ * @param samples number of samples that found the frame on top.
+ */
+public record HotFrame(String frame, long samples) {
+
+    @Override
+    public String toString() {
+        return samples + "x " + frame;
+    }
+}
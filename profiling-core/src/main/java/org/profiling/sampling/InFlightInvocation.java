@@ -0,0 +1,81 @@
+package org.profiling.sampling;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/***
+ * Profiled invocation currently running on a thread. Instances are preallocated per thread and
+ * reused, so registering an invocation allocates nothing. Sample counts are only allocated once
+ * the sampler finds the invocation running longer than its threshold.
+ */
+public final class InFlightInvocation {
+
+    private volatile Method method;
+    private volatile long startNanos;
+    private volatile Map<String, Long> samples;
+
+    void start(Method method, long startNanos) {
+        this.samples = null;
+        this.startNanos = startNanos;
+        this.method = method;
+    }
+
+    /***
+     * Ends the invocation and returns its hottest frames.
+     *
+     * @param limit maximum number of frames returned.
+     * @return hot frames, most sampled first, or {@code null} when the invocation was never sampled.
+     */
+    List<HotFrame> finish(int limit) {
+        Map<String, Long> sampled = samples;
+        method = null;
+        samples = null;
+        if (sampled == null) {
+            return null;
+        }
+        List<HotFrame> frames = new ArrayList<>(sampled.size());
+        sampled.forEach((frame, count) -> frames.add(new HotFrame(frame, count)));
+        frames.sort(Comparator.comparingLong(HotFrame::samples).reversed());
+        return frames.size() > limit ? List.copyOf(frames.subList(0, limit)) : List.copyOf(frames);
+    }
+
+    /***
+     * Adds a sample when the invocation observed by the sampler is still running.
+     *
+     * @param expectedStart start time read before the stack was taken.
+     * @param frame frame found on top of the stack.
+     */
+    void sample(long expectedStart, String frame) {
+        if (method == null || startNanos != expectedStart) {
+            return;
+        }
+        Map<String, Long> sampled = samples;
+        if (sampled == null) {
+            sampled = new ConcurrentHashMap<>();
+            samples = sampled;
+        }
+        sampled.merge(frame, 1L, Long::sum);
+    }
+
+    /***
+     * Returns running method.
+     *
+     * @return method, or {@code null} when the slot is free.
+     */
+    Method method() {
+        return method;
+    }
+
+    /***
+     * Returns start time.
+     *
+     * @return {@link System#nanoTime()} at the start of the invocation.
+     */
+    long startNanos() {
+        return startNanos;
+    }
+}
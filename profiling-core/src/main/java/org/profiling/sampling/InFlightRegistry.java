@@ -0,0 +1,124 @@
+package org.profiling.sampling;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/***
+ * Lock-free registry of profiled invocations in flight. Every thread registers once; afterwards
+ * entering and leaving an invocation only touches the thread's own preallocated slots. Invocations
+ * nested deeper than {@link #MAX_DEPTH} profiled calls are not registered.
+ */
+public class InFlightRegistry {
+
+    /***
+     * Maximum number of nested profiled invocations tracked per thread.
+     */
+    public static final int MAX_DEPTH = 16;
+
+    private final Queue<ThreadInvocations> threads = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadInvocations> current = ThreadLocal.withInitial(() -> {
+        ThreadInvocations invocations = new ThreadInvocations(Thread.currentThread());
+        threads.add(invocations);
+        return invocations;
+    });
+
+    /***
+     * Registers an invocation starting on the current thread.
+     *
+     * @param method profiled method.
+     * @return registered invocation, or {@code null} when nested too deep.
+     */
+    public InFlightInvocation enter(Method method) {
+        ThreadInvocations invocations = current.get();
+        int depth = invocations.depth++;
+        if (depth >= MAX_DEPTH) {
+            return null;
+        }
+        InFlightInvocation invocation = invocations.stack[depth];
+        invocation.start(method, System.nanoTime());
+        invocations.published = depth + 1;
+        return invocation;
+    }
+
+    /***
+     * Unregisters the innermost invocation of the current thread.
+     *
+     * @param invocation value returned by {@link #enter(Method)}.
+     * @param hotFrameLimit maximum number of hot frames returned.
+     * @return hot frames sampled while the invocation ran, or {@code null} when it was never sampled.
+     */
+    public List<HotFrame> exit(InFlightInvocation invocation, int hotFrameLimit) {
+        ThreadInvocations invocations = current.get();
+        int depth = --invocations.depth;
+        if (invocation == null) {
+            return null;
+        }
+        invocations.published = depth;
+        return invocation.finish(hotFrameLimit);
+    }
+
+    /***
+     * Lists invocations running longer than a threshold, longest first.
+     *
+     * @param thresholdNanos minimum running time.
+     * @return in-flight invocations.
+     */
+    public List<InFlightSnapshot> longRunning(long thresholdNanos) {
+        long now = System.nanoTime();
+        List<InFlightSnapshot> result = new ArrayList<>();
+        forEachThread((thread, invocations, depth) -> {
+            for (int i = 0; i < depth; i++) {
+                InFlightInvocation invocation = invocations[i];
+                Method method = invocation.method();
+                long elapsed = now - invocation.startNanos();
+                if (method != null && elapsed >= thresholdNanos) {
+                    result.add(new InFlightSnapshot(thread.getName(),
+                            method.getDeclaringClass().getName() + "." + method.getName(), elapsed));
+                }
+            }
+        });
+        result.sort(Comparator.comparingLong(InFlightSnapshot::elapsedNanos).reversed());
+        return result;
+    }
+
+    /***
+     * Visits threads with at least one invocation in flight and forgets threads that terminated.
+     */
+    void forEachThread(ThreadVisitor visitor) {
+        for (Iterator<ThreadInvocations> it = threads.iterator(); it.hasNext(); ) {
+            ThreadInvocations invocations = it.next();
+            if (!invocations.thread.isAlive()) {
+                it.remove();
+                continue;
+            }
+            int depth = invocations.published;
+            if (depth > 0) {
+                visitor.visit(invocations.thread, invocations.stack, depth);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface ThreadVisitor {
+        void visit(Thread thread, InFlightInvocation[] invocations, int depth);
+    }
+
+    private static final class ThreadInvocations {
+        private final Thread thread;
+        private final InFlightInvocation[] stack = new InFlightInvocation[MAX_DEPTH];
+        private int depth;
+        private volatile int published;
+
+        private ThreadInvocations(Thread thread) {
+            this.thread = thread;
+            for (int i = 0; i < MAX_DEPTH; i++) {
+                stack[i] = new InFlightInvocation();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.profiling.sampling;
+
+/***
+ * Point-in-time view of a long-running profiled invocation.
+ *
+ * @param thread name of the thread running the invocation.
+ * @param method fully qualified method name.
+ * @param elapsedNanos time since the invocation started.
+ */
+public record InFlightSnapshot(String thread, String method, long elapsedNanos) {
+}
@@ -0,0 +1,209 @@
+package org.profiling.sampling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Samples stacks of threads that have been inside a profiled invocation for longer than a threshold.
+ * Every tick takes the stacks of all such threads at once, up to {@link #STACK_DEPTH} frames, and counts
+ * a frame against each of their invocations running past the threshold: the deepest application frame
+ * inside the invocation's call tree, so time spent in JDK code is charged to the application code that
+ * called it. Threads in short invocations are never touched, so the cost is bounded by the sampling rate
+ * and the number of long-running invocations.
+ */
+public class StackSampler implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    /***
+     * Maximum number of frames taken per sampled thread.
+     */
+    static final int STACK_DEPTH = 64;
+
+    private static final String[] JDK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    private final InFlightRegistry registry;
+    private final long thresholdNanos;
+    private final int hotFrameLimit;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler;
+
+    /***
+     * Creates sampler and starts sampling.
+     *
+     * @param registry registry of invocations in flight.
+     * @param interval sampling interval.
+     * @param threshold minimum running time before an invocation is sampled.
+     * @param hotFrameLimit maximum number of hot frames attached to a record.
+     */
+    public StackSampler(InFlightRegistry registry, Duration interval, Duration threshold, int hotFrameLimit) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Sampling interval must be positive, got " + interval);
+        }
+        this.registry = registry;
+        this.thresholdNanos = threshold.toNanos();
+        this.hotFrameLimit = hotFrameLimit;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "profiling-stack-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::sample, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /***
+     * Registers an invocation starting on the current thread.
+     *
+     * @param method profiled method.
+     * @return registered invocation, to be passed to {@link #exit(InFlightInvocation)}.
+     */
+    public InFlightInvocation enter(Method method) {
+        return registry.enter(method);
+    }
+
+    /***
+     * Unregisters an invocation of the current thread.
+     *
+     * @param invocation value returned by {@link #enter(Method)}.
+     * @return hottest frames sampled while the invocation ran, or {@code null} when it was never sampled.
+     */
+    public List<HotFrame> exit(InFlightInvocation invocation) {
+        return registry.exit(invocation, hotFrameLimit);
+    }
+
+    /***
+     * Lists invocations running longer than the sampling threshold.
+     *
+     * @return long-running invocations, longest first.
+     */
+    public List<InFlightSnapshot> longRunning() {
+        return registry.longRunning(thresholdNanos);
+    }
+
+    /***
+     * Takes one round of samples.
+     */
+    public void sample() {
+        try {
+            long now = System.nanoTime();
+            List<Thread> sampledThreads = new ArrayList<>();
+            List<InFlightInvocation[]> sampledInvocations = new ArrayList<>();
+            List<long[]> sampledStarts = new ArrayList<>();
+            List<boolean[]> sampledDue = new ArrayList<>();
+            registry.forEachThread((thread, invocations, depth) -> {
+                long[] starts = null;
+                boolean[] due = null;
+                for (int i = 0; i < depth; i++) {
+                    InFlightInvocation invocation = invocations[i];
+                    long start = invocation.startNanos();
+                    if (invocation.method() != null && now - start >= thresholdNanos) {
+                        if (starts == null) {
+                            starts = new long[depth];
+                            due = new boolean[depth];
+                        }
+                        starts[i] = start;
+                        due[i] = true;
+                    }
+                }
+                if (starts != null) {
+                    sampledThreads.add(thread);
+                    sampledInvocations.add(invocations);
+                    sampledStarts.add(starts);
+                    sampledDue.add(due);
+                }
+            });
+            if (sampledThreads.isEmpty()) {
+                return;
+            }
+
+            long[] ids = new long[sampledThreads.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = sampledThreads.get(i).getId();
+            }
+            ThreadInfo[] infos = threads.getThreadInfo(ids, STACK_DEPTH);
+            for (int i = 0; i < infos.length; i++) {
+                StackTraceElement[] stack = infos[i] != null ? infos[i].getStackTrace() : null;
+                if (stack == null || stack.length == 0) {
+                    continue;
+                }
+                int application = applicationFrame(stack);
+                InFlightInvocation[] invocations = sampledInvocations.get(i);
+                long[] starts = sampledStarts.get(i);
+                boolean[] due = sampledDue.get(i);
+                for (int j = 0; j < starts.length; j++) {
+                    Method method = invocations[j].method();
+                    if (due[j] && method != null) {
+                        int frame = application >= 0 && application <= invokedFrame(stack, method) ? application : 0;
+                        invocations[j].sample(starts[j], format(stack[frame]));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error sampling profiled invocations", e);
+        }
+    }
+
+    /***
+     * Stops sampling.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /***
+     * Finds the deepest frame outside the JDK.
+     *
+     * @return frame index, or {@code -1} when all frames taken belong to the JDK.
+     */
+    private static int applicationFrame(StackTraceElement[] stack) {
+        for (int i = 0; i < stack.length; i++) {
+            if (!isJdk(stack[i].getClassName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /***
+     * Finds the frame of a profiled method. When it lies beyond {@link #STACK_DEPTH}, every frame taken is
+     * inside its call tree.
+     *
+     * @return frame index, or the last index when the frame was not taken.
+     */
+    private static int invokedFrame(StackTraceElement[] stack, Method method) {
+        String className = method.getDeclaringClass().getName();
+        for (int i = 0; i < stack.length; i++) {
+            if (stack[i].getMethodName().equals(method.getName()) && stack[i].getClassName().equals(className)) {
+                return i;
+            }
+        }
+        return stack.length - 1;
+    }
+
+    private static boolean isJdk(String className) {
+        for (String prefix : JDK_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String format(StackTraceElement element) {
+        return element.getClassName() + "." + element.getMethodName()
+                + "(" + element.getFileName() + ":" + element.getLineNumber() + ")";
+    }
+}
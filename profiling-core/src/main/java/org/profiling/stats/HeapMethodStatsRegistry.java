@@ -0,0 +1,89 @@
+package org.profiling.stats;
+
+import org.profiling.contention.ContentionSplit;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/***
+ * {@link MethodStatsRegistry} that keeps one {@link MethodStats} per method on the heap and grows with
+ * the number of profiled methods.
+ */
+public class HeapMethodStatsRegistry implements MethodStatsRegistry {
+
+    private final ConcurrentMap<Method, MethodStats> stats = new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+
+    /***
+     * Records a single invocation.
+     *
+     * @param method profiled method.
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    @Override
+    public void record(Method method, long nanos, boolean failed) {
+        MethodStats methodStats = stats.get(method);
+        if (methodStats == null) {
+            methodStats = stats.computeIfAbsent(method,
+                    m -> new MethodStats(m.getDeclaringClass().getName() + "." + m.getName()));
+        }
+        methodStats.record(nanos, failed);
+    }
+
+    /***
+     * Records how long an invocation waited in an executor queue before it started.
+     *
+     * @param method profiled method.
+     * @param nanos time-in-queue in nanoseconds.
+     */
+    @Override
+    public void recordQueueWait(Method method, long nanos) {
+        MethodStats methodStats = stats.get(method);
+        if (methodStats == null) {
+            methodStats = stats.computeIfAbsent(method,
+                    m -> new MethodStats(m.getDeclaringClass().getName() + "." + m.getName()));
+        }
+        methodStats.recordQueueWait(nanos);
+    }
+
+    /***
+     * Records where an invocation spent its wall time.
+     *
+     * @param method profiled method.
+     * @param split wall time split of the invocation.
+     */
+    @Override
+    public void recordContention(Method method, ContentionSplit split) {
+        MethodStats methodStats = stats.get(method);
+        if (methodStats == null) {
+            methodStats = stats.computeIfAbsent(method,
+                    m -> new MethodStats(m.getDeclaringClass().getName() + "." + m.getName()));
+        }
+        methodStats.recordContention(split);
+    }
+
+    /***
+     * Returns live statistics of all methods.
+     *
+     * @return unmodifiable view of method statistics.
+     */
+    @Override
+    public Collection<MethodStats> getMethods() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    /***
+     * Returns when aggregation started.
+     *
+     * @return creation time of this registry.
+     */
+    @Override
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+}
@@ -0,0 +1,219 @@
+package org.profiling.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Lock-free log-linear histogram of durations in nanoseconds. Every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so a reported percentile is never more than ~3% above the true value,
+ * whatever the magnitude. Memory use is fixed regardless of how many values are recorded.
+ */
+public class LatencyHistogram {
+
+    /***
+     * Number of buckets per power of two.
+     */
+    public static final int SUB_BUCKETS = 32;
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final int offset;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final boolean readOnly;
+
+    /***
+     * Creates empty histogram covering all durations.
+     */
+    public LatencyHistogram() {
+        this.offset = 0;
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.readOnly = false;
+    }
+
+    private LatencyHistogram(int offset, long[] counts) {
+        this.offset = offset;
+        this.counts = new AtomicLongArray(counts);
+        this.readOnly = true;
+        for (long bucketCount : counts) {
+            count.add(bucketCount);
+        }
+    }
+
+    /***
+     * Creates read-only histogram holding only buckets {@code [offset, offset + counts.length)}, for stores that
+     * keep their buckets elsewhere and copy just the occupied range out.
+     *
+     * @param offset index of the first bucket.
+     * @param counts bucket counts starting at {@code offset}.
+     * @return compact histogram.
+     */
+    static LatencyHistogram compact(int offset, long[] counts) {
+        return new LatencyHistogram(offset, counts);
+    }
+
+    /***
+     * Records a duration. Negative values are recorded as zero.
+     *
+     * @param nanos duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        checkWritable();
+        counts.incrementAndGet(index(Math.max(0, nanos)));
+        count.increment();
+    }
+
+    /***
+     * Adds all values recorded by another histogram.
+     *
+     * @param other histogram to merge into this one.
+     */
+    public void add(LatencyHistogram other) {
+        checkWritable();
+        for (int i = 0, size = other.counts.length(); i < size; i++) {
+            long bucketCount = other.counts.get(i);
+            if (bucketCount != 0) {
+                counts.addAndGet(other.offset + i, bucketCount);
+                count.add(bucketCount);
+            }
+        }
+    }
+
+    /***
+     * Returns number of recorded values.
+     *
+     * @return value count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /***
+     * Returns the highest value equivalent to the given percentile.
+     *
+     * @param percentile percentile between {@code 0} and {@code 100}.
+     * @return duration in nanoseconds, {@code 0} when nothing was recorded.
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(offset + i);
+            }
+        }
+        return highestEquivalentValue(offset + snapshot.length - 1);
+    }
+
+    /***
+     * Returns number of recorded values above the bucket that contains {@code value}.
+     *
+     * @param value threshold in nanoseconds.
+     * @return count of values certainly greater than the threshold.
+     */
+    public long countAbove(long value) {
+        long above = 0;
+        for (int i = Math.max(0, index(Math.max(0, value)) + 1 - offset), size = counts.length(); i < size; i++) {
+            above += counts.get(i);
+        }
+        return above;
+    }
+
+    /***
+     * Visits every non-empty bucket in ascending order. Buckets are read one at a time, so recording
+     * continues undisturbed while the histogram is visited.
+     *
+     * @param consumer receives bucket index and count.
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0, size = counts.length(); i < size; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount != 0) {
+                consumer.accept(offset + i, bucketCount);
+            }
+        }
+    }
+
+    /***
+     * Adds values to a bucket, e.g. when restoring a histogram visited with {@link #forEachBucket(BucketConsumer)}.
+     *
+     * @param index bucket index.
+     * @param bucketCount number of values.
+     */
+    public void recordBucket(int index, long bucketCount) {
+        checkWritable();
+        if (index < 0 || index >= BUCKETS) {
+            throw new IllegalArgumentException("Bucket index out of range: " + index);
+        }
+        counts.addAndGet(index, bucketCount);
+        count.add(bucketCount);
+    }
+
+    /***
+     * Returns copy of this histogram.
+     *
+     * @return independent histogram with the same values.
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Compact histograms are read-only");
+        }
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+
+    /***
+     * Receives non-empty buckets of a histogram.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+        /***
+         * Accepts a bucket.
+         *
+         * @param index bucket index.
+         * @param count number of values in the bucket.
+         */
+        void accept(int index, long count);
+    }
+}
@@ -0,0 +1,177 @@
+package org.profiling.stats;
+
+import org.profiling.contention.ContentionSplit;
+import org.profiling.contention.ContentionTotals;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Lock-free aggregate of all invocations of a single profiled method.
+ */
+public class MethodStats {
+
+    private final String method;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram latency;
+    private final LatencyHistogram queueWait;
+    private final LongAdder contentionCount = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+    private final LongAdder waitedCount = new LongAdder();
+    private final LongAdder otherNanos = new LongAdder();
+
+    /***
+     * Creates empty statistics for a method.
+     *
+     * @param method fully qualified method name.
+     */
+    public MethodStats(String method) {
+        this.method = method;
+        this.latency = new LatencyHistogram();
+        this.queueWait = new LatencyHistogram();
+    }
+
+    /***
+     * Creates statistics holding totals read from another store.
+     */
+    MethodStats(String method, long count, long errors, long totalNanos, long maxNanos,
+                LatencyHistogram latency, LatencyHistogram queueWait) {
+        this.method = method;
+        this.count.add(count);
+        this.errors.add(errors);
+        this.totalNanos.add(totalNanos);
+        this.maxNanos.accumulate(maxNanos);
+        this.latency = latency;
+        this.queueWait = queueWait;
+    }
+
+    /***
+     * Records a single invocation.
+     *
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    public void record(long nanos, boolean failed) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        latency.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /***
+     * Records how long an invocation dispatched through an executor waited in its queue.
+     *
+     * @param nanos time-in-queue in nanoseconds.
+     */
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    /***
+     * Records where an invocation spent its wall time.
+     *
+     * @param split wall time split of the invocation.
+     */
+    public void recordContention(ContentionSplit split) {
+        addContention(1, split.cpuNanos(), split.blockedNanos(), split.blockedCount(), split.waitedNanos(),
+                split.waitedCount(), split.otherNanos());
+    }
+
+    void addContention(long count, long cpu, long blocked, long blocks, long waited, long waits, long other) {
+        contentionCount.add(count);
+        cpuNanos.add(cpu);
+        blockedNanos.add(blocked);
+        blockedCount.add(blocks);
+        waitedNanos.add(waited);
+        waitedCount.add(waits);
+        otherNanos.add(other);
+    }
+
+    /***
+     * Returns fully qualified method name.
+     *
+     * @return method name.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /***
+     * Returns number of invocations.
+     *
+     * @return invocation count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /***
+     * Returns number of failed invocations.
+     *
+     * @return error count.
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /***
+     * Returns accumulated execution time.
+     *
+     * @return total nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /***
+     * Returns slowest execution time.
+     *
+     * @return maximum nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /***
+     * Returns live latency distribution. Callers must not record into it.
+     *
+     * @return latency histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /***
+     * Returns accumulated wall time split of invocations measured for contention.
+     *
+     * @return totals, or {@code null} when no invocation was measured.
+     */
+    public ContentionTotals getContention() {
+        long count = contentionCount.sum();
+        if (count == 0) {
+            return null;
+        }
+        return new ContentionTotals(count, cpuNanos.sum(), blockedNanos.sum(), blockedCount.sum(),
+                waitedNanos.sum(), waitedCount.sum(), otherNanos.sum());
+    }
+
+    /***
+     * Builds a point-in-time snapshot.
+     *
+     * @return current totals.
+     */
+    public MethodStatsSnapshot snapshot() {
+        return new MethodStatsSnapshot(method, count.sum(), errors.sum(), totalNanos.sum(), maxNanos.get(),
+                latency.valueAtPercentile(50), latency.valueAtPercentile(99),
+                queueWait.getCount(), queueWait.valueAtPercentile(99), getContention());
+    }
+}
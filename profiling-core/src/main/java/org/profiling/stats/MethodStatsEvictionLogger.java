@@ -0,0 +1,41 @@
+package org.profiling.stats;
+
+import org.profiling.exemplar.SlowInvocationReservoir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+
+/***
+ * Flushes methods evicted from an {@link OffHeapMethodStatsRegistry} to the log, so their totals are
+ * not lost, and drops their slow invocations.
+ */
+public class MethodStatsEvictionLogger implements OffHeapMethodStatsRegistry.EvictionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final SlowInvocationReservoir slowInvocations;
+
+    /***
+     * Creates listener.
+     *
+     * @param slowInvocations reservoir whose invocations of evicted methods are dropped, or {@code null}.
+     */
+    public MethodStatsEvictionLogger(SlowInvocationReservoir slowInvocations) {
+        this.slowInvocations = slowInvocations;
+    }
+
+    /***
+     * Logs totals of an evicted method.
+     *
+     * @param method evicted method.
+     * @param stats totals accumulated while the method held its slot.
+     */
+    @Override
+    public void evicted(Method method, MethodStats stats) {
+        if (slowInvocations != null) {
+            slowInvocations.remove(method);
+        }
+        logger.info("Evicted statistics of cold method: {}", stats.snapshot());
+    }
+}
@@ -0,0 +1,71 @@
+package org.profiling.stats;
+
+import org.profiling.contention.ContentionSplit;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/***
+ * Per-method aggregation of profiled invocations. Always cheap enough to run on every call,
+ * so it keeps working when detailed records are sampled or switched off.
+ *
+ * @see HeapMethodStatsRegistry
+ * @see OffHeapMethodStatsRegistry
+ */
+public interface MethodStatsRegistry {
+
+    /***
+     * Records a single invocation.
+     *
+     * @param method profiled method.
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    void record(Method method, long nanos, boolean failed);
+
+    /***
+     * Records how long an invocation waited in an executor queue before it started.
+     *
+     * @param method profiled method.
+     * @param nanos time-in-queue in nanoseconds.
+     */
+    void recordQueueWait(Method method, long nanos);
+
+    /***
+     * Records where an invocation spent its wall time.
+     *
+     * @param method profiled method.
+     * @param split wall time split of the invocation.
+     */
+    void recordContention(Method method, ContentionSplit split);
+
+    /***
+     * Returns statistics of all methods. Implementations may copy each element when it is reached,
+     * so callers should iterate once instead of holding on to the elements.
+     *
+     * @return view of method statistics.
+     */
+    Collection<MethodStats> getMethods();
+
+    /***
+     * Returns when aggregation started.
+     *
+     * @return creation time of this registry.
+     */
+    Instant getStartedAt();
+
+    /***
+     * Builds snapshots of all methods ordered by accumulated time, slowest first.
+     *
+     * @return method snapshots.
+     */
+    default List<MethodStatsSnapshot> snapshot() {
+        return getMethods().stream()
+                .map(MethodStats::snapshot)
+                .sorted(Comparator.comparingLong(MethodStatsSnapshot::totalNanos).reversed())
+                .toList();
+    }
+}
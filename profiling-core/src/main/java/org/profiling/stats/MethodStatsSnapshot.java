@@ -0,0 +1,31 @@
+package org.profiling.stats;
+
+import org.profiling.contention.ContentionTotals;
+
+/***
+ * Point-in-time totals for a single profiled method.
+ *
+ * @param method fully qualified method name.
+ * @param count number of invocations.
+ * @param errors number of invocations that threw an exception.
+ * @param totalNanos accumulated execution time in nanoseconds.
+ * @param maxNanos longest execution time in nanoseconds.
+ * @param p50Nanos median execution time in nanoseconds.
+ * @param p99Nanos 99th percentile execution time in nanoseconds.
+ * @param queuedCount number of invocations dispatched through a timed executor.
+ * @param p99QueueWaitNanos 99th percentile time-in-queue of those invocations in nanoseconds.
+ * @param contention wall time split of invocations measured for contention, {@code null} when none were.
+ */
+public record MethodStatsSnapshot(String method, long count, long errors, long totalNanos, long maxNanos,
+                                  long p50Nanos, long p99Nanos, long queuedCount, long p99QueueWaitNanos,
+                                  ContentionTotals contention) {
+
+    /***
+     * Returns average execution time.
+     *
+     * @return average nanoseconds or {@code 0} when there were no invocations.
+     */
+    public long avgNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+}
@@ -0,0 +1,401 @@
+package org.profiling.stats;
+
+import org.profiling.contention.ContentionSplit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * {@link MethodStatsRegistry} that keeps counters and histograms in a fixed-size direct buffer, so its
+ * memory is set up front and aggregation state is invisible to the garbage collector however many
+ * methods are profiled. Each method owns one slot of {@link #SLOT_BYTES} bytes, found through a
+ * primitive open-addressing index keyed by method hash code and updated with atomic buffer operations.
+ * Apart from the arena, only the methods currently holding a slot are referenced.
+ *
+ * <p>When every slot is taken, a new method evicts a cold one: slots are marked on use and a CLOCK
+ * hand evicts the first slot not used since it last passed. The evicted totals are handed to an
+ * {@link EvictionListener} before the slot is reused. Latencies above ~36 minutes are recorded in
+ * the highest bucket. Methods read back from the arena carry compact, read-only histograms that hold only
+ * their occupied bucket range.
+ */
+public class OffHeapMethodStatsRegistry implements MethodStatsRegistry {
+
+    private static final int BUCKETS = LatencyHistogram.index(1L << 41);
+
+    private static final long LIVE = 1L;
+
+    private static final int KEY = 0;
+    private static final int WRITERS = 8;
+    private static final int REFERENCED = 16;
+    private static final int COUNT = 24;
+    private static final int ERRORS = 32;
+    private static final int TOTAL_NANOS = 40;
+    private static final int MAX_NANOS = 48;
+    private static final int LATENCY = 56;
+    private static final int QUEUE_WAIT = LATENCY + BUCKETS * 8;
+    private static final int CONTENTION_COUNT = QUEUE_WAIT + BUCKETS * 8;
+    private static final int CPU_NANOS = CONTENTION_COUNT + 8;
+    private static final int BLOCKED_NANOS = CPU_NANOS + 8;
+    private static final int BLOCKED_COUNT = BLOCKED_NANOS + 8;
+    private static final int WAITED_NANOS = BLOCKED_COUNT + 8;
+    private static final int WAITED_COUNT = WAITED_NANOS + 8;
+    private static final int OTHER_NANOS = WAITED_COUNT + 8;
+
+    /***
+     * Size of the state of one method in bytes.
+     */
+    public static final int SLOT_BYTES = OTHER_NANOS + 8;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer arena;
+    private final int slots;
+    private final Method[] owners;
+    private final SlotIndex index;
+    private final LongAdder evictions = new LongAdder();
+    private final EvictionListener listener;
+    private final Instant startedAt = Instant.now();
+    private volatile int used;
+    private int hand;
+
+    /***
+     * Allocates the arena.
+     *
+     * @param maxBytes memory cap of the arena; at least {@link #SLOT_BYTES}.
+     * @param listener receives totals of evicted methods, or {@code null} to drop them.
+     */
+    public OffHeapMethodStatsRegistry(long maxBytes, EvictionListener listener) {
+        long slotCount = Math.min(maxBytes, Integer.MAX_VALUE - 8) / SLOT_BYTES;
+        if (slotCount < 1) {
+            throw new IllegalArgumentException("Memory cap must hold at least one method (" + SLOT_BYTES
+                    + " bytes), got " + maxBytes);
+        }
+        this.slots = (int) slotCount;
+        this.arena = ByteBuffer.allocateDirect(slots * SLOT_BYTES + 8).alignedSlice(8)
+                .order(ByteOrder.nativeOrder());
+        this.owners = new Method[slots];
+        this.index = new SlotIndex(owners);
+        this.listener = listener;
+    }
+
+    /***
+     * Records a single invocation. Lock-free unless the method has no slot yet.
+     *
+     * @param method profiled method.
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    @Override
+    public void record(Method method, long nanos, boolean failed) {
+        int base = acquire(method);
+        try {
+            LONGS.getAndAdd(arena, base + COUNT, 1L);
+            LONGS.getAndAdd(arena, base + TOTAL_NANOS, nanos);
+            if (failed) {
+                LONGS.getAndAdd(arena, base + ERRORS, 1L);
+            }
+            long max = (long) LONGS.getVolatile(arena, base + MAX_NANOS);
+            while (nanos > max && !LONGS.weakCompareAndSet(arena, base + MAX_NANOS, max, nanos)) {
+                max = (long) LONGS.getVolatile(arena, base + MAX_NANOS);
+            }
+            LONGS.getAndAdd(arena, base + LATENCY + bucket(nanos) * 8, 1L);
+        } finally {
+            release(base);
+        }
+    }
+
+    /***
+     * Records how long an invocation waited in an executor queue before it started.
+     *
+     * @param method profiled method.
+     * @param nanos time-in-queue in nanoseconds.
+     */
+    @Override
+    public void recordQueueWait(Method method, long nanos) {
+        int base = acquire(method);
+        try {
+            LONGS.getAndAdd(arena, base + QUEUE_WAIT + bucket(nanos) * 8, 1L);
+        } finally {
+            release(base);
+        }
+    }
+
+    /***
+     * Records where an invocation spent its wall time.
+     *
+     * @param method profiled method.
+     * @param split wall time split of the invocation.
+     */
+    @Override
+    public void recordContention(Method method, ContentionSplit split) {
+        int base = acquire(method);
+        try {
+            LONGS.getAndAdd(arena, base + CONTENTION_COUNT, 1L);
+            LONGS.getAndAdd(arena, base + CPU_NANOS, split.cpuNanos());
+            LONGS.getAndAdd(arena, base + BLOCKED_NANOS, split.blockedNanos());
+            LONGS.getAndAdd(arena, base + BLOCKED_COUNT, split.blockedCount());
+            LONGS.getAndAdd(arena, base + WAITED_NANOS, split.waitedNanos());
+            LONGS.getAndAdd(arena, base + WAITED_COUNT, split.waitedCount());
+            LONGS.getAndAdd(arena, base + OTHER_NANOS, split.otherNanos());
+        } finally {
+            release(base);
+        }
+    }
+
+    /***
+     * Returns statistics of all methods holding a slot. Each element is copied from the arena when the
+     * iterator reaches it, so the whole store is never copied at once.
+     *
+     * @return view of method statistics.
+     */
+    @Override
+    public Collection<MethodStats> getMethods() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<MethodStats> iterator() {
+                return new SlotIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (int slot = 0, end = used; slot < end; slot++) {
+                    if ((long) LONGS.getVolatile(arena, slot * SLOT_BYTES + KEY) != 0) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    /***
+     * Returns when aggregation started.
+     *
+     * @return creation time of this registry.
+     */
+    @Override
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /***
+     * Returns number of methods the arena can hold.
+     *
+     * @return slot count.
+     */
+    public int getCapacity() {
+        return slots;
+    }
+
+    /***
+     * Returns number of methods evicted to make room for others.
+     *
+     * @return eviction count.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /***
+     * Takes a slot for an update, allocating it when the method has none. The slot's writer count keeps
+     * it from being evicted until {@link #release(int)}.
+     *
+     * @return byte offset of the slot.
+     */
+    private int acquire(Method method) {
+        while (true) {
+            int slot = index.get(method);
+            if (slot < 0) {
+                slot = allocate(method);
+            }
+            int base = slot * SLOT_BYTES;
+            LONGS.getAndAdd(arena, base + WRITERS, 1L);
+            if ((long) LONGS.getVolatile(arena, base + KEY) == LIVE && method.equals(owners[slot])) {
+                if ((long) LONGS.getOpaque(arena, base + REFERENCED) == 0) {
+                    LONGS.setOpaque(arena, base + REFERENCED, 1L);
+                }
+                return base;
+            }
+            LONGS.getAndAdd(arena, base + WRITERS, -1L);
+        }
+    }
+
+    private void release(int base) {
+        LONGS.getAndAdd(arena, base + WRITERS, -1L);
+    }
+
+    private int allocate(Method method) {
+        Method evicted = null;
+        MethodStats evictedStats = null;
+        int slot;
+        synchronized (this) {
+            slot = index.get(method);
+            if (slot >= 0) {
+                return slot;
+            }
+            if (used < slots) {
+                slot = used;
+            } else {
+                slot = coldSlot();
+                evicted = owners[slot];
+                evictedStats = evict(slot);
+            }
+            int base = slot * SLOT_BYTES;
+            owners[slot] = method;
+            LONGS.setOpaque(arena, base + REFERENCED, 1L);
+            LONGS.setVolatile(arena, base + KEY, LIVE);
+            index.put(method.hashCode(), slot);
+            if (slot == used) {
+                used = slot + 1;
+            }
+        }
+        if (evictedStats != null) {
+            evictions.increment();
+            if (listener != null) {
+                listener.evicted(evicted, evictedStats);
+            }
+        }
+        return slot;
+    }
+
+    /***
+     * Advances the CLOCK hand to the first slot not used since the hand last passed it.
+     */
+    private int coldSlot() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % slots;
+            int base = slot * SLOT_BYTES;
+            if ((long) LONGS.getOpaque(arena, base + REFERENCED) == 0) {
+                return slot;
+            }
+            LONGS.setOpaque(arena, base + REFERENCED, 0L);
+        }
+    }
+
+    /***
+     * Unpublishes a slot, waits for in-flight updates and clears it.
+     *
+     * @return totals of the evicted method.
+     */
+    private MethodStats evict(int slot) {
+        int base = slot * SLOT_BYTES;
+        LONGS.setVolatile(arena, base + KEY, 0L);
+        index.remove(owners[slot].hashCode(), slot);
+        while ((long) LONGS.getVolatile(arena, base + WRITERS) != 0) {
+            Thread.onSpinWait();
+        }
+        MethodStats stats = read(slot, owners[slot]);
+        for (int offset = REFERENCED; offset < SLOT_BYTES; offset += 8) {
+            LONGS.set(arena, base + offset, 0L);
+        }
+        return stats;
+    }
+
+    private MethodStats read(int slot, Method method) {
+        int base = slot * SLOT_BYTES;
+        LatencyHistogram latency = readHistogram(base + LATENCY);
+        LatencyHistogram queueWait = readHistogram(base + QUEUE_WAIT);
+        MethodStats stats = new MethodStats(method.getDeclaringClass().getName() + "." + method.getName(),
+                (long) LONGS.getOpaque(arena, base + COUNT), (long) LONGS.getOpaque(arena, base + ERRORS),
+                (long) LONGS.getOpaque(arena, base + TOTAL_NANOS), (long) LONGS.getOpaque(arena, base + MAX_NANOS),
+                latency, queueWait);
+        stats.addContention((long) LONGS.getOpaque(arena, base + CONTENTION_COUNT),
+                (long) LONGS.getOpaque(arena, base + CPU_NANOS), (long) LONGS.getOpaque(arena, base + BLOCKED_NANOS),
+                (long) LONGS.getOpaque(arena, base + BLOCKED_COUNT), (long) LONGS.getOpaque(arena, base + WAITED_NANOS),
+                (long) LONGS.getOpaque(arena, base + WAITED_COUNT), (long) LONGS.getOpaque(arena, base + OTHER_NANOS));
+        return stats;
+    }
+
+    /***
+     * Copies the buckets between the first and last occupied one, usually a few dozen instead of all
+     * {@link #BUCKETS}.
+     */
+    private LatencyHistogram readHistogram(int offset) {
+        int first = 0;
+        while (first < BUCKETS && (long) LONGS.getOpaque(arena, offset + first * 8) == 0) {
+            first++;
+        }
+        int last = BUCKETS - 1;
+        while (last >= first && (long) LONGS.getOpaque(arena, offset + last * 8) == 0) {
+            last--;
+        }
+        long[] buckets = new long[last - first + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = (long) LONGS.getOpaque(arena, offset + (first + i) * 8);
+        }
+        return LatencyHistogram.compact(first, buckets);
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(LatencyHistogram.index(Math.max(0, nanos)), BUCKETS - 1);
+    }
+
+    /***
+     * Copies live slots one at a time, skipping free and evicted ones.
+     */
+    private final class SlotIterator implements Iterator<MethodStats> {
+        private final int end = used;
+        private int slot;
+        private MethodStats next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && slot < end) {
+                next = copy(slot++);
+            }
+            return next != null;
+        }
+
+        @Override
+        public MethodStats next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            MethodStats result = next;
+            next = null;
+            return result;
+        }
+
+        private MethodStats copy(int slot) {
+            int base = slot * SLOT_BYTES;
+            if ((long) LONGS.getVolatile(arena, base + KEY) != LIVE) {
+                return null;
+            }
+            Method method = owners[slot];
+            LONGS.getAndAdd(arena, base + WRITERS, 1L);
+            try {
+                if ((long) LONGS.getVolatile(arena, base + KEY) != LIVE || owners[slot] != method) {
+                    return null;
+                }
+                return read(slot, method);
+            } finally {
+                LONGS.getAndAdd(arena, base + WRITERS, -1L);
+            }
+        }
+    }
+
+    /***
+     * Receives totals of a method evicted from the arena.
+     */
+    @FunctionalInterface
+    public interface EvictionListener {
+        /***
+         * Accepts evicted totals.
+         *
+         * @param method evicted method.
+         * @param stats totals accumulated while the method held its slot.
+         */
+        void evicted(Method method, MethodStats stats);
+    }
+}
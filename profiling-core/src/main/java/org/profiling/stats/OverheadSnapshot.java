@@ -0,0 +1,14 @@
+package org.profiling.stats;
+
+import java.util.Map;
+
+/***
+ * Point-in-time view of the profiler's own cost.
+ *
+ * @param phases totals per measured phase.
+ * @param overheadShare share of profiler time (all phases except {@link ProfilingPhase#INVOKE})
+ *                      in total observed time, between {@code 0} and {@code 1}.
+ * @param timerCostNanos calibrated cost of a single {@link System#nanoTime()} call.
+ */
+public record OverheadSnapshot(Map<ProfilingPhase, PhaseSnapshot> phases, double overheadShare, long timerCostNanos) {
+}
@@ -0,0 +1,20 @@
+package org.profiling.stats;
+
+/***
+ * Point-in-time totals for a single {@link ProfilingPhase}.
+ *
+ * @param count number of measurements.
+ * @param totalNanos accumulated time in nanoseconds.
+ * @param maxNanos longest single measurement in nanoseconds.
+ */
+public record PhaseSnapshot(long count, long totalNanos, long maxNanos) {
+
+    /***
+     * Returns average time per measurement.
+     *
+     * @return average nanoseconds or {@code 0} when nothing was measured.
+     */
+    public long avgNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+}
@@ -0,0 +1,112 @@
+package org.profiling.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Aggregates the profiler's own cost per {@link ProfilingPhase}.
+ * Updates are lock-free and safe to call from any number of threads.
+ */
+public class ProfilingOverhead {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingOverhead.class);
+    private static final int CALIBRATION_ROUNDS = 5;
+    private static final int CALIBRATION_CALLS = 20_000;
+
+    private final LongAdder[] counts = new LongAdder[ProfilingPhase.values().length];
+    private final LongAdder[] totals = new LongAdder[ProfilingPhase.values().length];
+    private final LongAccumulator[] maxima = new LongAccumulator[ProfilingPhase.values().length];
+    private volatile long timerCostNanos;
+
+    /***
+     * Creates empty overhead statistics.
+     */
+    public ProfilingOverhead() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+            totals[i] = new LongAdder();
+            maxima[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    /***
+     * Records a single measurement.
+     *
+     * @param phase measured phase.
+     * @param nanos measured time in nanoseconds.
+     */
+    public void record(ProfilingPhase phase, long nanos) {
+        int i = phase.ordinal();
+        counts[i].increment();
+        totals[i].add(nanos);
+        maxima[i].accumulate(nanos);
+    }
+
+    /***
+     * Measures the cost of {@link System#nanoTime()} on this JVM. The best of several rounds is kept
+     * so that JIT warm-up and scheduling noise don't inflate the result.
+     *
+     * @return calibrated cost of a single timer call in nanoseconds.
+     */
+    public long calibrate() {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < CALIBRATION_CALLS; i++) {
+                System.nanoTime();
+            }
+            long elapsed = System.nanoTime() - start;
+            best = Math.min(best, elapsed / CALIBRATION_CALLS);
+        }
+        timerCostNanos = best;
+        logger.info("Profiling timer calibrated: System.nanoTime() costs ~{} ns", timerCostNanos);
+        return timerCostNanos;
+    }
+
+    /***
+     * Returns calibrated timer cost.
+     *
+     * @return cost of a single {@link System#nanoTime()} call, or {@code 0} when not calibrated.
+     */
+    public long getTimerCostNanos() {
+        return timerCostNanos;
+    }
+
+    /***
+     * Returns totals for a single phase.
+     *
+     * @param phase requested phase.
+     * @return phase totals.
+     */
+    public PhaseSnapshot phase(ProfilingPhase phase) {
+        int i = phase.ordinal();
+        return new PhaseSnapshot(counts[i].sum(), totals[i].sum(), maxima[i].get());
+    }
+
+    /***
+     * Builds a snapshot of all phases.
+     *
+     * @return current overhead snapshot.
+     */
+    public OverheadSnapshot snapshot() {
+        Map<ProfilingPhase, PhaseSnapshot> phases = new EnumMap<>(ProfilingPhase.class);
+        long profiler = 0;
+        long all = 0;
+        for (ProfilingPhase phase : ProfilingPhase.values()) {
+            PhaseSnapshot snapshot = phase(phase);
+            phases.put(phase, snapshot);
+            all += snapshot.totalNanos();
+            if (phase != ProfilingPhase.INVOKE) {
+                profiler += snapshot.totalNanos();
+            }
+        }
+        double share = all == 0 ? 0.0 : (double) profiler / all;
+        return new OverheadSnapshot(Collections.unmodifiableMap(phases), share, timerCostNanos);
+    }
+}
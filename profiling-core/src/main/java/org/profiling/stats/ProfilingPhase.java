@@ -0,0 +1,31 @@
+package org.profiling.stats;
+
+/***
+ * Stages of a single profiled invocation measured by the profiler's self-instrumentation.
+ */
+public enum ProfilingPhase {
+    /***
+     * Resolving the original method and its {@link org.profiling.Profiling} annotation.
+     */
+    LOOKUP,
+
+    /***
+     * Target method execution. This is the time the application would spend anyway.
+     */
+    INVOKE,
+
+    /***
+     * Capturing caller information from the current stack.
+     */
+    CAPTURE,
+
+    /***
+     * Rendering the profiling record into its output representation.
+     */
+    RENDER,
+
+    /***
+     * Handing the rendered record to the output (logger or JFR).
+     */
+    EMIT
+}
@@ -0,0 +1,136 @@
+package org.profiling.stats;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/***
+ * Open-addressing map from method to arena slot. Every entry packs the method's hash code and slot into
+ * one {@code long}, so lookups are lock-free and never see a torn pair; methods sharing a hash code (e.g.
+ * overloads) are told apart by the slot owners. Updates are made by a single writer at a time (the owning
+ * store's lock); removed entries leave tombstones that are purged by rebuilding the table once they take
+ * up a quarter of it. The index holds no reference to evicted methods, so its size is bounded by the arena.
+ */
+final class SlotIndex {
+
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+
+    private final int capacity;
+    private final Method[] owners;
+    private volatile AtomicLongArray entries;
+    private int tombstones;
+
+    /***
+     * Creates index.
+     *
+     * @param owners method of every slot, written by the store before the slot is {@link #put(int, int) put}.
+     */
+    SlotIndex(Method[] owners) {
+        this.capacity = Integer.highestOneBit(Math.max(2, owners.length) * 2 - 1) << 1;
+        this.owners = owners;
+        this.entries = new AtomicLongArray(capacity);
+    }
+
+    /***
+     * Finds the slot of a method. Lock-free; callers re-check the owner of the returned slot once they
+     * hold it, as the slot may be evicted concurrently.
+     *
+     * @param method profiled method.
+     * @return slot, or {@code -1} when the method has no slot.
+     */
+    int get(Method method) {
+        AtomicLongArray table = entries;
+        int hash = method.hashCode();
+        int mask = capacity - 1;
+        for (int i = spread(hash) & mask, probes = 0; probes < capacity; i = (i + 1) & mask, probes++) {
+            long entry = table.get(i);
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (entry != TOMBSTONE && (int) (entry >>> 32) == hash) {
+                int slot = (int) entry - 1;
+                if (method.equals(owners[slot])) {
+                    return slot;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /***
+     * Adds an entry. Callers hold the store lock and know that the owner of {@code slot} has no other entry.
+     *
+     * @param hash hash code of the slot owner.
+     * @param slot arena slot.
+     */
+    void put(int hash, int slot) {
+        AtomicLongArray table = entries;
+        int mask = capacity - 1;
+        int i = spread(hash) & mask;
+        while (true) {
+            long entry = table.get(i);
+            if (entry == EMPTY || entry == TOMBSTONE) {
+                if (entry == TOMBSTONE) {
+                    tombstones--;
+                }
+                table.set(i, pack(hash, slot));
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /***
+     * Removes an entry. Callers hold the store lock.
+     *
+     * @param hash hash code of the slot owner.
+     * @param slot arena slot.
+     */
+    void remove(int hash, int slot) {
+        AtomicLongArray table = entries;
+        long packed = pack(hash, slot);
+        int mask = capacity - 1;
+        for (int i = spread(hash) & mask, probes = 0; probes < capacity; i = (i + 1) & mask, probes++) {
+            long entry = table.get(i);
+            if (entry == EMPTY) {
+                return;
+            }
+            if (entry == packed) {
+                table.set(i, TOMBSTONE);
+                if (++tombstones > capacity / 4) {
+                    rebuild(table);
+                }
+                return;
+            }
+        }
+    }
+
+    private void rebuild(AtomicLongArray table) {
+        AtomicLongArray rebuilt = new AtomicLongArray(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < capacity; j++) {
+            long entry = table.get(j);
+            if (entry != EMPTY && entry != TOMBSTONE) {
+                int i = spread((int) (entry >>> 32)) & mask;
+                while (rebuilt.get(i) != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                rebuilt.set(i, entry);
+            }
+        }
+        tombstones = 0;
+        entries = rebuilt;
+    }
+
+    /***
+     * Stores {@code slot + 1}, so no entry is ever {@link #EMPTY} or {@link #TOMBSTONE}.
+     */
+    private static long pack(int hash, int slot) {
+        return ((long) hash << 32) | ((slot + 1) & 0xFFFFFFFFL);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,47 @@
+package org.profiling.stats;
+
+import java.lang.management.ManagementFactory;
+
+/***
+ * Reads bytes allocated by the current thread from HotSpot's {@code com.sun.management.ThreadMXBean}.
+ */
+public final class ThreadAllocation {
+
+    private static final com.sun.management.ThreadMXBean threads = resolve();
+
+    private ThreadAllocation() {
+    }
+
+    /***
+     * Indicates whether per-thread allocation can be measured on this JVM.
+     *
+     * @return {@code true} when allocation counters are available.
+     */
+    public static boolean isSupported() {
+        return threads != null;
+    }
+
+    /***
+     * Returns bytes allocated by the current thread since it started.
+     *
+     * @return allocated bytes, or {@code -1} when unsupported.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1L;
+    }
+
+    private static com.sun.management.ThreadMXBean resolve() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                if (!bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return bean;
+            }
+        } catch (RuntimeException | LinkageError ignored) {
+            // not a HotSpot-compatible JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package org.profiling.trace;
+
+/***
+ * Time spent in a single profiled method within one request.
+ *
+ * @param method fully qualified method name.
+ * @param calls number of invocations within the request.
+ * @param totalNanos accumulated execution time in nanoseconds, including nested profiled calls.
+ */
+public record MethodTime(String method, long calls, long totalNanos) {
+}
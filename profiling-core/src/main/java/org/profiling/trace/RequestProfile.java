@@ -0,0 +1,70 @@
+package org.profiling.trace;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/***
+ * Accumulates per-method time for a single request. Requests usually touch a handful of profiled
+ * methods, so totals are kept in small parallel arrays searched linearly instead of a map. Once
+ * closed, later additions are ignored and the summary is built on demand.
+ */
+final class RequestProfile {
+
+    private final TraceContext context;
+    private final long startNanos;
+    private Method[] methods = new Method[4];
+    private long[] nanos = new long[4];
+    private int[] calls = new int[4];
+    private int size;
+    private long endNanos;
+    private boolean closed;
+
+    RequestProfile(TraceContext context, long startNanos) {
+        this.context = context;
+        this.startNanos = startNanos;
+    }
+
+    TraceContext context() {
+        return context;
+    }
+
+    synchronized void add(Method method, long executionNanos) {
+        if (closed) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (methods[i] == method || methods[i].equals(method)) {
+                nanos[i] += executionNanos;
+                calls[i]++;
+                return;
+            }
+        }
+        if (size == methods.length) {
+            methods = Arrays.copyOf(methods, size * 2);
+            nanos = Arrays.copyOf(nanos, size * 2);
+            calls = Arrays.copyOf(calls, size * 2);
+        }
+        methods[size] = method;
+        nanos[size] = executionNanos;
+        calls[size] = 1;
+        size++;
+    }
+
+    synchronized void close(long endNanos) {
+        this.endNanos = endNanos;
+        this.closed = true;
+    }
+
+    synchronized RequestSummary summarize() {
+        List<MethodTime> times = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            times.add(new MethodTime(methods[i].getDeclaringClass().getName() + "." + methods[i].getName(),
+                    calls[i], nanos[i]));
+        }
+        times.sort(Comparator.comparingLong(MethodTime::totalNanos).reversed());
+        return new RequestSummary(context.traceId(), endNanos - startNanos, List.copyOf(times));
+    }
+}
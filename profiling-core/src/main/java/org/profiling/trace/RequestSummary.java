@@ -0,0 +1,14 @@
+package org.profiling.trace;
+
+import java.util.List;
+
+/***
+ * Critical-path summary of one request: where the time went across all profiled methods
+ * that ran under the same trace.
+ *
+ * @param traceId trace identifier of the request.
+ * @param wallNanos wall time of the outermost profiled invocation.
+ * @param methods per-method totals, slowest first.
+ */
+public record RequestSummary(String traceId, long wallNanos, List<MethodTime> methods) {
+}
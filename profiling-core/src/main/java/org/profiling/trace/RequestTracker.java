@@ -0,0 +1,178 @@
+package org.profiling.trace;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/***
+ * Ties profiled invocations to requests. The outermost profiled invocation on a thread opens a
+ * request under the current trace context; nested invocations add their time to it, and when the
+ * outermost one returns, the request summary is kept in a bounded ring of recent requests.
+ * <p>
+ * Work handed to executors joins the submitting request when wrapped with {@link #wrap(Runnable)}
+ * or {@link #wrap(Callable)}. Time of tasks that finish after their request has completed is not counted.
+ * <p>
+ * Finished requests are kept as raw totals; summaries are built, and trace ids rendered, only when
+ * {@link #recent()} is read.
+ */
+public class RequestTracker {
+
+    private final TraceContextResolver resolver;
+    private final ThreadLocal<Scope> scopes = ThreadLocal.withInitial(Scope::new);
+    private final AtomicReferenceArray<RequestProfile> recent;
+    private final AtomicLong cursor = new AtomicLong();
+
+    /***
+     * Creates tracker.
+     *
+     * @param resolver resolver of trace contexts for new requests.
+     * @param retainedRequests number of most recent request summaries kept in memory.
+     */
+    public RequestTracker(TraceContextResolver resolver, int retainedRequests) {
+        if (retainedRequests < 1) {
+            throw new IllegalArgumentException("Retained requests must be positive, got " + retainedRequests);
+        }
+        this.resolver = resolver;
+        this.recent = new AtomicReferenceArray<>(retainedRequests);
+    }
+
+    /***
+     * Marks the start of a profiled invocation on the current thread.
+     *
+     * @return trace context of the request the invocation belongs to.
+     */
+    public TraceContext enter() {
+        Scope scope = scopes.get();
+        if (scope.depth++ == 0 && !scope.propagated) {
+            scope.profile = new RequestProfile(resolver.resolve(), System.nanoTime());
+        }
+        return scope.profile.context();
+    }
+
+    /***
+     * Marks the end of a profiled invocation started with {@link #enter()}.
+     *
+     * @param method profiled method.
+     * @param executionNanos execution time of the invocation.
+     */
+    public void exit(Method method, long executionNanos) {
+        Scope scope = scopes.get();
+        RequestProfile profile = scope.profile;
+        profile.add(method, executionNanos);
+        if (--scope.depth == 0 && !scope.propagated) {
+            scope.profile = null;
+            profile.close(System.nanoTime());
+            publish(profile);
+        }
+    }
+
+    /***
+     * Returns trace context of the request running on the current thread.
+     *
+     * @return current trace context or {@code null} outside of profiled invocations.
+     */
+    public TraceContext current() {
+        RequestProfile profile = scopes.get().profile;
+        return profile != null ? profile.context() : null;
+    }
+
+    /***
+     * Wraps a task so that profiled invocations inside it join the submitting request.
+     *
+     * @param task task to wrap.
+     * @return wrapped task, or the task itself when submitted outside of a request.
+     */
+    public Runnable wrap(Runnable task) {
+        RequestProfile profile = scopes.get().profile;
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            Scope scope = scopes.get();
+            Scope saved = scope.enterPropagated(profile);
+            try {
+                task.run();
+            } finally {
+                scope.restore(saved);
+            }
+        };
+    }
+
+    /***
+     * Wraps a task so that profiled invocations inside it join the submitting request.
+     *
+     * @param task task to wrap.
+     * @param <T> task result type.
+     * @return wrapped task, or the task itself when submitted outside of a request.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        RequestProfile profile = scopes.get().profile;
+        if (profile == null) {
+            return task;
+        }
+        return () -> {
+            Scope scope = scopes.get();
+            Scope saved = scope.enterPropagated(profile);
+            try {
+                return task.call();
+            } finally {
+                scope.restore(saved);
+            }
+        };
+    }
+
+    /***
+     * Returns summaries of the most recent requests.
+     *
+     * @return request summaries, newest first.
+     */
+    public List<RequestSummary> recent() {
+        int capacity = recent.length();
+        long end = cursor.get();
+        List<RequestSummary> result = new ArrayList<>(capacity);
+        for (long i = end - 1; i >= Math.max(0, end - capacity); i--) {
+            RequestProfile profile = recent.get((int) (i % capacity));
+            if (profile != null) {
+                result.add(profile.summarize());
+            }
+        }
+        return result;
+    }
+
+    private void publish(RequestProfile profile) {
+        long slot = cursor.getAndIncrement();
+        recent.set((int) (slot % recent.length()), profile);
+    }
+
+    /***
+     * Mutable per-thread request state. Reused for every request on the thread.
+     */
+    private static final class Scope {
+        private RequestProfile profile;
+        private int depth;
+        private boolean propagated;
+
+        private Scope enterPropagated(RequestProfile parent) {
+            Scope saved = null;
+            if (profile != null || depth != 0) {
+                saved = new Scope();
+                saved.profile = profile;
+                saved.depth = depth;
+                saved.propagated = propagated;
+            }
+            profile = parent;
+            depth = 0;
+            propagated = true;
+            return saved;
+        }
+
+        private void restore(Scope saved) {
+            profile = saved != null ? saved.profile : null;
+            depth = saved != null ? saved.depth : 0;
+            propagated = saved != null && saved.propagated;
+        }
+    }
+}
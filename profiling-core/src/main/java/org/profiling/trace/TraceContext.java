@@ -0,0 +1,94 @@
+package org.profiling.trace;
+
+/***
+ * Trace and span identifiers attached to profiling records. Identifiers are either taken from
+ * the surrounding tracing setup or generated locally; local identifiers are kept as numbers and
+ * rendered to hex only when a record actually needs them.
+ */
+public final class TraceContext {
+
+    private final long localTraceHigh;
+    private final long localTraceLow;
+    private final long localSpan;
+    private String traceId;
+    private String spanId;
+
+    private TraceContext(String traceId, String spanId, long localTraceHigh, long localTraceLow, long localSpan) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.localTraceHigh = localTraceHigh;
+        this.localTraceLow = localTraceLow;
+        this.localSpan = localSpan;
+    }
+
+    /***
+     * Creates context with identifiers provided by an external tracing system.
+     *
+     * @param traceId trace identifier.
+     * @param spanId span identifier, may be {@code null}.
+     * @return external trace context.
+     */
+    public static TraceContext external(String traceId, String spanId) {
+        return new TraceContext(traceId, spanId, 0, 0, 0);
+    }
+
+    /***
+     * Creates context with locally generated identifiers in W3C sizes (128-bit trace, 64-bit span).
+     *
+     * @param traceHigh upper 64 bits of the trace identifier.
+     * @param traceLow lower 64 bits of the trace identifier.
+     * @param span span identifier.
+     * @return local trace context.
+     */
+    public static TraceContext local(long traceHigh, long traceLow, long span) {
+        return new TraceContext(null, null, traceHigh, traceLow, span);
+    }
+
+    /***
+     * Returns trace identifier.
+     *
+     * @return trace identifier as lowercase hex for local ids, or as provided for external ids.
+     */
+    public String traceId() {
+        String id = traceId;
+        if (id == null) {
+            id = hex(localTraceHigh) + hex(localTraceLow);
+            traceId = id;
+        }
+        return id;
+    }
+
+    /***
+     * Returns span identifier.
+     *
+     * @return span identifier or {@code null} when the external system provided none.
+     */
+    public String spanId() {
+        String id = spanId;
+        if (id == null && isLocal()) {
+            id = hex(localSpan);
+            spanId = id;
+        }
+        return id;
+    }
+
+    /***
+     * Indicates whether identifiers were generated locally.
+     *
+     * @return {@code true} for local identifiers.
+     */
+    public boolean isLocal() {
+        return localTraceHigh != 0 || localTraceLow != 0;
+    }
+
+    @Override
+    public String toString() {
+        String span = spanId();
+        return span != null ? traceId() + "/" + span : traceId();
+    }
+
+    private static String hex(long value) {
+        String hex = Long.toHexString(value);
+        return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+    }
+}
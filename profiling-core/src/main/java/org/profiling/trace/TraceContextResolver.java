@@ -0,0 +1,100 @@
+package org.profiling.trace;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * Resolves the trace context of the current thread. Sources are tried in order:
+ * <ol>
+ *     <li>MDC trace and span keys, as populated by Micrometer Tracing for active observations,</li>
+ *     <li>MDC W3C {@code traceparent} header value,</li>
+ *     <li>locally generated identifiers.</li>
+ * </ol>
+ */
+public class TraceContextResolver {
+
+    /***
+     * MDC key for trace identifiers used by Micrometer Tracing.
+     */
+    public static final String DEFAULT_TRACE_ID_KEY = "traceId";
+
+    /***
+     * MDC key for span identifiers used by Micrometer Tracing.
+     */
+    public static final String DEFAULT_SPAN_ID_KEY = "spanId";
+
+    /***
+     * MDC key holding a W3C {@code traceparent} header value.
+     */
+    public static final String TRACEPARENT_KEY = "traceparent";
+
+    private final String traceIdKey;
+    private final String spanIdKey;
+
+    /***
+     * Creates resolver that uses Micrometer Tracing MDC keys.
+     */
+    public TraceContextResolver() {
+        this(DEFAULT_TRACE_ID_KEY, DEFAULT_SPAN_ID_KEY);
+    }
+
+    /***
+     * Creates resolver with custom MDC keys.
+     *
+     * @param traceIdKey MDC key of the trace identifier.
+     * @param spanIdKey MDC key of the span identifier.
+     */
+    public TraceContextResolver(String traceIdKey, String spanIdKey) {
+        this.traceIdKey = traceIdKey;
+        this.spanIdKey = spanIdKey;
+    }
+
+    /***
+     * Resolves trace context for the current thread. Never returns {@code null}.
+     *
+     * @return external context when one is available, otherwise a new local context.
+     */
+    public TraceContext resolve() {
+        String traceId = MDC.get(traceIdKey);
+        if (traceId != null && !traceId.isEmpty()) {
+            return TraceContext.external(traceId, MDC.get(spanIdKey));
+        }
+
+        TraceContext parent = parseTraceparent(MDC.get(TRACEPARENT_KEY));
+        if (parent != null) {
+            return parent;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return TraceContext.local(random.nextLong(), random.nextLong() | 1L, random.nextLong() | 1L);
+    }
+
+    /***
+     * Parses a W3C {@code traceparent} value ({@code version-traceid-parentid-flags}).
+     *
+     * @param traceparent header value, may be {@code null}.
+     * @return parsed context or {@code null} when the value is absent or malformed.
+     */
+    static TraceContext parseTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        String traceId = traceparent.substring(3, 35);
+        String spanId = traceparent.substring(36, 52);
+        if (isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        return TraceContext.external(traceId, spanId);
+    }
+
+    private static boolean isZero(String hex) {
+        for (int i = 0; i < hex.length(); i++) {
+            if (hex.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,32 @@
+package org.profiling.trace;
+
+import org.springframework.core.task.TaskDecorator;
+
+/***
+ * {@link TaskDecorator} that lets executor tasks join the request that submitted them.
+ * Works the same for platform and virtual threads since state is captured at submission.
+ */
+public class TraceContextTaskDecorator implements TaskDecorator {
+
+    private final RequestTracker tracker;
+
+    /***
+     * Creates decorator.
+     *
+     * @param tracker request tracker whose context is propagated.
+     */
+    public TraceContextTaskDecorator(RequestTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /***
+     * Wraps runnable with the submitting thread's request context.
+     *
+     * @param runnable task submitted to an executor.
+     * @return decorated task.
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return tracker.wrap(runnable);
+    }
+}
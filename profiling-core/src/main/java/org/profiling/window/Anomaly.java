@@ -0,0 +1,16 @@
+package org.profiling.window;
+
+import java.time.Instant;
+
+/***
+ * Method metric deviating from its EWMA baseline by more than the configured factor.
+ *
+ * @param method fully qualified method name.
+ * @param kind deviating metric.
+ * @param value metric value of the minute that raised the anomaly, nanoseconds for
+ *              {@link AnomalyKind#LATENCY}, a share for {@link AnomalyKind#ERROR_RATE}.
+ * @param baseline baseline the value was compared to.
+ * @param detectedAt when the anomaly was raised.
+ */
+public record Anomaly(String method, AnomalyKind kind, double value, double baseline, Instant detectedAt) {
+}
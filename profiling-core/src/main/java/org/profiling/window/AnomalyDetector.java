@@ -0,0 +1,183 @@
+package org.profiling.window;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Compares every completed minute of each method with EWMA baselines of its p99 latency and error rate.
+ * When a metric exceeds its baseline by the configured factor a single structured warning is logged
+ * and the anomaly stays active until the metric returns under the threshold, or until a minute has too
+ * few invocations to tell, e.g. because traffic stopped. Minutes that raise an
+ * anomaly are kept out of the baseline, so a lasting regression is not silently learned as normal.
+ * <p>
+ * Error rates are compared against at least {@value #MIN_ERROR_RATE}, so a method that never failed
+ * doesn't alert on its first error.
+ */
+public class AnomalyDetector implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+    private static final double MIN_ERROR_RATE = 0.01;
+    private static final long CHECK_INTERVAL_SECONDS = 5;
+
+    private final WindowStatsRegistry registry;
+    private final double factor;
+    private final double alpha;
+    private final int minSamples;
+    private final int warmupMinutes;
+    private final ScheduledExecutorService scheduler;
+
+    /***
+     * Creates detector and schedules evaluation of completed minutes.
+     *
+     * @param registry rolling windows to watch.
+     * @param factor how many times the baseline a metric must exceed to raise an anomaly.
+     * @param alpha EWMA smoothing factor between {@code 0} and {@code 1}; higher values follow recent
+     *              minutes more closely.
+     * @param minSamples minimum invocations in a minute for it to be evaluated.
+     * @param warmupMinutes evaluated minutes needed before anomalies are raised.
+     */
+    public AnomalyDetector(WindowStatsRegistry registry, double factor, double alpha, int minSamples,
+                           int warmupMinutes) {
+        this(registry, factor, alpha, minSamples, warmupMinutes, true);
+    }
+
+    AnomalyDetector(WindowStatsRegistry registry, double factor, double alpha, int minSamples,
+                    int warmupMinutes, boolean scheduled) {
+        if (factor <= 1) {
+            throw new IllegalArgumentException("Anomaly factor must be greater than 1, got " + factor);
+        }
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha must be between 0 and 1, got " + alpha);
+        }
+        this.registry = registry;
+        this.factor = factor;
+        this.alpha = alpha;
+        this.minSamples = Math.max(1, minSamples);
+        this.warmupMinutes = warmupMinutes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "profiling-anomaly-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (scheduled) {
+            scheduler.scheduleAtFixedRate(this::evaluate, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /***
+     * Evaluates minutes completed since the previous evaluation.
+     */
+    public void evaluate() {
+        try {
+            evaluate(System.nanoTime());
+        } catch (Exception e) {
+            logger.error("Error evaluating profiling anomalies", e);
+        }
+    }
+
+    /***
+     * Lists active anomalies.
+     *
+     * @return anomalies of all methods, oldest first.
+     */
+    public List<Anomaly> anomalies() {
+        List<Anomaly> anomalies = new ArrayList<>();
+        for (MethodWindows windows : registry.getMethods()) {
+            Anomaly latency = windows.getLatencyAnomaly();
+            if (latency != null) {
+                anomalies.add(latency);
+            }
+            Anomaly errors = windows.getErrorAnomaly();
+            if (errors != null) {
+                anomalies.add(errors);
+            }
+        }
+        anomalies.sort(Comparator.comparing(Anomaly::detectedAt));
+        return anomalies;
+    }
+
+    /***
+     * Stops periodic evaluation.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    synchronized void evaluate(long nowNanos) {
+        for (MethodWindows windows : registry.getMethods()) {
+            TimeWindowRing minutes = windows.minutes();
+            long latest = minutes.epoch(nowNanos) - 1;
+            long first = windows.lastEvaluatedMinute == MethodWindows.NOT_EVALUATED
+                    ? latest
+                    : Math.max(windows.lastEvaluatedMinute + 1, latest - minutes.periods() + 1);
+            for (long minute = first; minute <= latest; minute++) {
+                evaluateMinute(windows, minute);
+            }
+            windows.lastEvaluatedMinute = latest;
+        }
+    }
+
+    private void evaluateMinute(MethodWindows windows, long minute) {
+        WindowAccumulator accumulator = new WindowAccumulator();
+        if (!windows.minutes().addBucket(minute, accumulator) || accumulator.count() < minSamples) {
+            windows.setLatencyAnomaly(expire(windows.getLatencyAnomaly(), accumulator.count()));
+            windows.setErrorAnomaly(expire(windows.getErrorAnomaly(), accumulator.count()));
+            return;
+        }
+        long p99 = accumulator.valueAtPercentile(99);
+        double errorRate = accumulator.errorRate();
+        boolean warmedUp = windows.getBaselineMinutes() >= warmupMinutes;
+        boolean latencyHigh = warmedUp && p99 > factor * windows.getBaselineP99Nanos();
+        boolean errorsHigh = warmedUp && errorRate > factor * Math.max(windows.getBaselineErrorRate(), MIN_ERROR_RATE);
+
+        windows.setLatencyAnomaly(transition(windows, AnomalyKind.LATENCY, windows.getLatencyAnomaly(),
+                latencyHigh, p99, windows.getBaselineP99Nanos()));
+        windows.setErrorAnomaly(transition(windows, AnomalyKind.ERROR_RATE, windows.getErrorAnomaly(),
+                errorsHigh, errorRate, windows.getBaselineErrorRate()));
+        windows.updateBaseline(p99, errorRate, !latencyHigh, !errorsHigh, alpha);
+    }
+
+    private Anomaly transition(MethodWindows windows, AnomalyKind kind, Anomaly active, boolean high,
+                               double value, double baseline) {
+        if (high && active == null) {
+            Anomaly anomaly = new Anomaly(windows.getMethod(), kind, value, baseline, Instant.now());
+            logger.warn("Profiling anomaly: method={} metric={} value={} baseline={} factor={} window=1m",
+                    anomaly.method(), kind, format(kind, value), format(kind, baseline), factor);
+            return anomaly;
+        }
+        if (!high && active != null) {
+            logger.info("Profiling anomaly resolved: method={} metric={} value={} baseline={}",
+                    active.method(), kind, format(kind, value), format(kind, baseline));
+            return null;
+        }
+        return active;
+    }
+
+    /***
+     * Resolves an anomaly of a minute with too few invocations to evaluate, as it can no longer be confirmed.
+     */
+    private Anomaly expire(Anomaly active, long count) {
+        if (active != null) {
+            logger.info("Profiling anomaly resolved: method={} metric={} invocations={} below min-samples={}",
+                    active.method(), active.kind(), count, minSamples);
+        }
+        return null;
+    }
+
+    private static String format(AnomalyKind kind, double value) {
+        return kind == AnomalyKind.LATENCY
+                ? String.format(Locale.ROOT, "%.3fms", value / 1_000_000.0)
+                : String.format(Locale.ROOT, "%.4f", value);
+    }
+}
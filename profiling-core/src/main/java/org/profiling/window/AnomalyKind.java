@@ -0,0 +1,15 @@
+package org.profiling.window;
+
+/***
+ * Metric whose deviation from its baseline raised an {@link Anomaly}.
+ */
+public enum AnomalyKind {
+    /***
+     * Per-minute p99 latency.
+     */
+    LATENCY,
+    /***
+     * Per-minute share of failed invocations.
+     */
+    ERROR_RATE
+}
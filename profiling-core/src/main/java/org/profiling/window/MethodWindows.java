@@ -0,0 +1,163 @@
+package org.profiling.window;
+
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Rolling windows of a single profiled method: the last 60 seconds and the last 60 minutes, plus the
+ * latency and error rate baselines maintained by {@link AnomalyDetector}.
+ */
+public class MethodWindows {
+
+    /***
+     * Number of completed per-second buckets kept.
+     */
+    public static final int SECONDS = 60;
+
+    /***
+     * Number of completed per-minute buckets kept.
+     */
+    public static final int MINUTES = 60;
+
+    static final long NOT_EVALUATED = Long.MIN_VALUE;
+
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long SECOND_WINDOW_NANOS = SECONDS * SECOND_NANOS;
+
+    private final String method;
+    private final TimeWindowRing seconds = new TimeWindowRing(SECOND_NANOS, SECONDS);
+    private final TimeWindowRing minutes = new TimeWindowRing(MINUTE_NANOS, MINUTES);
+
+    // written by the single detector thread, read by endpoint queries
+    private volatile double baselineP99Nanos;
+    private volatile double baselineErrorRate;
+    private volatile int baselineMinutes;
+    private volatile Anomaly latencyAnomaly;
+    private volatile Anomaly errorAnomaly;
+    long lastEvaluatedMinute = NOT_EVALUATED;
+
+    /***
+     * Creates empty windows for a method.
+     *
+     * @param method fully qualified method name.
+     */
+    public MethodWindows(String method) {
+        this.method = method;
+    }
+
+    /***
+     * Records a single invocation.
+     *
+     * @param nowNanos {@link System#nanoTime()} when the invocation finished.
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    public void record(long nowNanos, long nanos, boolean failed) {
+        seconds.record(nowNanos, nanos, failed);
+        minutes.record(nowNanos, nanos, failed);
+    }
+
+    /***
+     * Returns fully qualified method name.
+     *
+     * @return method name.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /***
+     * Returns EWMA baseline of per-minute p99 latency.
+     *
+     * @return baseline in nanoseconds, {@code 0} before the first evaluated minute.
+     */
+    public double getBaselineP99Nanos() {
+        return baselineP99Nanos;
+    }
+
+    /***
+     * Returns EWMA baseline of per-minute error rate.
+     *
+     * @return baseline between {@code 0} and {@code 1}.
+     */
+    public double getBaselineErrorRate() {
+        return baselineErrorRate;
+    }
+
+    /***
+     * Returns number of minutes that contributed to the baselines.
+     *
+     * @return baseline minute count.
+     */
+    public int getBaselineMinutes() {
+        return baselineMinutes;
+    }
+
+    /***
+     * Returns active latency anomaly.
+     *
+     * @return anomaly or {@code null} when latency is within its baseline.
+     */
+    public Anomaly getLatencyAnomaly() {
+        return latencyAnomaly;
+    }
+
+    /***
+     * Returns active error rate anomaly.
+     *
+     * @return anomaly or {@code null} when the error rate is within its baseline.
+     */
+    public Anomaly getErrorAnomaly() {
+        return errorAnomaly;
+    }
+
+    void accumulate(long nowNanos, long windowNanos, WindowAccumulator accumulator) {
+        TimeWindowRing ring = windowNanos <= SECOND_WINDOW_NANOS ? seconds : minutes;
+        ring.aggregate(nowNanos, periods(windowNanos), accumulator);
+    }
+
+    /***
+     * Returns length of the completed periods a query of the given window covers.
+     */
+    static long coveredNanos(long windowNanos) {
+        return periods(windowNanos) * widthNanos(windowNanos);
+    }
+
+    TimeWindowRing minutes() {
+        return minutes;
+    }
+
+    void updateBaseline(double p99Nanos, double errorRate, boolean latencyNormal, boolean errorsNormal, double alpha) {
+        int minutesSoFar = baselineMinutes;
+        if (minutesSoFar == 0) {
+            baselineP99Nanos = p99Nanos;
+            baselineErrorRate = errorRate;
+        } else {
+            if (latencyNormal) {
+                baselineP99Nanos = alpha * p99Nanos + (1 - alpha) * baselineP99Nanos;
+            }
+            if (errorsNormal) {
+                baselineErrorRate = alpha * errorRate + (1 - alpha) * baselineErrorRate;
+            }
+        }
+        baselineMinutes = minutesSoFar + 1;
+    }
+
+    void setLatencyAnomaly(Anomaly latencyAnomaly) {
+        this.latencyAnomaly = latencyAnomaly;
+    }
+
+    void setErrorAnomaly(Anomaly errorAnomaly) {
+        this.errorAnomaly = errorAnomaly;
+    }
+
+    private static int periods(long windowNanos) {
+        long width = widthNanos(windowNanos);
+        long periods = (windowNanos + width - 1) / width;
+        return (int) Math.max(1, Math.min(windowNanos <= SECOND_WINDOW_NANOS ? SECONDS : MINUTES, periods));
+    }
+
+    private static long widthNanos(long windowNanos) {
+        return windowNanos <= SECOND_WINDOW_NANOS ? SECOND_NANOS : MINUTE_NANOS;
+    }
+}
@@ -0,0 +1,183 @@
+package org.profiling.window;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/***
+ * Ring of fixed-width time buckets, each holding count, errors, total and maximum time and a coarse
+ * latency histogram. A bucket is claimed for a new period with a CAS on its epoch and cleared by the
+ * thread that won it; recording never locks. A writer delayed by a whole ring turn may add one value
+ * to the bucket's next period, which is accepted in exchange for the lock-free hot path.
+ * <p>
+ * The histogram splits every power of two between 1µs and ~18 minutes into four buckets, so a reported
+ * percentile is never more than 25% above the true value; faster calls share the lowest bucket and
+ * slower ones the highest.
+ */
+class TimeWindowRing {
+
+    static final int HISTOGRAM_BUCKETS = 2 + (HistogramRange.MAX_EXPONENT - HistogramRange.MIN_EXPONENT) * 4;
+
+    private static final int COUNT = 0;
+    private static final int ERRORS = 1;
+    private static final int TOTAL = 2;
+    private static final int MAX = 3;
+    private static final int HISTOGRAM = 4;
+    private static final int STRIDE = HISTOGRAM + HISTOGRAM_BUCKETS;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long RESETTING = Long.MIN_VALUE + 1;
+
+    private final long widthNanos;
+    private final int slots;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray values;
+
+    /***
+     * Creates ring keeping {@code periods} completed buckets next to the current one.
+     */
+    TimeWindowRing(long widthNanos, int periods) {
+        this.widthNanos = widthNanos;
+        this.slots = periods + 1;
+        this.epochs = new AtomicLongArray(slots);
+        this.values = new AtomicLongArray(slots * STRIDE);
+        for (int i = 0; i < slots; i++) {
+            epochs.set(i, EMPTY);
+        }
+    }
+
+    /***
+     * Records an invocation into the bucket of {@code nowNanos}.
+     */
+    void record(long nowNanos, long nanos, boolean failed) {
+        long epoch = epoch(nowNanos);
+        int slot = (int) Math.floorMod(epoch, (long) slots);
+        if (!claim(slot, epoch)) {
+            return;
+        }
+        int base = slot * STRIDE;
+        values.incrementAndGet(base + COUNT);
+        if (failed) {
+            values.incrementAndGet(base + ERRORS);
+        }
+        values.addAndGet(base + TOTAL, nanos);
+        long max = values.get(base + MAX);
+        while (nanos > max && !values.compareAndSet(base + MAX, max, nanos)) {
+            max = values.get(base + MAX);
+        }
+        values.incrementAndGet(base + HISTOGRAM + HistogramRange.index(nanos));
+    }
+
+    /***
+     * Adds completed buckets of the last {@code periods} periods before the one containing {@code nowNanos}.
+     */
+    void aggregate(long nowNanos, int periods, WindowAccumulator accumulator) {
+        long current = epoch(nowNanos);
+        for (long epoch = current - Math.min(periods, slots - 1); epoch < current; epoch++) {
+            addBucket(epoch, accumulator);
+        }
+    }
+
+    /***
+     * Adds a single completed bucket.
+     *
+     * @return {@code false} when the bucket no longer holds the given period.
+     */
+    boolean addBucket(long epoch, WindowAccumulator accumulator) {
+        int slot = (int) Math.floorMod(epoch, (long) slots);
+        if (epochs.get(slot) != epoch) {
+            return false;
+        }
+        int base = slot * STRIDE;
+        long count = values.get(base + COUNT);
+        long errors = values.get(base + ERRORS);
+        long total = values.get(base + TOTAL);
+        long max = values.get(base + MAX);
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            histogram[i] = values.get(base + HISTOGRAM + i);
+        }
+        if (epochs.get(slot) != epoch) {
+            return false;
+        }
+        accumulator.add(count, errors, total, max, histogram);
+        return true;
+    }
+
+    /***
+     * Returns period index of a point in time.
+     */
+    long epoch(long nowNanos) {
+        return Math.floorDiv(nowNanos, widthNanos);
+    }
+
+    /***
+     * Returns number of completed periods kept.
+     */
+    int periods() {
+        return slots - 1;
+    }
+
+    long widthNanos() {
+        return widthNanos;
+    }
+
+    private boolean claim(int slot, long epoch) {
+        while (true) {
+            long current = epochs.get(slot);
+            if (current == epoch) {
+                return true;
+            }
+            if (current == RESETTING) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (current != EMPTY && current > epoch) {
+                // the slot already moved on past this writer's period
+                return false;
+            }
+            if (epochs.compareAndSet(slot, current, RESETTING)) {
+                int base = slot * STRIDE;
+                for (int i = 0; i < STRIDE; i++) {
+                    values.set(base + i, 0);
+                }
+                epochs.set(slot, epoch);
+                return true;
+            }
+        }
+    }
+
+    /***
+     * Bucket layout of the coarse histogram.
+     */
+    static final class HistogramRange {
+
+        static final int MIN_EXPONENT = 10;
+        static final int MAX_EXPONENT = 40;
+
+        private HistogramRange() {
+        }
+
+        static int index(long value) {
+            if (value < 1L << MIN_EXPONENT) {
+                return 0;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent >= MAX_EXPONENT) {
+                return HISTOGRAM_BUCKETS - 1;
+            }
+            int subBucket = (int) (value >>> (exponent - 2)) & 3;
+            return 1 + (exponent - MIN_EXPONENT) * 4 + subBucket;
+        }
+
+        static long highestEquivalentValue(int index) {
+            if (index == 0) {
+                return (1L << MIN_EXPONENT) - 1;
+            }
+            if (index == HISTOGRAM_BUCKETS - 1) {
+                return Long.MAX_VALUE;
+            }
+            int exponent = MIN_EXPONENT + (index - 1) / 4;
+            int subBucket = (index - 1) % 4;
+            return ((long) (4 + subBucket + 1) << (exponent - 2)) - 1;
+        }
+    }
+}
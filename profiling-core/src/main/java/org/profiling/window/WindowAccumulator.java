@@ -0,0 +1,64 @@
+package org.profiling.window;
+
+/***
+ * Sums buckets of a {@link TimeWindowRing} into a single window.
+ */
+class WindowAccumulator {
+
+    private final long[] histogram = new long[TimeWindowRing.HISTOGRAM_BUCKETS];
+    private long count;
+    private long errors;
+    private long totalNanos;
+    private long maxNanos;
+
+    void add(long count, long errors, long totalNanos, long maxNanos, long[] histogram) {
+        this.count += count;
+        this.errors += errors;
+        this.totalNanos += totalNanos;
+        this.maxNanos = Math.max(this.maxNanos, maxNanos);
+        for (int i = 0; i < histogram.length; i++) {
+            this.histogram[i] += histogram[i];
+        }
+    }
+
+    long count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    double errorRate() {
+        return count > 0 ? (double) errors / count : 0.0;
+    }
+
+    /***
+     * Returns the highest value equivalent to the given percentile, capped by the observed maximum.
+     */
+    long valueAtPercentile(double percentile) {
+        long total = 0;
+        for (long bucketCount : histogram) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return Math.min(maxNanos, TimeWindowRing.HistogramRange.highestEquivalentValue(i));
+            }
+        }
+        return maxNanos;
+    }
+
+    WindowSnapshot toSnapshot(String method, long windowNanos) {
+        return new WindowSnapshot(method, windowNanos, count, errors,
+                count * 1_000_000_000.0 / windowNanos, errorRate(),
+                count > 0 ? totalNanos / count : 0, maxNanos,
+                valueAtPercentile(50), valueAtPercentile(99));
+    }
+}
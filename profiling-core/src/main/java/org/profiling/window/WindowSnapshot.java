@@ -0,0 +1,19 @@
+package org.profiling.window;
+
+/***
+ * Aggregate of a method's invocations over a rolling window of completed periods.
+ *
+ * @param method fully qualified method name.
+ * @param windowNanos length of the window.
+ * @param count number of invocations.
+ * @param errors number of failed invocations.
+ * @param ratePerSecond invocations per second.
+ * @param errorRate share of failed invocations, between {@code 0} and {@code 1}.
+ * @param meanNanos average execution time.
+ * @param maxNanos slowest execution time.
+ * @param p50Nanos median execution time, at most 25% above the true value.
+ * @param p99Nanos 99th percentile of execution time, at most 25% above the true value.
+ */
+public record WindowSnapshot(String method, long windowNanos, long count, long errors, double ratePerSecond,
+                             double errorRate, long meanNanos, long maxNanos, long p50Nanos, long p99Nanos) {
+}
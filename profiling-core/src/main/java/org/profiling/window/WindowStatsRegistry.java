@@ -0,0 +1,140 @@
+package org.profiling.window;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/***
+ * Per-method rolling windows of profiled invocations. Each method holds fixed rings of per-second and
+ * per-minute buckets (about 125KB), so trends over the last hour can be queried from within the
+ * application. The number of windowed methods is capped; invocations of methods seen after the cap was
+ * reached are only counted.
+ */
+public class WindowStatsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final ConcurrentMap<Method, MethodWindows> windows = new ConcurrentHashMap<>();
+    private final int maxMethods;
+    private final AtomicInteger methods = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicBoolean warned = new AtomicBoolean();
+
+    /***
+     * Creates registry.
+     *
+     * @param maxMethods maximum number of methods with windows, at least {@code 1}.
+     */
+    public WindowStatsRegistry(int maxMethods) {
+        if (maxMethods < 1) {
+            throw new IllegalArgumentException("Windowed method limit must be positive, got " + maxMethods);
+        }
+        this.maxMethods = maxMethods;
+    }
+
+    /***
+     * Records a single invocation.
+     *
+     * @param method profiled method.
+     * @param nowNanos {@link System#nanoTime()} when the invocation finished.
+     * @param nanos execution time in nanoseconds.
+     * @param failed whether the invocation threw an exception.
+     */
+    public void record(Method method, long nowNanos, long nanos, boolean failed) {
+        MethodWindows methodWindows = windows.get(method);
+        if (methodWindows == null) {
+            methodWindows = windows.computeIfAbsent(method, this::create);
+            if (methodWindows == null) {
+                dropped.increment();
+                return;
+            }
+        }
+        methodWindows.record(nowNanos, nanos, failed);
+    }
+
+    /***
+     * Aggregates a method over the most recent completed periods.
+     *
+     * @param method fully qualified method name; overloads are aggregated together.
+     * @param window window length; up to {@value MethodWindows#SECONDS} seconds is aggregated from
+     *               per-second buckets, longer windows from per-minute buckets, capped at
+     *               {@value MethodWindows#MINUTES} minutes.
+     * @return window aggregate, or {@code null} when the method was never recorded.
+     */
+    public WindowSnapshot query(String method, Duration window) {
+        return query(method, window, System.nanoTime());
+    }
+
+    /***
+     * Aggregates a method over the periods completed before {@code nowNanos}.
+     *
+     * @param method fully qualified method name; overloads are aggregated together.
+     * @param window window length.
+     * @param nowNanos {@link System#nanoTime()} of the query.
+     * @return window aggregate, or {@code null} when the method was never recorded.
+     */
+    public WindowSnapshot query(String method, Duration window, long nowNanos) {
+        long windowNanos = window.toNanos();
+        WindowAccumulator accumulator = null;
+        for (MethodWindows methodWindows : windows.values()) {
+            if (methodWindows.getMethod().equals(method)) {
+                if (accumulator == null) {
+                    accumulator = new WindowAccumulator();
+                }
+                methodWindows.accumulate(nowNanos, windowNanos, accumulator);
+            }
+        }
+        return accumulator != null ? accumulator.toSnapshot(method, MethodWindows.coveredNanos(windowNanos)) : null;
+    }
+
+    /***
+     * Returns maximum number of methods with windows.
+     *
+     * @return windowed method limit.
+     */
+    public int getMaxMethods() {
+        return maxMethods;
+    }
+
+    /***
+     * Returns number of invocations not recorded because their method came after the limit was reached.
+     *
+     * @return dropped invocation count.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /***
+     * Returns live windows of all methods.
+     *
+     * @return unmodifiable view of method windows.
+     */
+    public Collection<MethodWindows> getMethods() {
+        return Collections.unmodifiableCollection(windows.values());
+    }
+
+    /***
+     * Creates windows of a new method unless the limit is reached; {@code null} leaves the method unmapped.
+     */
+    private MethodWindows create(Method method) {
+        int count = methods.getAndUpdate(current -> current < maxMethods ? current + 1 : current);
+        if (count >= maxMethods) {
+            if (warned.compareAndSet(false, true)) {
+                logger.warn("Rolling windows are kept for at most {} methods; {} and later methods are not windowed",
+                        maxMethods, method.getDeclaringClass().getName() + "." + method.getName());
+            }
+            return null;
+        }
+        return new MethodWindows(method.getDeclaringClass().getName() + "." + method.getName());
+    }
+}
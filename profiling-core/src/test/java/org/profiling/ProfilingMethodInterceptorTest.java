@@ -0,0 +1,109 @@
+package org.profiling;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.contention.ContentionTotals;
+import org.profiling.enums.LogType;
+import org.profiling.stats.HeapMethodStatsRegistry;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.MethodStatsSnapshot;
+import org.profiling.trace.RequestSummary;
+import org.profiling.trace.RequestTracker;
+import org.profiling.trace.TraceContextResolver;
+import org.profiling.window.WindowStatsRegistry;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProfilingMethodInterceptorTest {
+
+    private final MethodStatsRegistry methodStats = new HeapMethodStatsRegistry();
+    private final WindowStatsRegistry windows = new WindowStatsRegistry(10);
+
+    @Test
+    void aggregatesInvocationsInJfrMode() throws Throwable {
+        ProfilingMethodInterceptor interceptor = interceptor(LogType.JFR);
+
+        interceptor.intercept(null, QuietService.class.getDeclaredMethod("work"), new Object[0], null);
+        assertThrows(IllegalStateException.class, () ->
+                interceptor.intercept(null, QuietService.class.getDeclaredMethod("fail"), new Object[0], null));
+
+        List<MethodStatsSnapshot> snapshots = methodStats.snapshot();
+        assertEquals(2, snapshots.size());
+        assertEquals(1, snapshots.stream().mapToLong(MethodStatsSnapshot::errors).sum());
+        assertEquals(2, windows.getMethods().size());
+    }
+
+    @Test
+    void aggregatesInvocationsWithoutLogFlags() throws Throwable {
+        ProfilingMethodInterceptor interceptor = interceptor(LogType.SIMPLE);
+
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(null, QuietService.class.getDeclaredMethod("work"), new Object[0], null);
+        }
+
+        List<MethodStatsSnapshot> snapshots = methodStats.snapshot();
+        assertEquals(1, snapshots.size());
+        assertEquals(QuietService.class.getName() + ".work", snapshots.get(0).method());
+        assertEquals(3, snapshots.get(0).count());
+        assertEquals(1, windows.getMethods().size());
+    }
+
+    @Test
+    void aggregatesContentionInEveryOutputMode() throws Throwable {
+        for (LogType logType : List.of(LogType.JFR, LogType.SIMPLE)) {
+            ProfilingMethodInterceptor interceptor = interceptor(ContendedService.class, new ContendedService(), logType);
+            interceptor.intercept(null, ContendedService.class.getDeclaredMethod("work"), new Object[0], null);
+        }
+
+        ContentionTotals contention = methodStats.snapshot().get(0).contention();
+        assertNotNull(contention);
+        assertEquals(2, contention.count());
+    }
+
+    @Test
+    void tracksRequestsWithoutLogFlags() throws Throwable {
+        RequestTracker requestTracker = new RequestTracker(new TraceContextResolver(), 4);
+        ProfilingRuntime runtime = new ProfilingRuntime();
+        runtime.setRequestTracker(requestTracker);
+        ProfilingMethodInterceptor interceptor =
+                new ProfilingMethodInterceptor(QuietService.class, new QuietService(), LogType.SIMPLE, runtime);
+
+        interceptor.intercept(null, QuietService.class.getDeclaredMethod("work"), new Object[0], null);
+
+        List<RequestSummary> recent = requestTracker.recent();
+        assertEquals(1, recent.size());
+        assertEquals(1, recent.get(0).methods().size());
+    }
+
+    private ProfilingMethodInterceptor interceptor(LogType logType) {
+        return interceptor(QuietService.class, new QuietService(), logType);
+    }
+
+    private ProfilingMethodInterceptor interceptor(Class<?> type, Object target, LogType logType) {
+        ProfilingRuntime runtime = new ProfilingRuntime();
+        runtime.setMethodStats(methodStats);
+        runtime.setWindows(windows);
+        return new ProfilingMethodInterceptor(type, target, logType, runtime);
+    }
+
+    @Profiling(logParams = false, logResult = false, logTime = false, logCallerInfo = false)
+    public static class QuietService {
+        public String work() {
+            return "ok";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Profiling(logParams = false, logResult = false, logTime = false, logCallerInfo = false, contention = true)
+    public static class ContendedService {
+        public String work() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.profiling.aot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.profiling.Profiling;
+import org.profiling.plan.ProfilingPlan;
+import org.profiling.plan.ProfilingPlans;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedClass;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.generate.GeneratedMethods;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.generate.MethodReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.javapoet.ClassName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingBeanFactoryInitializationAotProcessorTest {
+
+    private final ProfilingBeanFactoryInitializationAotProcessor processor = new ProfilingBeanFactoryInitializationAotProcessor();
+
+    @AfterEach
+    void resetPlans() {
+        ProfilingPlans.reset();
+    }
+
+    @Test
+    void generatesPlansAndInvocationHintsForProfiledBeans() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("service", new RootBeanDefinition(ProfiledService.class));
+        beanFactory.registerBeanDefinition("plain", new RootBeanDefinition(PlainService.class));
+
+        BeanFactoryInitializationAotContribution contribution = processor.processAheadOfTime(beanFactory);
+        DefaultGenerationContext generationContext = new DefaultGenerationContext(
+                new ClassNameGenerator(ClassName.get("com.example", "Application")), new InMemoryGeneratedFiles());
+        GeneratedClass generatedClass = generationContext.getGeneratedClasses().addForFeature("Profiling", type -> {
+        });
+        List<MethodReference> initializers = new ArrayList<>();
+        contribution.applyTo(generationContext, new BeanFactoryInitializationCode() {
+            @Override
+            public GeneratedMethods getMethods() {
+                return generatedClass.getMethods();
+            }
+
+            @Override
+            public void addInitializer(MethodReference methodReference) {
+                initializers.add(methodReference);
+            }
+        });
+        generationContext.writeGeneratedContent();
+
+        assertEquals(1, initializers.size());
+        String source = generatedSource(generationContext);
+        assertTrue(source.contains("ProfilingPlans.register(\"" + ProfiledService.class.getName()
+                + "\", \"load\", new String[] {\"java.lang.String\", \"int\"}, \"service\", true, true, true, true"));
+        assertTrue(source.contains("\"audit\", new String[] {}, \"audit\", false, true, true, true"));
+        assertFalse(source.contains("\"hidden\""));
+        assertFalse(source.contains(PlainService.class.getName()));
+
+        Method load = ProfiledService.class.getMethod("load", String.class, int.class);
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(load).invoke().test(generationContext.getRuntimeHints()));
+        assertFalse(RuntimeHintsPredicates.reflection().onMethod(PlainService.class.getMethod("run"))
+                .introspect().test(generationContext.getRuntimeHints()));
+    }
+
+    @Test
+    void returnsNoContributionWithoutProfiledBeans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("plain", new RootBeanDefinition(PlainService.class));
+
+        assertNull(processor.processAheadOfTime(beanFactory));
+    }
+
+    @Test
+    void registeredPlansTakePrecedenceOverAnnotations() throws Exception {
+        Method load = ProfiledService.class.getMethod("load", String.class, int.class);
+        ProfilingPlans.register(ProfiledService.class.getName(), "load", new String[]{"java.lang.String", "int"},
+                "build time", true, false, true, false, new String[]{"id", "limit"}, false);
+
+        ProfilingPlan plan = ProfilingPlans.resolve(load, ProfiledService.class);
+
+        assertTrue(ProfilingPlans.isRegistered(ProfiledService.class, load));
+        assertEquals("build time", plan.message());
+        assertEquals(load, plan.method());
+        assertFalse(plan.logResult());
+        assertArrayEquals(new String[]{"id", "limit"}, plan.parameterNames());
+        assertSame(plan, ProfilingPlans.resolve(load, ProfiledService.class));
+    }
+
+    @Test
+    void bindsRegisteredPlansToTargetClassMethod() throws Exception {
+        Method invoked = Greeter.class.getMethod("greet", String.class);
+        ProfilingPlans.register(GreeterService.class.getName(), "greet", new String[]{"java.lang.String"},
+                "greet", true, true, true, true, new String[]{"name"}, false);
+
+        ProfilingPlan registered = ProfilingPlans.resolve(invoked, GreeterService.class);
+        ProfilingPlans.reset();
+        ProfilingPlan annotated = ProfilingPlans.resolve(invoked, GreeterService.class);
+
+        assertEquals(GreeterService.class.getMethod("greet", String.class), registered.method());
+        assertEquals(annotated.method(), registered.method());
+    }
+
+    @Test
+    void resolvesAnnotationsWhenNoPlanIsRegistered() throws Exception {
+        ProfilingPlan audit = ProfilingPlans.resolve(ProfiledService.class.getMethod("audit"), ProfiledService.class);
+
+        assertEquals("audit", audit.message());
+        assertFalse(audit.logParams());
+        assertNull(audit.parameterNames());
+        assertNull(ProfilingPlans.resolve(PlainService.class.getMethod("run"), PlainService.class));
+    }
+
+    private static String generatedSource(DefaultGenerationContext generationContext) {
+        InMemoryGeneratedFiles files = (InMemoryGeneratedFiles) generationContext.getGeneratedFiles();
+        StringBuilder source = new StringBuilder();
+        files.getGeneratedFiles(GeneratedFiles.Kind.SOURCE).values().forEach(file -> {
+            try {
+                source.append(new String(file.getInputStream().readAllBytes()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return source.toString();
+    }
+
+    @Profiling(message = "service")
+    public static class ProfiledService {
+        public String load(String id, int limit) {
+            return id + limit;
+        }
+
+        @Profiling(message = "audit", logParams = false)
+        public void audit() {
+        }
+
+        private void hidden() {
+        }
+    }
+
+    public static class PlainService {
+        public void run() {
+        }
+    }
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    @Profiling(message = "greet")
+    public static class GreeterService implements Greeter {
+        @Override
+        public String greet(String name) {
+            return "hello " + name;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.profiling.baseline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.profiling.stats.HeapMethodStatsRegistry;
+import org.profiling.stats.LatencyHistogram;
+import org.profiling.stats.MethodStatsRegistry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BaselineComparatorTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void roundTripsRegistryThroughCompactFile() throws Exception {
+        MethodStatsRegistry registry = new HeapMethodStatsRegistry();
+        Method load = Service.class.getDeclaredMethod("load");
+        for (int i = 1; i <= 10_000; i++) {
+            registry.record(load, i * 100L, i % 100 == 0);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        BaselineWriter.write(registry, out);
+        BaselineSnapshot snapshot = BaselineSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+
+        MethodBaseline baseline = snapshot.methods().get(Service.class.getName() + ".load");
+        assertEquals(10_000, baseline.count());
+        assertEquals(100, baseline.errors());
+        assertEquals(1_000_000, baseline.maxNanos());
+        assertEquals(registry.snapshot().get(0).p99Nanos(), baseline.latency().valueAtPercentile(99));
+        assertTrue(out.size() < 2_000, "baseline size " + out.size());
+        assertThrows(IOException.class, () -> BaselineSnapshot.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+
+    @Test
+    void reportsLatencyRegressionRankedByImpact() {
+        BaselineSnapshot before = snapshot(Map.of(
+                "Service.fast", latencies(100_000, 1_000, 0),
+                "Service.slow", latencies(10_000, 1_000_000, 0),
+                "Service.stable", latencies(10_000, 50_000, 0)), 60);
+        BaselineSnapshot after = snapshot(Map.of(
+                "Service.fast", latencies(100_000, 1_000, 2_000),
+                "Service.slow", latencies(10_000, 1_500_000, 0),
+                "Service.stable", latencies(10_000, 50_000, 0)), 60);
+
+        BaselineComparison comparison = new BaselineComparator().compare(before, after);
+
+        assertTrue(comparison.hasRegressions());
+        assertEquals("Service.slow", comparison.methods().get(0).method());
+        assertTrue(comparison.methods().get(0).changes().stream().anyMatch(change -> change.metric() == Metric.P50));
+        assertEquals("Service.fast", comparison.methods().get(1).method());
+        assertTrue(comparison.methods().get(1).changes().stream().anyMatch(change -> change.metric() == Metric.P99));
+        assertTrue(comparison.methods().stream().noneMatch(method -> method.method().equals("Service.stable")));
+    }
+
+    @Test
+    void ignoresNoiseAndReportsThroughputWithoutRegression() {
+        BaselineSnapshot before = snapshot(Map.of("Service.call", latencies(5_000, 10_000, 0)), 60);
+        BaselineSnapshot same = snapshot(Map.of("Service.call", latencies(5_000, 10_000, 0)), 60);
+        BaselineSnapshot doubled = snapshot(Map.of("Service.call", latencies(10_000, 10_000, 0),
+                "Service.added", latencies(10, 10_000, 0)), 60);
+
+        assertTrue(new BaselineComparator().compare(before, same).methods().isEmpty());
+
+        BaselineComparison comparison = new BaselineComparator().compare(before, doubled);
+        assertFalse(comparison.hasRegressions());
+        assertEquals(Metric.THROUGHPUT, comparison.methods().get(0).changes().get(0).metric());
+        assertEquals(1.0, comparison.methods().get(0).changes().get(0).relativeChange(), 0.01);
+        assertEquals(List.of("Service.added"), comparison.added());
+    }
+
+    @Test
+    void cliExitsWithRegressionStatus(@TempDir Path dir) throws Exception {
+        MethodStatsRegistry fast = new HeapMethodStatsRegistry();
+        MethodStatsRegistry slow = new HeapMethodStatsRegistry();
+        Method load = Service.class.getDeclaredMethod("load");
+        for (int i = 0; i < 5_000; i++) {
+            fast.record(load, 1_000 + random.nextInt(100), false);
+            slow.record(load, 2_000 + random.nextInt(100), false);
+        }
+        Path before = dir.resolve("before.prfb");
+        Path after = dir.resolve("after.prfb");
+        BaselineWriter.write(fast, before);
+        BaselineWriter.write(slow, after);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int status = BaselineCli.run(new String[]{before.toString(), after.toString(), "--min-change", "0.1"},
+                new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+        assertEquals(1, status);
+        assertTrue(out.toString().startsWith("REGRESSION " + Service.class.getName() + ".load"), out.toString());
+        assertEquals(0, BaselineCli.run(new String[]{before.toString(), before.toString()},
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+        assertEquals(2, BaselineCli.run(new String[]{before.toString()},
+                new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream())));
+        assertTrue(Files.size(after) > 0);
+    }
+
+    private LatencyHistogram latencies(int count, long median, int outliers) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < count; i++) {
+            histogram.record((long) (median * Math.exp(random.nextGaussian() * 0.1)));
+        }
+        for (int i = 0; i < outliers; i++) {
+            histogram.record(median * 50);
+        }
+        return histogram;
+    }
+
+    private static BaselineSnapshot snapshot(Map<String, LatencyHistogram> latencies, long seconds) {
+        Map<String, MethodBaseline> methods = new LinkedHashMap<>();
+        latencies.forEach((method, histogram) -> {
+            long total = (long) (histogram.valueAtPercentile(50) * (double) histogram.getCount());
+            methods.put(method, new MethodBaseline(method, histogram.getCount(), 0, total,
+                    histogram.valueAtPercentile(100), histogram));
+        });
+        Instant end = Instant.parse("2024-01-01T00:00:00Z");
+        return new BaselineSnapshot(end.minusSeconds(seconds), end, methods);
+    }
+
+    static class Service {
+        void load() {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.profiling.capture;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvocationCapturesTest {
+
+    private final Method method = method();
+
+    @Test
+    void capturesOwnThreadAndThreadsItStarts() throws Exception {
+        try (InvocationCapture capture = InvocationCaptures.open()) {
+            assertTrue(InvocationCaptures.isActive());
+            InvocationCaptures.record(method, 10, -1, false);
+            Thread child = new Thread(() -> InvocationCaptures.record(method, 20, -1, false));
+            child.start();
+            child.join();
+
+            assertEquals(2, capture.snapshot().methods().get(0).count());
+        }
+        assertFalse(InvocationCaptures.isActive());
+    }
+
+    @Test
+    void ignoresInvocationsOfConcurrentTests() throws Exception {
+        CountDownLatch opened = new CountDownLatch(1);
+        CountDownLatch recorded = new CountDownLatch(1);
+        AtomicBoolean otherActive = new AtomicBoolean(true);
+        Thread otherTest = new Thread(() -> {
+            try {
+                opened.await();
+                otherActive.set(InvocationCaptures.isActive());
+                InvocationCaptures.record(method, 30, -1, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                recorded.countDown();
+            }
+        });
+        otherTest.start();
+
+        try (InvocationCapture capture = InvocationCaptures.open()) {
+            opened.countDown();
+            recorded.await();
+
+            assertFalse(otherActive.get());
+            assertTrue(capture.snapshot().methods().isEmpty());
+        }
+        otherTest.join();
+    }
+
+    @Test
+    void threadsStartedDuringCaptureStopReportingOnClose() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicBoolean activeAfterClose = new AtomicBoolean(true);
+        InvocationCapture capture = InvocationCaptures.open();
+        Thread child = new Thread(() -> {
+            try {
+                closed.await();
+                activeAfterClose.set(InvocationCaptures.isActive());
+                InvocationCaptures.record(method, 40, -1, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        child.start();
+        capture.close();
+        closed.countDown();
+        child.join();
+
+        assertFalse(activeAfterClose.get());
+        assertTrue(capture.snapshot().methods().isEmpty());
+    }
+
+    private static Method method() {
+        try {
+            return InvocationCapturesTest.class.getDeclaredMethod("profiled");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void profiled() {
+    }
+}
@@ -0,0 +1,139 @@
+package org.profiling.contention;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.stats.MethodStats;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThreadContentionTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile long sink;
+
+    @Test
+    void reportsSleepAsWaitedTime() throws Exception {
+        ThreadCounters start = ThreadContention.start();
+        long startTime = System.nanoTime();
+        Thread.sleep(50);
+        ContentionSplit split = ThreadContention.finish(start, System.nanoTime() - startTime);
+
+        assertTrue(split.waitedCount() >= 1, "split " + split);
+        assertTrue(split.waitedNanos() > 0, "split " + split);
+        assertTrue(split.cpuNanos() < split.waitedNanos(), "split " + split);
+        assertEquals(0, split.blockedCount());
+    }
+
+    @Test
+    void reportsSpinAsCpuTime() {
+        ThreadCounters start = ThreadContention.start();
+        long startTime = System.nanoTime();
+        spin(50);
+        long wall = System.nanoTime() - startTime;
+        ContentionSplit split = ThreadContention.finish(start, wall);
+
+        assertTrue(split.cpuNanos() > 0, "split " + split);
+        assertEquals(0, split.blockedCount());
+        assertEquals(0, split.waitedCount());
+    }
+
+    @Test
+    void reportsMonitorHeldByAnotherThreadAsBlockedTime() throws Exception {
+        Object lock = new Object();
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (lock) {
+                locked.countDown();
+                spin(50);
+            }
+        });
+        holder.start();
+        locked.await();
+
+        ThreadCounters start = ThreadContention.start();
+        long startTime = System.nanoTime();
+        synchronized (lock) {
+            spin(0);
+        }
+        ContentionSplit split = ThreadContention.finish(start, System.nanoTime() - startTime);
+        holder.join();
+
+        assertTrue(split.blockedCount() >= 1, "split " + split);
+        assertTrue(split.blockedNanos() > 0, "split " + split);
+    }
+
+    @Test
+    void countsManyShortMonitorBlocks() throws Exception {
+        Object lock = new Object();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread holder = new Thread(() -> {
+            while (running.get()) {
+                synchronized (lock) {
+                    started.countDown();
+                    spinMicros(100);
+                }
+            }
+        });
+        holder.start();
+        started.await();
+
+        ThreadCounters start = ThreadContention.start();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            synchronized (lock) {
+                spinMicros(1);
+            }
+        }
+        ContentionSplit split = ThreadContention.finish(start, System.nanoTime() - startTime);
+        running.set(false);
+        holder.join();
+
+        assertTrue(split.blockedCount() >= 1, "split " + split);
+    }
+
+    @Test
+    void clampsPartsToWallTime() {
+        ContentionSplit split = ContentionSplit.of(10 * MILLIS, 4 * MILLIS, 5 * MILLIS, 1, 3 * MILLIS, 2);
+
+        assertEquals(4 * MILLIS, split.cpuNanos());
+        assertEquals(5 * MILLIS, split.blockedNanos());
+        assertEquals(MILLIS, split.waitedNanos());
+        assertEquals(0, split.otherNanos());
+        assertEquals(new ContentionSplit(0, 0, 0, 0, 0, 0), ContentionSplit.of(0, -1, 5, -1, 5, -1));
+    }
+
+    @Test
+    void aggregatesSplitsPerMethod() {
+        MethodStats stats = new MethodStats("com.acme.Service.handle");
+        assertNull(stats.snapshot().contention());
+
+        stats.recordContention(new ContentionSplit(2 * MILLIS, 3 * MILLIS, 1, 4 * MILLIS, 2, MILLIS));
+        stats.recordContention(new ContentionSplit(MILLIS, 0, 0, 0, 0, MILLIS));
+
+        assertEquals(new ContentionTotals(2, 3 * MILLIS, 3 * MILLIS, 1, 4 * MILLIS, 2, 2 * MILLIS),
+                stats.snapshot().contention());
+    }
+
+    private static void spinMicros(long micros) {
+        long end = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(micros);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void spin(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long value = 0;
+        while (System.nanoTime() < end) {
+            value += value * 31 + 7;
+        }
+        sink = value;
+    }
+}
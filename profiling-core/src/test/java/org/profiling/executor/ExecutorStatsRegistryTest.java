@@ -0,0 +1,188 @@
+package org.profiling.executor;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.aot.ProfilingRuntimeHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutorStatsRegistryTest {
+
+    private final ExecutorStatsRegistry registry = new ExecutorStatsRegistry();
+
+    @Test
+    void separatesQueueWaitFromExecution() throws Exception {
+        ExecutorService executor = registry.wrap("single", Executors.newSingleThreadExecutor());
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            Future<Long> queued = executor.submit(QueuedTask::takeQueueWait);
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertEquals(1, registry.forExecutor("single").getQueueDepth());
+            release.countDown();
+
+            long waitNanos = queued.get(5, TimeUnit.SECONDS);
+            assertTrue(waitNanos >= TimeUnit.MILLISECONDS.toNanos(50), "wait " + waitNanos);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        ExecutorStatsSnapshot snapshot = registry.snapshot().get(0);
+        assertEquals("single", snapshot.executor());
+        assertEquals(0, snapshot.queueDepth());
+        assertEquals(2, snapshot.completed());
+        assertTrue(snapshot.maxWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(snapshot.p99ExecutionNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void handsOutQueueWaitOnce() throws Exception {
+        ExecutorService executor = registry.wrap("single", Executors.newSingleThreadExecutor());
+        try {
+            Future<long[]> waits = executor.submit(
+                    () -> new long[]{QueuedTask.takeQueueWait(), QueuedTask.takeQueueWait()});
+            long[] taken = waits.get(5, TimeUnit.SECONDS);
+            assertTrue(taken[0] >= 0);
+            assertEquals(-1L, taken[1]);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(-1L, QueuedTask.takeQueueWait());
+    }
+
+    @Test
+    void keepsExistingDecoratorOfThreadPoolTaskExecutor() throws Exception {
+        AtomicBoolean decorated = new AtomicBoolean();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(task -> () -> {
+            decorated.set(true);
+            task.run();
+        });
+        new QueueTimingBeanPostProcessor(registry).postProcessBeforeInitialization(executor, "applicationTaskExecutor");
+        executor.initialize();
+        try {
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(decorated.get());
+        ExecutorStatsSnapshot snapshot = registry.snapshot().get(0);
+        assertEquals("applicationTaskExecutor", snapshot.executor());
+        assertEquals(1, snapshot.completed());
+    }
+
+    @Test
+    void forgetsRejectedTasksOfWrappedExecutor() throws Exception {
+        ExecutorService executor = registry.wrap("bounded",
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            executor.execute(() -> { });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+            assertEquals(1, registry.forExecutor("bounded").getQueueDepth());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        ExecutorStatsSnapshot snapshot = registry.snapshot().get(0);
+        assertEquals(0, snapshot.queueDepth());
+        assertEquals(0, snapshot.active());
+        assertEquals(2, snapshot.completed());
+    }
+
+    @Test
+    void forgetsRejectedTasksOfThreadPoolTaskExecutor() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        new QueueTimingBeanPostProcessor(registry).postProcessBeforeInitialization(executor, "boundedTaskExecutor");
+        executor.initialize();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.execute(() -> await(release));
+            executor.execute(() -> { });
+            assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+            assertEquals(1, registry.forExecutor("boundedTaskExecutor").getQueueDepth());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        ExecutorStatsSnapshot snapshot = registry.snapshot().get(0);
+        assertEquals(0, snapshot.queueDepth());
+        assertEquals(0, snapshot.active());
+        assertEquals(2, snapshot.completed());
+    }
+
+    @Test
+    void leavesExecutorUntouchedWhenDecoratorCannotBeRead() throws Exception {
+        AtomicBoolean decorated = new AtomicBoolean();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(task -> () -> {
+            decorated.set(true);
+            task.run();
+        });
+        new QueueTimingBeanPostProcessor(registry, null).postProcessBeforeInitialization(executor, "applicationTaskExecutor");
+        executor.initialize();
+        try {
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(decorated.get());
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    void registersReflectionHintForDecoratorField() {
+        RuntimeHints hints = new RuntimeHints();
+        new ProfilingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onField(ThreadPoolTaskExecutor.class, QueueTimingBeanPostProcessor.TASK_DECORATOR_FIELD).test(hints));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
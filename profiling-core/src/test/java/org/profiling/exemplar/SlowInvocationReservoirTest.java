@@ -0,0 +1,71 @@
+package org.profiling.exemplar;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.ProfilingRecord;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowInvocationReservoirTest {
+
+    private final SlowInvocationReservoir reservoir = new SlowInvocationReservoir(3);
+
+    @Test
+    void keepsSlowestInvocationsPerMethod() throws Exception {
+        Method method = Service.class.getDeclaredMethod("work");
+        for (long nanos : new long[]{50, 10, 70, 30, 90, 20, 60}) {
+            offer(method, nanos);
+        }
+
+        List<SlowInvocation> slowest = reservoir.snapshot();
+        assertEquals(List.of(90L, 70L, 60L), slowest.stream().map(SlowInvocation::executionNanos).toList());
+    }
+
+    @Test
+    void admitsOnlyInvocationsSlowerThanNthSlowest() throws Exception {
+        Method method = Service.class.getDeclaredMethod("work");
+        assertTrue(reservoir.admits(method, 1));
+        offer(method, 10);
+        offer(method, 20);
+        assertTrue(reservoir.admits(method, 1));
+        offer(method, 30);
+
+        assertFalse(reservoir.admits(method, 10));
+        assertTrue(reservoir.admits(method, 11));
+    }
+
+    @Test
+    void drainStartsNewPeriod() throws Exception {
+        Method method = Service.class.getDeclaredMethod("work");
+        Method other = Service.class.getDeclaredMethod("other");
+        offer(method, 10);
+        offer(method, 20);
+        offer(method, 30);
+        offer(other, 5);
+
+        assertEquals(4, reservoir.drain().size());
+        assertTrue(reservoir.snapshot().isEmpty());
+        assertTrue(reservoir.admits(method, 1));
+    }
+
+    private void offer(Method method, long nanos) {
+        if (reservoir.admits(method, nanos)) {
+            ProfilingRecord record = new ProfilingRecord(method, "", new Object[0], null, null, nanos,
+                    null, null, true, true, true, true, null, -1L, null, null);
+            reservoir.offer(method, new SlowInvocation(Instant.now(), record));
+        }
+    }
+
+    static class Service {
+        void work() {
+        }
+
+        void other() {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.profiling.governor;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.stats.ProfilingPhase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OverheadGovernorTest {
+
+    private static final long WINDOW = Duration.ofSeconds(1).toNanos();
+
+    private final ProfilingOverhead overhead = new ProfilingOverhead();
+    private final List<DetailLevelChange> changes = new ArrayList<>();
+    private final OverheadGovernor governor =
+            new OverheadGovernor(overhead, 0.01, Duration.ofSeconds(1), 10, changes::add);
+    private long now = System.nanoTime();
+
+    @Test
+    void degradesStepByStepWhileOverBudget() {
+        for (DetailLevel expected : new DetailLevel[]{
+                DetailLevel.NO_CALLER_INFO, DetailLevel.NO_PAYLOAD, DetailLevel.SAMPLED,
+                DetailLevel.AGGREGATE_ONLY, DetailLevel.AGGREGATE_ONLY}) {
+            window(1_000_000, 100_000);
+            assertEquals(expected, governor.level());
+        }
+        assertEquals(4, changes.size());
+        assertEquals(DetailLevel.FULL, changes.get(0).previous());
+        assertFalse(governor.shouldEmit(DetailLevel.AGGREGATE_ONLY));
+    }
+
+    @Test
+    void restoresWhenOverheadFallsWellBelowBudget() {
+        window(1_000_000, 100_000);
+        window(1_000_000, 100_000);
+        assertEquals(DetailLevel.NO_PAYLOAD, governor.level());
+
+        window(1_000_000, 7_000);
+        assertEquals(DetailLevel.NO_PAYLOAD, governor.level());
+
+        window(1_000_000, 1_000);
+        assertEquals(DetailLevel.NO_CALLER_INFO, governor.level());
+        window(1_000_000, 1_000);
+        assertEquals(DetailLevel.FULL, governor.level());
+    }
+
+    @Test
+    void doesNotEvaluateBeforeWindowEnds() {
+        overhead.record(ProfilingPhase.INVOKE, 1_000);
+        overhead.record(ProfilingPhase.RENDER, 1_000);
+        governor.maybeEvaluate(now);
+        assertEquals(DetailLevel.FULL, governor.level());
+    }
+
+    @Test
+    void rejectsInvalidBudget() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OverheadGovernor(overhead, 2.0, Duration.ofSeconds(1), 10, null));
+    }
+
+    private void window(long invokeNanos, long profilerNanos) {
+        overhead.record(ProfilingPhase.INVOKE, invokeNanos);
+        overhead.record(ProfilingPhase.RENDER, profilerNanos);
+        now += WINDOW;
+        governor.maybeEvaluate(now);
+    }
+}
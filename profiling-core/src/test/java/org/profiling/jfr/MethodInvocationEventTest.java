@@ -0,0 +1,89 @@
+package org.profiling.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.profiling.Profiling;
+import org.profiling.ProfilingMethodInterceptor;
+import org.profiling.enums.LogType;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MethodInvocationEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ProfilingMethodInterceptor interceptor =
+            new ProfilingMethodInterceptor(ProfiledService.class, new ProfiledService(), LogType.JFR);
+
+    @Test
+    void commitsEventForSuccessfulInvocation() throws Throwable {
+        List<RecordedEvent> events = record(Duration.ZERO, () ->
+                interceptor.intercept(null, ProfiledService.class.getDeclaredMethod("work"), new Object[0], null));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(ProfiledService.class.getName() + ".work", event.getString("method"));
+        assertEquals("jfr work", event.getString("message"));
+        assertEquals(MethodInvocationEvent.SUCCESS, event.getString("outcome"));
+        assertTrue(event.getDuration().toNanos() >= 0);
+    }
+
+    @Test
+    void commitsEventWithExceptionOutcome() throws Throwable {
+        List<RecordedEvent> events = record(Duration.ZERO, () ->
+                assertThrows(IllegalStateException.class, () ->
+                        interceptor.intercept(null, ProfiledService.class.getDeclaredMethod("fail"), new Object[0], null)));
+
+        assertEquals(1, events.size());
+        assertEquals(MethodInvocationEvent.EXCEPTION, events.get(0).getString("outcome"));
+        assertEquals(IllegalStateException.class.getName(), events.get(0).getClass("exceptionType").getName());
+    }
+
+    @Test
+    void honorsThresholdFromRecordingSettings() throws Throwable {
+        List<RecordedEvent> events = record(Duration.ofHours(1), () ->
+                interceptor.intercept(null, ProfiledService.class.getDeclaredMethod("work"), new Object[0], null));
+
+        assertTrue(events.isEmpty());
+    }
+
+    private List<RecordedEvent> record(Duration threshold, ThrowingRunnable action) throws Throwable {
+        Path file = tempDir.resolve("profiling.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MethodInvocationEvent.NAME).withThreshold(threshold);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(MethodInvocationEvent.NAME))
+                .toList();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Throwable;
+    }
+
+    @Profiling(message = "jfr work")
+    public static class ProfiledService {
+        public String work() {
+            return "ok";
+        }
+
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
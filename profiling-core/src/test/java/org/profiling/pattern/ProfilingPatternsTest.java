@@ -0,0 +1,148 @@
+package org.profiling.pattern;
+
+import org.junit.jupiter.api.Test;
+import org.profiling.Profiling;
+import org.profiling.plan.ProfilingPlan;
+import org.profiling.plan.ProfilingPlans;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingPatternsTest {
+
+    private static final String PACKAGE = ProfilingPatternsTest.class.getPackageName();
+
+    @Test
+    void selectsMethodsByPackageAndSignature() throws Exception {
+        ProfilingPatterns patterns = new ProfilingPatterns(List.of(
+                new MethodPattern(PACKAGE + ".**Client", "find*", "String", "long,..", "lookup",
+                        false, true, true, false, false)),
+                List.of());
+
+        ProfilingPlan plan = patterns.resolve(method(UserClient.class, "findName", long.class, int.class),
+                UserClient.class);
+        assertNotNull(plan);
+        assertEquals("lookup", plan.message());
+        assertFalse(plan.logParams());
+        assertEquals(UserClient.class, plan.method().getDeclaringClass());
+
+        assertNull(patterns.resolve(method(UserClient.class, "findAge", long.class), UserClient.class));
+        assertNull(patterns.resolve(method(UserClient.class, "store", String.class), UserClient.class));
+        assertNull(patterns.resolve(Object.class.getMethod("toString"), UserClient.class));
+        assertTrue(patterns.includesAny(UserClient.class));
+        assertFalse(patterns.includesAny(Annotated.class));
+    }
+
+    @Test
+    void excludesWinOverIncludesAndAnnotations() throws Exception {
+        ProfilingPatterns patterns = new ProfilingPatterns(
+                List.of(MethodPattern.of(PACKAGE + ".**", null)),
+                List.of(MethodPattern.of("*UserClient", "store"), MethodPattern.of("*Annotated", null)));
+
+        assertNotNull(patterns.resolve(method(UserClient.class, "findAge", long.class), UserClient.class));
+        assertNull(patterns.resolve(method(UserClient.class, "store", String.class), UserClient.class));
+        assertTrue(patterns.matchesClass(UserClient.class));
+        assertFalse(patterns.matchesClass(Annotated.class));
+        assertNull(patterns.resolve(method(Annotated.class, "call"), Annotated.class));
+    }
+
+    @Test
+    void keepsAnnotationsWhenNoPatternApplies() throws Exception {
+        ProfilingPatterns patterns = new ProfilingPatterns(List.of(MethodPattern.of("com.acme.**", null)), List.of());
+
+        ProfilingPlan plan = patterns.resolve(method(Annotated.class, "call"), Annotated.class);
+        assertNotNull(plan);
+        assertEquals("annotated", plan.message());
+        assertNull(patterns.resolve(method(UserClient.class, "findAge", long.class), UserClient.class));
+    }
+
+    @Test
+    void matchesThousandsOfClasses() throws Exception {
+        List<Class<?>> classes = jdkClasses(3000);
+        List<MethodPattern> includes = new ArrayList<>();
+        List<MethodPattern> excludes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            includes.add(MethodPattern.of("com.acme.service" + i + ".**", null));
+            excludes.add(MethodPattern.of("com.acme.service" + i + ".internal.*", "get*"));
+        }
+        includes.add(MethodPattern.of("java.util.concurrent.*Executor*", "submit"));
+        includes.add(new MethodPattern("java.util.**", "get*", null, "int", "", true, true, true, true, false));
+        excludes.add(MethodPattern.of("java.util.*List", null));
+        ProfilingPatterns patterns = new ProfilingPatterns(includes, excludes);
+
+        long profiled = 0;
+        for (Class<?> type : classes) {
+            if (!patterns.matchesClass(type)) {
+                continue;
+            }
+            for (Method method : type.getMethods()) {
+                if (patterns.resolve(method, type) != null) {
+                    profiled++;
+                }
+            }
+        }
+        ProfilingPlans.reset();
+
+        assertTrue(profiled > 0);
+        assertEquals(classes.size(), patterns.getMatchedClasses());
+        assertTrue(patterns.getMatchNanos() > 0);
+    }
+
+    private static List<Class<?>> jdkClasses(int limit) throws IOException {
+        List<Class<?>> classes = new ArrayList<>();
+        Path root = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("/modules/java.base");
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = root.relativize(file).toString();
+                if (classes.size() >= limit || !name.endsWith(".class") || name.contains("module-info")) {
+                    continue;
+                }
+                try {
+                    Class<?> type = Class.forName(name.substring(0, name.length() - 6).replace('/', '.'), false,
+                            ClassLoader.getSystemClassLoader());
+                    type.getMethods();
+                    classes.add(type);
+                } catch (Throwable ignored) {
+                    // not accessible from the unnamed module
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static Method method(Class<?> type, String name, Class<?>... parameterTypes) throws Exception {
+        return type.getDeclaredMethod(name, parameterTypes);
+    }
+
+    public static class UserClient {
+        public String findName(long id, int version) {
+            return "user-" + id;
+        }
+
+        public int findAge(long id) {
+            return 42;
+        }
+
+        public void store(String name) {
+        }
+    }
+
+    public static class Annotated {
+        @Profiling(message = "annotated")
+        public void call() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.profiling.sampling;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StackSamplerTest {
+
+    @Test
+    void attachesHotFramesToLongRunningInvocation() throws Exception {
+        try (StackSampler sampler = new StackSampler(new InFlightRegistry(), Duration.ofMillis(5),
+                Duration.ofMillis(20), 3)) {
+            InFlightInvocation invocation = sampler.enter(method("spin"));
+            spin(200);
+            List<HotFrame> hotFrames = sampler.exit(invocation);
+
+            assertTrue(hotFrames != null && !hotFrames.isEmpty(), "hot frames " + hotFrames);
+            assertTrue(hotFrames.size() <= 3);
+            assertTrue(hotFrames.get(0).samples() > 1, "hot frames " + hotFrames);
+            assertTrue(hotFrames.stream().anyMatch(frame -> frame.frame().contains("StackSamplerTest.spin")),
+                    "hot frames " + hotFrames);
+        }
+    }
+
+    @Test
+    void chargesJdkFramesToApplicationCodeInsideInvocation() throws Exception {
+        try (StackSampler sampler = new StackSampler(new InFlightRegistry(), Duration.ofMillis(5),
+                Duration.ofMillis(20), 3)) {
+            InFlightInvocation invocation = sampler.enter(method("sleepIn"));
+            sleepIn(200);
+            List<HotFrame> hotFrames = sampler.exit(invocation);
+
+            assertTrue(hotFrames != null && !hotFrames.isEmpty(), "hot frames " + hotFrames);
+            assertTrue(hotFrames.stream().allMatch(frame -> frame.frame().contains("StackSamplerTest.sleep")),
+                    "hot frames " + hotFrames);
+            assertTrue(hotFrames.get(0).frame().contains("StackSamplerTest.sleepInside"), "hot frames " + hotFrames);
+        }
+    }
+
+    @Test
+    void leavesShortInvocationsUnsampled() throws Exception {
+        try (StackSampler sampler = new StackSampler(new InFlightRegistry(), Duration.ofMillis(5),
+                Duration.ofSeconds(10), 3)) {
+            for (int i = 0; i < 20; i++) {
+                InFlightInvocation invocation = sampler.enter(method("spin"));
+                spin(2);
+                assertNull(sampler.exit(invocation));
+            }
+        }
+    }
+
+    @Test
+    void listsLongRunningInvocationsOfOtherThreads() throws Exception {
+        try (StackSampler sampler = new StackSampler(new InFlightRegistry(), Duration.ofMillis(5),
+                Duration.ofMillis(20), 3)) {
+            CountDownLatch entered = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Thread worker = new Thread(() -> {
+                InFlightInvocation invocation = sampler.enter(method("spin"));
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                sampler.exit(invocation);
+            }, "long-running-worker");
+            worker.start();
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+
+            List<InFlightSnapshot> running = sampler.longRunning();
+            assertEquals(1, running.size());
+            assertEquals("long-running-worker", running.get(0).thread());
+            assertEquals("org.profiling.sampling.StackSamplerTest.spin", running.get(0).method());
+
+            release.countDown();
+            worker.join(5000);
+            assertFalse(worker.isAlive());
+            assertTrue(sampler.longRunning().isEmpty());
+        }
+    }
+
+    private static Method method(String name) {
+        try {
+            return StackSamplerTest.class.getDeclaredMethod(name, long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long sleepIn(long millis) throws InterruptedException {
+        sleepInside(millis);
+        return millis;
+    }
+
+    private static void sleepInside(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    private static long spin(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long counter = 0;
+        while (System.nanoTime() < deadline) {
+            counter++;
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,57 @@
+package org.profiling.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertWithinError(500_000, histogram.valueAtPercentile(50));
+        assertWithinError(990_000, histogram.valueAtPercentile(99));
+        assertWithinError(1_000_000, histogram.valueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().valueAtPercentile(99));
+    }
+
+    @Test
+    void bucketsCoverWholeRangeWithoutGaps() {
+        long previousHighest = -1;
+        for (int index = 0; index < (64 - 5) * LatencyHistogram.SUB_BUCKETS; index++) {
+            long lowest = LatencyHistogram.lowestEquivalentValue(index);
+            assertEquals(previousHighest + 1, lowest);
+            assertEquals(index, LatencyHistogram.index(lowest));
+            previousHighest = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.index(previousHighest));
+        }
+        assertEquals(Long.MAX_VALUE, previousHighest);
+    }
+
+    @Test
+    void mergesHistograms() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            fast.record(100);
+        }
+        slow.record(1_000_000);
+
+        fast.add(slow);
+
+        assertEquals(100, fast.getCount());
+        assertWithinError(100, fast.valueAtPercentile(99));
+        assertWithinError(1_000_000, fast.valueAtPercentile(100));
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / LatencyHistogram.SUB_BUCKETS,
+                "expected ~" + expected + " but was " + actual);
+    }
+}
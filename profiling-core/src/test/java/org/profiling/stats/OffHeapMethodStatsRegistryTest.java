@@ -0,0 +1,149 @@
+package org.profiling.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffHeapMethodStatsRegistryTest {
+
+    @Test
+    void aggregatesLikeHeapRegistry() throws Exception {
+        OffHeapMethodStatsRegistry offHeap = new OffHeapMethodStatsRegistry(
+                4L * OffHeapMethodStatsRegistry.SLOT_BYTES, null);
+        MethodStatsRegistry heap = new HeapMethodStatsRegistry();
+        Method method = Service.class.getDeclaredMethod("a");
+        for (int i = 1; i <= 1000; i++) {
+            offHeap.record(method, i * 1000L, i % 10 == 0);
+            heap.record(method, i * 1000L, i % 10 == 0);
+        }
+        offHeap.recordQueueWait(method, 5000);
+        heap.recordQueueWait(method, 5000);
+
+        assertEquals(heap.snapshot(), offHeap.snapshot());
+        assertEquals(1, offHeap.getMethods().size());
+    }
+
+    @Test
+    void evictsColdMethodsAtMemoryCap() throws Exception {
+        List<String> evicted = new ArrayList<>();
+        OffHeapMethodStatsRegistry registry = new OffHeapMethodStatsRegistry(
+                2L * OffHeapMethodStatsRegistry.SLOT_BYTES + 100,
+                (method, stats) -> evicted.add(method.getName() + "=" + stats.getCount()));
+        Method a = Service.class.getDeclaredMethod("a");
+        Method b = Service.class.getDeclaredMethod("b");
+        Method c = Service.class.getDeclaredMethod("c");
+        assertEquals(2, registry.getCapacity());
+
+        registry.record(a, 10, false);
+        registry.record(b, 10, false);
+        registry.record(c, 10, false);
+        registry.record(c, 10, false);
+        registry.record(a, 10, false);
+        registry.record(b, 10, false);
+
+        assertEquals(List.of("a=1", "b=1", "c=2"), evicted);
+        assertEquals(3, registry.getEvictions());
+        assertEquals(2, registry.getMethods().size());
+        assertEquals(1, registry.snapshot().get(0).count());
+    }
+
+    @Test
+    void keepsCountsUnderConcurrentEviction() throws Exception {
+        long[] evictedCount = new long[1];
+        OffHeapMethodStatsRegistry registry = new OffHeapMethodStatsRegistry(
+                2L * OffHeapMethodStatsRegistry.SLOT_BYTES,
+                (method, stats) -> {
+                    synchronized (evictedCount) {
+                        evictedCount[0] += stats.getCount();
+                    }
+                });
+        Method[] methods = Service.class.getDeclaredMethods();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        registry.record(methods[(i + offset) % methods.length], i, false);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long live = registry.snapshot().stream().mapToLong(MethodStatsSnapshot::count).sum();
+        synchronized (evictedCount) {
+            assertEquals(80_000, live + evictedCount[0]);
+        }
+        assertTrue(registry.getEvictions() > 0);
+    }
+
+    @Test
+    void keepsOverloadsWithSameHashCodeApart() throws Exception {
+        OffHeapMethodStatsRegistry registry = new OffHeapMethodStatsRegistry(
+                2L * OffHeapMethodStatsRegistry.SLOT_BYTES, null);
+        Method plain = Service.class.getDeclaredMethod("d");
+        Method overload = Service.class.getDeclaredMethod("d", int.class);
+        assertEquals(plain.hashCode(), overload.hashCode());
+
+        registry.record(plain, 10, false);
+        registry.record(overload, 10, false);
+        registry.record(overload, 10, false);
+
+        assertEquals(List.of(2L, 1L), registry.snapshot().stream().map(MethodStatsSnapshot::count).toList());
+        assertEquals(0, registry.getEvictions());
+    }
+
+    @Test
+    void readsCompactReadOnlyHistograms() throws Exception {
+        OffHeapMethodStatsRegistry registry = new OffHeapMethodStatsRegistry(OffHeapMethodStatsRegistry.SLOT_BYTES, null);
+        Method method = Service.class.getDeclaredMethod("a");
+        registry.record(method, 1_000, false);
+        registry.record(method, 2_000_000, false);
+
+        LatencyHistogram latency = registry.getMethods().iterator().next().getLatency();
+        List<Integer> buckets = new ArrayList<>();
+        latency.forEachBucket((index, count) -> buckets.add(index));
+
+        assertEquals(List.of(LatencyHistogram.index(1_000), LatencyHistogram.index(2_000_000)), buckets);
+        assertEquals(2, latency.getCount());
+        assertEquals(1, latency.countAbove(1_000));
+        assertThrows(UnsupportedOperationException.class, () -> latency.record(10));
+    }
+
+    @Test
+    void rejectsCapBelowOneMethod() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapMethodStatsRegistry(1024, null));
+    }
+
+    static class Service {
+        void a() {
+        }
+
+        void b() {
+        }
+
+        void c() {
+        }
+
+        void d() {
+        }
+
+        void d(int value) {
+        }
+    }
+}
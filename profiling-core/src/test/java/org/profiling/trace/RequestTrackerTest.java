@@ -0,0 +1,128 @@
+package org.profiling.trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTrackerTest {
+
+    private final RequestTracker tracker = new RequestTracker(new TraceContextResolver(), 2);
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void summarizesNestedInvocationsPerRequest() throws Exception {
+        Method outer = Service.class.getDeclaredMethod("outer");
+        Method inner = Service.class.getDeclaredMethod("inner");
+
+        TraceContext context = tracker.enter();
+        assertSame(context, tracker.enter());
+        tracker.exit(inner, 10);
+        tracker.enter();
+        tracker.exit(inner, 20);
+        tracker.exit(outer, 100);
+
+        List<RequestSummary> recent = tracker.recent();
+        assertEquals(1, recent.size());
+        RequestSummary summary = recent.get(0);
+        assertEquals(context.traceId(), summary.traceId());
+        assertEquals(Service.class.getName() + ".outer", summary.methods().get(0).method());
+        assertEquals(2, summary.methods().get(1).calls());
+        assertEquals(30, summary.methods().get(1).totalNanos());
+        assertNull(tracker.current());
+    }
+
+    @Test
+    void usesTraceIdsFromMdc() throws Exception {
+        MDC.put("traceId", "abc");
+        MDC.put("spanId", "def");
+
+        TraceContext context = tracker.enter();
+        tracker.exit(Service.class.getDeclaredMethod("outer"), 1);
+
+        assertFalse(context.isLocal());
+        assertEquals("abc/def", context.toString());
+    }
+
+    @Test
+    void parsesW3cTraceparent() {
+        TraceContext context = TraceContextResolver.parseTraceparent(
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", context.traceId());
+        assertEquals("00f067aa0ba902b7", context.spanId());
+        assertNull(TraceContextResolver.parseTraceparent("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+    }
+
+    @Test
+    void generatesLocalIdsInW3cSizes() {
+        TraceContext context = new TraceContextResolver().resolve();
+
+        assertTrue(context.isLocal());
+        assertEquals(32, context.traceId().length());
+        assertEquals(16, context.spanId().length());
+    }
+
+    @Test
+    void wrappedTasksJoinSubmittingRequest() throws Exception {
+        Method outer = Service.class.getDeclaredMethod("outer");
+        Method inner = Service.class.getDeclaredMethod("inner");
+
+        TraceContext context = tracker.enter();
+        AtomicReference<TraceContext> joined = new AtomicReference<>();
+        Runnable task = tracker.wrap(() -> {
+            joined.set(tracker.enter());
+            tracker.exit(inner, 5);
+        });
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+        tracker.exit(outer, 50);
+
+        assertSame(context, joined.get());
+        RequestSummary summary = tracker.recent().get(0);
+        assertEquals(2, summary.methods().size());
+        assertEquals(1, tracker.recent().size());
+    }
+
+    @Test
+    void ignoresTasksFinishingAfterTheirRequest() throws Exception {
+        Method outer = Service.class.getDeclaredMethod("outer");
+        Method inner = Service.class.getDeclaredMethod("inner");
+
+        tracker.enter();
+        Runnable task = tracker.wrap(() -> {
+            tracker.enter();
+            tracker.exit(inner, 5);
+        });
+        tracker.exit(outer, 50);
+        Thread worker = new Thread(task);
+        worker.start();
+        worker.join();
+
+        RequestSummary summary = tracker.recent().get(0);
+        assertEquals(1, summary.methods().size());
+        assertEquals(Service.class.getName() + ".outer", summary.methods().get(0).method());
+    }
+
+    static class Service {
+        void outer() {
+        }
+
+        void inner() {
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.profiling.window;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WindowStatsRegistryTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final WindowStatsRegistry registry = new WindowStatsRegistry(10);
+    private final Method method = method("handle");
+    private final String name = WindowStatsRegistryTest.class.getName() + ".handle";
+
+    @Test
+    void aggregatesCompletedSecondsOfWindow() {
+        long start = 1_000 * SECOND;
+        for (int second = 0; second < 10; second++) {
+            for (int i = 0; i < 100; i++) {
+                registry.record(method, start + second * SECOND + i, (i + 1) * MILLIS, i < 5);
+            }
+        }
+
+        WindowSnapshot snapshot = registry.query(name, Duration.ofSeconds(5), start + 10 * SECOND);
+        assertEquals(5 * SECOND, snapshot.windowNanos());
+        assertEquals(500, snapshot.count());
+        assertEquals(25, snapshot.errors());
+        assertEquals(100.0, snapshot.ratePerSecond(), 0.001);
+        assertEquals(0.05, snapshot.errorRate(), 0.0001);
+        assertEquals(100 * MILLIS, snapshot.maxNanos());
+        assertTrue(snapshot.p99Nanos() >= 99 * MILLIS && snapshot.p99Nanos() <= 100 * MILLIS * 5 / 4,
+                "p99 " + snapshot.p99Nanos());
+        assertTrue(snapshot.p50Nanos() >= 50 * MILLIS && snapshot.p50Nanos() <= 50 * MILLIS * 5 / 4,
+                "p50 " + snapshot.p50Nanos());
+
+        // the current, incomplete second is not part of any window
+        registry.record(method, start + 10 * SECOND, SECOND, false);
+        assertEquals(500, registry.query(name, Duration.ofSeconds(5), start + 10 * SECOND + 1).count());
+    }
+
+    @Test
+    void answersLongerWindowsFromMinutes() {
+        long start = 100 * MINUTE;
+        for (int minute = 0; minute < 90; minute++) {
+            registry.record(method, start + minute * MINUTE, MILLIS, false);
+        }
+
+        WindowSnapshot fiveMinutes = registry.query(name, Duration.ofMinutes(5), start + 90 * MINUTE);
+        assertEquals(5 * MINUTE, fiveMinutes.windowNanos());
+        assertEquals(5, fiveMinutes.count());
+
+        WindowSnapshot day = registry.query(name, Duration.ofDays(1), start + 90 * MINUTE);
+        assertEquals(MethodWindows.MINUTES * MINUTE, day.windowNanos());
+        assertEquals(MethodWindows.MINUTES, day.count());
+
+        assertNull(registry.query("com.acme.Unknown.method", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void warnsOnceWhenLatencyDeviatesFromBaseline() {
+        AnomalyDetector detector = new AnomalyDetector(registry, 3.0, 0.2, 10, 3, false);
+        try {
+            long start = 100 * MINUTE;
+            int minute = 0;
+            for (; minute < 5; minute++) {
+                recordMinute(start + minute * MINUTE, 10 * MILLIS, 0);
+                detector.evaluate(start + (minute + 1) * MINUTE);
+            }
+            assertTrue(detector.anomalies().isEmpty());
+
+            for (int slow = 0; slow < 3; slow++, minute++) {
+                recordMinute(start + minute * MINUTE, 100 * MILLIS, 0);
+                detector.evaluate(start + (minute + 1) * MINUTE);
+            }
+            List<Anomaly> anomalies = detector.anomalies();
+            assertEquals(1, anomalies.size());
+            assertEquals(AnomalyKind.LATENCY, anomalies.get(0).kind());
+            assertEquals(name, anomalies.get(0).method());
+
+            MethodWindows windows = registry.getMethods().iterator().next();
+            assertTrue(windows.getBaselineP99Nanos() < 20 * MILLIS, "baseline " + windows.getBaselineP99Nanos());
+
+            recordMinute(start + minute * MINUTE, 10 * MILLIS, 0);
+            detector.evaluate(start + (minute + 1) * MINUTE);
+            assertTrue(detector.anomalies().isEmpty());
+        } finally {
+            detector.close();
+        }
+    }
+
+    @Test
+    void resolvesAnomalyWhenTrafficStops() {
+        AnomalyDetector detector = new AnomalyDetector(registry, 3.0, 0.2, 10, 3, false);
+        try {
+            long start = 100 * MINUTE;
+            int minute = 0;
+            for (; minute < 4; minute++) {
+                recordMinute(start + minute * MINUTE, 10 * MILLIS, 0);
+                detector.evaluate(start + (minute + 1) * MINUTE);
+            }
+            recordMinute(start + minute * MINUTE, 100 * MILLIS, 0);
+            detector.evaluate(start + (minute + 1) * MINUTE);
+            assertEquals(1, detector.anomalies().size());
+
+            detector.evaluate(start + (minute + 2) * MINUTE);
+            assertTrue(detector.anomalies().isEmpty());
+        } finally {
+            detector.close();
+        }
+    }
+
+    @Test
+    void capsWindowedMethods() {
+        WindowStatsRegistry capped = new WindowStatsRegistry(1);
+        capped.record(method, SECOND, MILLIS, false);
+        capped.record(method("other"), SECOND, MILLIS, false);
+        capped.record(method("other"), SECOND, MILLIS, false);
+
+        assertEquals(1, capped.getMethods().size());
+        assertEquals(2, capped.getDropped());
+        assertNull(capped.query(WindowStatsRegistryTest.class.getName() + ".other", Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void detectsErrorRateAboveFloor() {
+        AnomalyDetector detector = new AnomalyDetector(registry, 3.0, 0.2, 10, 3, false);
+        try {
+            long start = 100 * MINUTE;
+            int minute = 0;
+            for (; minute < 4; minute++) {
+                recordMinute(start + minute * MINUTE, MILLIS, minute == 0 ? 1 : 0);
+                detector.evaluate(start + (minute + 1) * MINUTE);
+            }
+            assertTrue(detector.anomalies().isEmpty());
+
+            recordMinute(start + minute * MINUTE, MILLIS, 20);
+            detector.evaluate(start + (minute + 1) * MINUTE);
+            assertEquals(AnomalyKind.ERROR_RATE, detector.anomalies().get(0).kind());
+        } finally {
+            detector.close();
+        }
+    }
+
+    private void recordMinute(long minuteStart, long nanos, int failures) {
+        for (int i = 0; i < 100; i++) {
+            registry.record(method, minuteStart + i * 100 * MILLIS, nanos, i < failures);
+        }
+    }
+
+    private static Method method(String name) {
+        try {
+            return WindowStatsRegistryTest.class.getDeclaredMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void handle() {
+    }
+
+    @SuppressWarnings("unused")
+    private void other() {
+    }
+}
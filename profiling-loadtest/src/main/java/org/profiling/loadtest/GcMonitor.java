@@ -0,0 +1,78 @@
+package org.profiling.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/***
+ * Collects stop-the-world collector pauses from GC notifications while open. Notifications of concurrent
+ * cycles (G1 {@code Concurrent GC}, ZGC/Shenandoah {@code Cycles}) are ignored since they don't stop
+ * application threads.
+ */
+class GcMonitor implements NotificationListener, AutoCloseable {
+
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final AtomicLong pauses = new AtomicLong();
+    private final AtomicLong pauseNanos = new AtomicLong();
+    private final LongAccumulator maxPauseNanos = new LongAccumulator(Math::max, 0);
+
+    GcMonitor() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        String name = info.getGcName();
+        if (name.contains("Concurrent") || name.contains("Cycles")) {
+            return;
+        }
+        long nanos = TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration());
+        pauses.incrementAndGet();
+        pauseNanos.addAndGet(nanos);
+        maxPauseNanos.accumulate(nanos);
+    }
+
+    long pauses() {
+        return pauses.get();
+    }
+
+    long pauseNanos() {
+        return pauseNanos.get();
+    }
+
+    long maxPauseNanos() {
+        return maxPauseNanos.get();
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException ignored) {
+                // already removed
+            }
+        }
+    }
+}
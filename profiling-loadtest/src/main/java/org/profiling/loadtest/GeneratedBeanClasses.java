@@ -0,0 +1,70 @@
+package org.profiling.loadtest;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/***
+ * Defines distinct bean classes spread over many packages, standing in for the third-party and generated
+ * beans of a large application. Class names follow {@code com.acme.m<module>.<layer>.<Layer><n>}; every class
+ * has a public no-arg constructor and the methods {@code Object find(long)}, {@code void save(Object)},
+ * {@code int count()} and {@code boolean exists(String)}.
+ */
+final class GeneratedBeanClasses extends ClassLoader {
+
+    static final int MODULES = 50;
+    static final List<String> LAYERS = List.of("client", "service", "repository", "internal");
+
+    GeneratedBeanClasses(ClassLoader parent) {
+        super(parent);
+    }
+
+    /***
+     * Defines classes.
+     *
+     * @param count number of classes.
+     * @return defined classes.
+     */
+    List<Class<?>> define(int count) {
+        List<Class<?>> classes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String layer = LAYERS.get(i % LAYERS.size());
+            String name = "com.acme.m" + (i / LAYERS.size()) % MODULES + "." + layer + "."
+                    + Character.toUpperCase(layer.charAt(0)) + layer.substring(1).toLowerCase(Locale.ROOT) + i;
+            byte[] bytecode = bytecode(name.replace('.', '/'));
+            classes.add(defineClass(name, bytecode, 0, bytecode.length));
+        }
+        return classes;
+    }
+
+    private static byte[] bytecode(String internalName) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        method(writer, "find", "(J)Ljava/lang/Object;", Opcodes.ACONST_NULL, Opcodes.ARETURN);
+        method(writer, "save", "(Ljava/lang/Object;)V", Opcodes.NOP, Opcodes.RETURN);
+        method(writer, "count", "()I", Opcodes.ICONST_0, Opcodes.IRETURN);
+        method(writer, "exists", "(Ljava/lang/String;)Z", Opcodes.ICONST_0, Opcodes.IRETURN);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static void method(ClassWriter writer, String name, String descriptor, int value, int returnOpcode) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, name, descriptor, null, null);
+        method.visitCode();
+        method.visitInsn(value);
+        method.visitInsn(returnOpcode);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+    }
+}
@@ -0,0 +1,159 @@
+package org.profiling.loadtest;
+
+import org.profiling.stats.LatencyHistogram;
+import org.profiling.stats.ThreadAllocation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/***
+ * Closed-loop load driver: every thread calls the operation back to back, first for the warm-up and then
+ * for the measured phase. Latency is recorded per thread and merged at the end, so the driver itself
+ * adds no contention between threads.
+ */
+public class LoadDriver {
+
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+
+    /***
+     * Creates driver.
+     *
+     * @param threads number of concurrent driver threads.
+     * @param warmup length of the unmeasured warm-up phase.
+     * @param duration length of the measured phase.
+     */
+    public LoadDriver(int threads, Duration warmup, Duration duration) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Load test needs at least one thread, got " + threads);
+        }
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /***
+     * Drives the operation and measures it.
+     *
+     * @param scenario scenario name written to the result.
+     * @param operation operation to call; exceptions are counted as errors.
+     * @return measurements of the measured phase.
+     * @throws InterruptedException when interrupted while waiting for driver threads.
+     */
+    public LoadResult run(String scenario, Runnable operation) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(operation, ready, start);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "loadtest-driver-" + i);
+            thread.setDaemon(true);
+            worker.thread = thread;
+        }
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+        ready.await();
+
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + duration.toNanos();
+        for (Worker worker : workers) {
+            worker.measureStart = measureStart;
+            worker.measureEnd = measureEnd;
+        }
+        try (GcMonitor gc = new GcMonitor()) {
+            start.countDown();
+            for (Worker worker : workers) {
+                worker.thread.join();
+            }
+            return result(scenario, workers, gc);
+        }
+    }
+
+    private LoadResult result(String scenario, List<Worker> workers, GcMonitor gc) {
+        LatencyHistogram latency = new LatencyHistogram();
+        long operations = 0;
+        long errors = 0;
+        long allocated = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("Load driver thread failed", worker.failure);
+            }
+            latency.add(worker.latency);
+            operations += worker.operations;
+            errors += worker.errors;
+            allocated = allocated < 0 || worker.allocatedBytes < 0 ? -1 : allocated + worker.allocatedBytes;
+        }
+        long nanos = duration.toNanos();
+        double seconds = nanos / 1_000_000_000.0;
+        return new LoadResult(scenario, threads, nanos, operations, errors,
+                operations / seconds,
+                latency.valueAtPercentile(50), latency.valueAtPercentile(90),
+                latency.valueAtPercentile(99), latency.valueAtPercentile(99.9), latency.valueAtPercentile(100),
+                allocated < 0 ? -1 : allocated / seconds,
+                allocated < 0 ? -1 : operations > 0 ? (double) allocated / operations : 0,
+                gc.pauses(), gc.pauseNanos(), gc.maxPauseNanos());
+    }
+
+    private static final class Worker implements Runnable {
+
+        private final Runnable operation;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private Thread thread;
+        private volatile long measureStart;
+        private volatile long measureEnd;
+        private long operations;
+        private long errors;
+        private long allocatedBytes;
+        private Throwable failure;
+
+        private Worker(Runnable operation, CountDownLatch ready, CountDownLatch start) {
+            this.operation = operation;
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ready.countDown();
+                start.await();
+                long measureStart = this.measureStart;
+                long measureEnd = this.measureEnd;
+                while (System.nanoTime() < measureStart) {
+                    call();
+                }
+                long allocationStart = ThreadAllocation.currentThreadAllocatedBytes();
+                long begin = System.nanoTime();
+                while (begin < measureEnd) {
+                    boolean failed = !call();
+                    latency.record(System.nanoTime() - begin);
+                    operations++;
+                    if (failed) {
+                        errors++;
+                    }
+                    begin = System.nanoTime();
+                }
+                long allocationEnd = ThreadAllocation.currentThreadAllocatedBytes();
+                allocatedBytes = allocationStart < 0 ? -1 : allocationEnd - allocationStart;
+            } catch (Throwable t) {
+                failure = t;
+            }
+        }
+
+        private boolean call() {
+            try {
+                operation.run();
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.profiling.loadtest;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/***
+ * Machine-readable JSON report of a load test run. Every scenario is also related to the {@code NONE}
+ * scenario when it was part of the run, so the profiler's service-level cost can be read directly.
+ * Startup figures of the AOT run are related to the JVM run the same way, and startup with profiling
+ * patterns to the same context without them.
+ */
+public final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    /***
+     * Writes report, replacing an existing file.
+     *
+     * @param file report file.
+     * @param warmup warm-up length of every scenario.
+     * @param results scenario results, {@code NONE} first when present.
+     * @param startup startup results, {@code JVM} first when present.
+     * @param patterns startup cost of profiling patterns, or {@code null} when not measured.
+     * @throws IOException when the report cannot be written.
+     */
+    public static void write(Path file, Duration warmup, List<LoadResult> results, List<StartupResult> startup,
+                             PatternResult patterns) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(file, toJson(warmup, results, startup, patterns));
+    }
+
+    /***
+     * Renders report.
+     *
+     * @param warmup warm-up length of every scenario.
+     * @param results scenario results, {@code NONE} first when present.
+     * @param startup startup results, {@code JVM} first when present.
+     * @param patterns startup cost of profiling patterns, or {@code null} when not measured.
+     * @return JSON document.
+     */
+    public static String toJson(Duration warmup, List<LoadResult> results, List<StartupResult> startup,
+                                PatternResult patterns) {
+        LoadResult reference = results.stream()
+                .filter(result -> result.scenario().equals(LoadScenario.NONE.name()))
+                .findFirst()
+                .orElse(null);
+        StringBuilder sb = new StringBuilder("{\n");
+        field(sb, 1, "timestamp", quote(Instant.now().toString()));
+        field(sb, 1, "javaVersion", quote(System.getProperty("java.version")));
+        field(sb, 1, "vm", quote(System.getProperty("java.vm.name")));
+        field(sb, 1, "availableProcessors", Runtime.getRuntime().availableProcessors());
+        field(sb, 1, "maxHeapBytes", Runtime.getRuntime().maxMemory());
+        field(sb, 1, "collectors", quote(String.join(",", ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .map(GarbageCollectorMXBean::getName).toList())));
+        field(sb, 1, "warmupNanos", warmup.toNanos());
+        appendStartup(sb, startup);
+        if (patterns != null) {
+            appendPatterns(sb, patterns);
+        }
+        sb.append("  \"scenarios\": [");
+        for (int i = 0; i < results.size(); i++) {
+            LoadResult result = results.get(i);
+            sb.append(i == 0 ? "\n" : ",\n").append("    {\n");
+            field(sb, 3, "scenario", quote(result.scenario()));
+            field(sb, 3, "threads", result.threads());
+            field(sb, 3, "durationNanos", result.durationNanos());
+            field(sb, 3, "operations", result.operations());
+            field(sb, 3, "errors", result.errors());
+            field(sb, 3, "throughputPerSecond", number(result.throughputPerSecond()));
+            field(sb, 3, "p50Nanos", result.p50Nanos());
+            field(sb, 3, "p90Nanos", result.p90Nanos());
+            field(sb, 3, "p99Nanos", result.p99Nanos());
+            field(sb, 3, "p999Nanos", result.p999Nanos());
+            field(sb, 3, "maxNanos", result.maxNanos());
+            field(sb, 3, "allocatedBytesPerSecond", number(result.allocatedBytesPerSecond()));
+            field(sb, 3, "allocatedBytesPerOperation", number(result.allocatedBytesPerOperation()));
+            field(sb, 3, "gcPauses", result.gcPauses());
+            field(sb, 3, "gcPauseNanos", result.gcPauseNanos());
+            if (reference != null && reference.throughputPerSecond() > 0 && reference.p99Nanos() > 0) {
+                field(sb, 3, "throughputVsNone", number(result.throughputPerSecond() / reference.throughputPerSecond()));
+                field(sb, 3, "p99VsNone", number((double) result.p99Nanos() / reference.p99Nanos()));
+            }
+            sb.append("      \"maxGcPauseNanos\": ").append(result.maxGcPauseNanos()).append("\n    }");
+        }
+        sb.append(results.isEmpty() ? "]\n" : "\n  ]\n").append("}\n");
+        return sb.toString();
+    }
+
+    private static void appendStartup(StringBuilder sb, List<StartupResult> startup) {
+        StartupResult jvm = startup.stream()
+                .filter(result -> result.mode().equals("JVM"))
+                .findFirst()
+                .orElse(null);
+        sb.append("  \"startup\": [");
+        for (int i = 0; i < startup.size(); i++) {
+            StartupResult result = startup.get(i);
+            sb.append(i == 0 ? "\n" : ",\n").append("    {\n");
+            field(sb, 3, "mode", quote(result.mode()));
+            field(sb, 3, "runs", result.runs());
+            field(sb, 3, "startupNanos", result.startupNanos());
+            if (jvm != null && result != jvm && jvm.startupNanos() > 0 && jvm.firstCallNanos() > 0) {
+                field(sb, 3, "startupVsJvm", number((double) result.startupNanos() / jvm.startupNanos()));
+                field(sb, 3, "firstCallVsJvm", number((double) result.firstCallNanos() / jvm.firstCallNanos()));
+            }
+            sb.append("      \"firstCallNanos\": ").append(result.firstCallNanos()).append("\n    }");
+        }
+        sb.append(startup.isEmpty() ? "],\n" : "\n  ],\n");
+    }
+
+    private static void appendPatterns(StringBuilder sb, PatternResult patterns) {
+        sb.append("  \"patterns\": {\n");
+        field(sb, 2, "beans", patterns.beans());
+        field(sb, 2, "patterns", patterns.patterns());
+        field(sb, 2, "runs", patterns.runs());
+        field(sb, 2, "startupNanos", patterns.startupNanos());
+        field(sb, 2, "startupWithoutPatternsNanos", patterns.startupWithoutPatternsNanos());
+        if (patterns.startupWithoutPatternsNanos() > 0) {
+            field(sb, 2, "startupVsWithoutPatterns",
+                    number((double) patterns.startupNanos() / patterns.startupWithoutPatternsNanos()));
+        }
+        field(sb, 2, "matchNanos", patterns.matchNanos());
+        field(sb, 2, "matchedClasses", patterns.matchedClasses());
+        if (patterns.matchedClasses() > 0) {
+            field(sb, 2, "matchNanosPerClass", number((double) patterns.matchNanos() / patterns.matchedClasses()));
+        }
+        sb.append("    \"proxiedBeans\": ").append(patterns.proxiedBeans()).append("\n  },\n");
+    }
+
+    private static void field(StringBuilder sb, int depth, String name, Object value) {
+        sb.append("  ".repeat(depth)).append('"').append(name).append("\": ").append(value).append(",\n");
+    }
+
+    private static String number(double value) {
+        return Double.isFinite(value) ? String.format(Locale.ROOT, "%.3f", value) : "null";
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,27 @@
+package org.profiling.loadtest;
+
+/***
+ * Measurements of a single scenario over its measured phase.
+ *
+ * @param scenario scenario name.
+ * @param threads number of driver threads.
+ * @param durationNanos length of the measured phase.
+ * @param operations completed operations.
+ * @param errors operations that threw an exception.
+ * @param throughputPerSecond operations per second.
+ * @param p50Nanos median operation latency.
+ * @param p90Nanos 90th percentile of operation latency.
+ * @param p99Nanos 99th percentile of operation latency.
+ * @param p999Nanos 99.9th percentile of operation latency.
+ * @param maxNanos slowest operation.
+ * @param allocatedBytesPerSecond bytes allocated by driver threads per second, {@code -1} when unsupported.
+ * @param allocatedBytesPerOperation bytes allocated by driver threads per operation, {@code -1} when unsupported.
+ * @param gcPauses number of stop-the-world collector pauses.
+ * @param gcPauseNanos accumulated collector pause time, millisecond resolution.
+ * @param maxGcPauseNanos longest collector pause, millisecond resolution.
+ */
+public record LoadResult(String scenario, int threads, long durationNanos, long operations, long errors,
+                         double throughputPerSecond, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos,
+                         long maxNanos, double allocatedBytesPerSecond, double allocatedBytesPerOperation,
+                         long gcPauses, long gcPauseNanos, long maxGcPauseNanos) {
+}
@@ -0,0 +1,100 @@
+package org.profiling.loadtest;
+
+import org.profiling.enums.LogType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Profiling configuration the sample application is started with.
+ *
+ * @param name scenario name used in reports, e.g. {@code AOP-PRETTIER}.
+ * @param mode profiling mode ({@code AOP}, {@code LEGACY} or {@code AGENT}), {@code null} when profiling is disabled.
+ * @param logType output mode, {@code null} when profiling is disabled.
+ */
+public record LoadScenario(String name, String mode, LogType logType) {
+
+    /***
+     * Scenario without profiling, the reference of all other scenarios.
+     */
+    public static final LoadScenario NONE = new LoadScenario("NONE", null, null);
+
+    /***
+     * Returns the reference scenario followed by every profiling mode in every output mode. Agent scenarios
+     * come last: instrumentation stays in the JVM once the agent is installed.
+     *
+     * @return all scenarios.
+     */
+    public static List<LoadScenario> all() {
+        List<LoadScenario> scenarios = new ArrayList<>();
+        scenarios.add(NONE);
+        for (String mode : List.of("AOP", "LEGACY", "AGENT")) {
+            for (LogType logType : LogType.values()) {
+                scenarios.add(new LoadScenario(mode + "-" + logType, mode, logType));
+            }
+        }
+        return scenarios;
+    }
+
+    /***
+     * Resolves comma-separated scenario names.
+     *
+     * @param names scenario names, or {@code ALL}.
+     * @return scenarios in the given order, {@link #NONE} first and agent scenarios last when requested.
+     */
+    public static List<LoadScenario> parse(String names) {
+        if (names == null || names.isBlank() || names.equalsIgnoreCase("ALL")) {
+            return all();
+        }
+        Map<String, LoadScenario> known = new LinkedHashMap<>();
+        for (LoadScenario scenario : all()) {
+            known.put(scenario.name(), scenario);
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .map(String::toUpperCase)
+                .map(name -> {
+                    LoadScenario scenario = known.get(name);
+                    if (scenario == null) {
+                        throw new IllegalArgumentException("Unknown load test scenario " + name
+                                + ", expected one of " + known.keySet());
+                    }
+                    return scenario;
+                })
+                .sorted(Comparator.comparingInt(LoadScenario::runOrder))
+                .toList();
+    }
+
+    /***
+     * Indicates whether the scenario installs the profiling agent.
+     *
+     * @return {@code true} for agent scenarios.
+     */
+    public boolean isAgent() {
+        return "AGENT".equals(mode);
+    }
+
+    /***
+     * Returns application properties selecting this scenario.
+     *
+     * @return property names and values.
+     */
+    public Map<String, Object> properties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (mode == null) {
+            properties.put("profiling.enabled", "false");
+        } else {
+            properties.put("profiling.mode", mode);
+            properties.put("profiling.log-type", logType.name());
+        }
+        return properties;
+    }
+
+    private int runOrder() {
+        return this == NONE ? 0 : isAgent() ? 2 : 1;
+    }
+}
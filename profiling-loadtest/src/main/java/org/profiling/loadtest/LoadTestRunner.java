@@ -0,0 +1,211 @@
+package org.profiling.loadtest;
+
+import jdk.jfr.Recording;
+import org.profiling.enums.LogType;
+import org.profiling.jfr.MethodInvocationEvent;
+import org.profiling.loadtest.app.CheckoutService;
+import org.profiling.loadtest.app.InventoryRepository;
+import org.profiling.loadtest.app.LoadTestApplication;
+import org.profiling.loadtest.app.Order;
+import org.profiling.loadtest.app.OrderLine;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * Runs the sample application under every profiling scenario and writes a JSON report:
+ * <pre>
+ * mvn -pl profiling-loadtest -am install -DskipTests
+ * mvn -pl profiling-loadtest exec:exec -Dloadtest.duration=60s -Dloadtest.scenarios=NONE,AOP-SIMPLE
+ * </pre>
+ * Scenarios run one after another in the same JVM, each in a fresh application context. Profiling
+ * records are written by Spring Boot's logback file appender to {@code <scenario>.log} next to the
+ * report, JFR events to {@code <scenario>.jfr} through a running recording. Afterwards the application's
+ * startup time and first-call latency are measured on the JVM and from its AOT-generated initializer by the
+ * {@link StartupProbe}, and the startup cost of profiling patterns on a context with thousands of beans by the
+ * {@link PatternProbe}.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    /***
+     * Runs load test and exits with its status.
+     *
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    static int run(String[] args, PrintStream out, PrintStream err) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        String scenarioNames = "ALL";
+        int startupRuns = 3;
+        Path report = Path.of("target", "loadtest-report.json");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--warmup" -> warmup = DurationStyle.detectAndParse(args[++i]);
+                    case "--duration" -> duration = DurationStyle.detectAndParse(args[++i]);
+                    case "--scenarios" -> scenarioNames = args[++i];
+                    case "--startup-runs" -> startupRuns = Integer.parseInt(args[++i]);
+                    case "--report" -> report = Path.of(args[++i]);
+                    default -> throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+            }
+            List<LoadScenario> scenarios = LoadScenario.parse(scenarioNames);
+            Path outputDirectory = report.toAbsolutePath().getParent();
+            List<LoadResult> results = run(scenarios, new LoadDriver(threads, warmup, duration), outputDirectory, out);
+            List<StartupResult> startup = startup(startupRuns, outputDirectory, out);
+            PatternResult patterns = patterns(startupRuns, outputDirectory, out);
+            LoadReport.write(report, warmup, results, startup, patterns);
+            out.println("Load test report written to " + report.toAbsolutePath());
+            return 0;
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            err.println("Usage: LoadTestRunner [--threads 8] [--warmup 10s] [--duration 30s] "
+                    + "[--scenarios ALL|NONE,AOP-SIMPLE,...] [--startup-runs 3] [--report target/loadtest-report.json]");
+            err.println(e.getMessage());
+            return 2;
+        } catch (IOException e) {
+            err.println("Cannot write load test report: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Load test interrupted");
+            return 2;
+        }
+    }
+
+    /***
+     * Runs scenarios one after another.
+     *
+     * @param scenarios scenarios to run.
+     * @param driver load driver.
+     * @param outputDirectory directory receiving profiling logs and JFR recordings.
+     * @param out receives a summary line per scenario.
+     * @return scenario results in run order.
+     * @throws IOException when a JFR recording cannot be written.
+     * @throws InterruptedException when interrupted while driving load.
+     */
+    public static List<LoadResult> run(List<LoadScenario> scenarios, LoadDriver driver, Path outputDirectory,
+                                       PrintStream out) throws IOException, InterruptedException {
+        List<LoadResult> results = new ArrayList<>();
+        for (LoadScenario scenario : scenarios) {
+            System.gc();
+            LoadResult result = run(scenario, driver, outputDirectory);
+            results.add(result);
+            out.println(String.format(Locale.ROOT,
+                    "%-16s %12.0f ops/s  p50 %8.1fµs  p99 %8.1fµs  p99.9 %8.1fµs  %10.0f B/op  %4d GC pauses",
+                    result.scenario(), result.throughputPerSecond(), result.p50Nanos() / 1_000.0,
+                    result.p99Nanos() / 1_000.0, result.p999Nanos() / 1_000.0,
+                    result.allocatedBytesPerOperation(), result.gcPauses()));
+        }
+        return results;
+    }
+
+    /***
+     * Measures startup on the JVM and from the AOT-generated initializer.
+     *
+     * @param runs fresh JVMs started per mode, {@code 0} to skip the measurement.
+     * @param outputDirectory directory receiving the output of the started JVMs.
+     * @param out receives a summary line per mode.
+     * @return JVM and AOT results, empty when skipped.
+     * @throws IOException when a JVM cannot be started or fails.
+     * @throws InterruptedException when interrupted while waiting for a JVM.
+     */
+    public static List<StartupResult> startup(int runs, Path outputDirectory, PrintStream out)
+            throws IOException, InterruptedException {
+        if (runs < 0) {
+            throw new IllegalArgumentException("Startup runs must not be negative, got " + runs);
+        }
+        if (runs == 0) {
+            return List.of();
+        }
+        List<StartupResult> results = List.of(
+                StartupProbe.measure(false, runs, outputDirectory),
+                StartupProbe.measure(true, runs, outputDirectory));
+        for (StartupResult result : results) {
+            out.println(String.format(Locale.ROOT, "startup %-8s %10.1fms  first call %8.1fµs",
+                    result.mode(), result.startupNanos() / 1_000_000.0, result.firstCallNanos() / 1_000.0));
+        }
+        return results;
+    }
+
+    /***
+     * Measures startup with and without profiling patterns on a context with thousands of beans.
+     *
+     * @param runs fresh JVMs started with and without patterns, {@code 0} to skip the measurement.
+     * @param outputDirectory directory receiving the output of the started JVMs.
+     * @param out receives a summary line.
+     * @return pattern result, {@code null} when skipped.
+     * @throws IOException when a JVM cannot be started or fails.
+     * @throws InterruptedException when interrupted while waiting for a JVM.
+     */
+    public static PatternResult patterns(int runs, Path outputDirectory, PrintStream out)
+            throws IOException, InterruptedException {
+        if (runs == 0) {
+            return null;
+        }
+        PatternResult result = PatternProbe.measure(runs, outputDirectory);
+        out.println(String.format(Locale.ROOT,
+                "patterns %d beans, %d patterns: startup %.1fms (%.1fms without), matching %.1fms for %d classes, "
+                        + "%d beans profiled",
+                result.beans(), result.patterns(), result.startupNanos() / 1_000_000.0,
+                result.startupWithoutPatternsNanos() / 1_000_000.0, result.matchNanos() / 1_000_000.0,
+                result.matchedClasses(), result.proxiedBeans()));
+        return result;
+    }
+
+    private static LoadResult run(LoadScenario scenario, LoadDriver driver, Path outputDirectory)
+            throws IOException, InterruptedException {
+        Map<String, Object> properties = scenario.properties();
+        properties.put("logging.file.name", outputDirectory.resolve(scenario.name() + ".log").toString());
+        properties.put("logging.threshold.console", "WARN");
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties)
+                .run();
+             Recording recording = scenario.logType() == LogType.JFR ? new Recording() : null) {
+            if (recording != null) {
+                recording.enable(MethodInvocationEvent.NAME);
+                recording.setDestination(outputDirectory.resolve(scenario.name() + ".jfr"));
+                recording.start();
+            }
+            CheckoutService checkout = context.getBean(CheckoutService.class);
+            LoadResult result = driver.run(scenario.name(), () -> checkout.placeOrder(randomOrder()));
+            if (recording != null) {
+                recording.stop();
+            }
+            return result;
+        }
+    }
+
+    static Order randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lineCount = 1 + random.nextInt(5);
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine(random.nextInt(InventoryRepository.PRODUCTS), 1 + random.nextInt(5)));
+        }
+        return new Order(random.nextLong(Long.MAX_VALUE), random.nextLong(100_000), lines);
+    }
+}
@@ -0,0 +1,131 @@
+package org.profiling.loadtest;
+
+import org.profiling.loadtest.app.LoadTestApplication;
+import org.profiling.pattern.ProfilingPatterns;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Measures what profiling patterns cost at startup: the sample application is started with
+ * {@value #BEANS} generated beans spread over many packages, once with {@value #PATTERNS} include and
+ * exclude patterns and once without any. Every run starts a fresh JVM, as for {@link StartupProbe}.
+ */
+public final class PatternProbe {
+
+    static final int BEANS = 3000;
+    static final int PATTERNS = 200;
+
+    private static final String PATTERNS_PROPERTY = "loadtest.patterns";
+
+    private PatternProbe() {
+    }
+
+    /***
+     * Starts the application once with the number of patterns given by the {@value #PATTERNS_PROPERTY}
+     * system property and prints the measurements.
+     *
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) {
+        GeneratedBeanClasses classLoader = new GeneratedBeanClasses(PatternProbe.class.getClassLoader());
+        List<Class<?>> types = classLoader.define(BEANS);
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .main(LoadTestApplication.class)
+                .resourceLoader(new DefaultResourceLoader(classLoader))
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(properties(Integer.getInteger(PATTERNS_PROPERTY, 0)))
+                .initializers(applicationContext -> types.forEach(
+                        type -> ((GenericApplicationContext) applicationContext).registerBean(type)))
+                .run(args)) {
+            long startup = System.nanoTime() - start;
+            ProfilingPatterns patterns = context.getBean(ProfilingPatterns.class);
+            long proxied = types.stream().filter(type -> AopUtils.isAopProxy(context.getBean(type))).count();
+            StartupProbe.printResult(startup, patterns.getMatchNanos(), patterns.getMatchedClasses(), proxied);
+        }
+    }
+
+    /***
+     * Starts the application in fresh JVMs, alternating runs with and without patterns.
+     *
+     * @param runs number of JVMs to start with and without patterns each.
+     * @param outputDirectory directory receiving the output of the started JVMs.
+     * @return medians of the runs.
+     * @throws IOException when a JVM cannot be started or fails.
+     * @throws InterruptedException when interrupted while waiting for a JVM.
+     */
+    public static PatternResult measure(int runs, Path outputDirectory) throws IOException, InterruptedException {
+        Path log = outputDirectory.resolve("startup-PATTERNS.log");
+        Files.deleteIfExists(log);
+        long[] startup = new long[runs];
+        long[] startupWithoutPatterns = new long[runs];
+        long[] matchNanos = new long[runs];
+        long[] measured = null;
+        for (int i = 0; i < runs; i++) {
+            startupWithoutPatterns[i] = StartupProbe.fork(PatternProbe.class,
+                    List.of("-D" + PATTERNS_PROPERTY + "=0"), log)[0];
+            measured = StartupProbe.fork(PatternProbe.class, List.of("-D" + PATTERNS_PROPERTY + "=" + PATTERNS), log);
+            startup[i] = measured[0];
+            matchNanos[i] = measured[1];
+        }
+        return new PatternResult(BEANS, PATTERNS, runs, StartupProbe.median(startup),
+                StartupProbe.median(startupWithoutPatterns), StartupProbe.median(matchNanos), measured[2], measured[3]);
+    }
+
+    /***
+     * Builds pattern properties: per module, finders of some clients and counters of some services are included,
+     * internal classes and the {@code exists} checks of clients excluded; half of the latter are replaced by
+     * includes of simple-name globs, which every class is checked against. About a tenth of the beans is selected.
+     */
+    private static Map<String, Object> properties(int count) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("logging.threshold.console", "WARN");
+        int includes = 0;
+        int excludes = 0;
+        for (int i = 0; includes + excludes < count; i++) {
+            int module = i / 4 % GeneratedBeanClasses.MODULES;
+            String prefix = "com.acme.m" + module + ".";
+            switch (i % 4) {
+                case 0 -> {
+                    String key = "profiling.patterns.include[" + includes++ + "].";
+                    properties.put(key + "type", prefix + "client.*0");
+                    properties.put(key + "method", "find*");
+                    properties.put(key + "parameters", "long,..");
+                }
+                case 1 -> {
+                    String key = "profiling.patterns.include[" + includes++ + "].";
+                    properties.put(key + "type", prefix + "service.*1");
+                    properties.put(key + "method", "count");
+                    properties.put(key + "returns", "int");
+                }
+                case 2 -> properties.put("profiling.patterns.exclude[" + excludes++ + "].type", prefix + "internal.*");
+                default -> {
+                    if (module % 2 == 0) {
+                        String key = "profiling.patterns.exclude[" + excludes++ + "].";
+                        properties.put(key + "type", prefix + "client.**");
+                        properties.put(key + "method", "exists");
+                    } else {
+                        String key = "profiling.patterns.include[" + includes++ + "].";
+                        properties.put(key + "type", "Repository" + module + "*0");
+                        properties.put(key + "method", "save");
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,17 @@
+package org.profiling.loadtest;
+
+/***
+ * Startup cost of profiling patterns on a context with many beans, medians of the runs made in fresh JVMs.
+ *
+ * @param beans number of generated beans in the context.
+ * @param patterns number of include and exclude patterns.
+ * @param runs number of fresh JVMs started with and without patterns.
+ * @param startupNanos time to start the context with patterns.
+ * @param startupWithoutPatternsNanos time to start the same context without patterns.
+ * @param matchNanos time spent matching classes and methods against patterns.
+ * @param matchedClasses number of classes looked up in the pattern tries.
+ * @param proxiedBeans number of generated beans selected by include patterns.
+ */
+public record PatternResult(int beans, int patterns, int runs, long startupNanos, long startupWithoutPatternsNanos,
+                            long matchNanos, long matchedClasses, long proxiedBeans) {
+}
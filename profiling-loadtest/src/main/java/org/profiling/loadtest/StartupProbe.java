@@ -0,0 +1,125 @@
+package org.profiling.loadtest;
+
+import org.profiling.loadtest.app.CheckoutService;
+import org.profiling.loadtest.app.LoadTestApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * Measures startup time and first-call latency of the sample application, on the JVM and from the
+ * initializer generated by Spring AOT processing at build time. Every run starts a fresh JVM, so class
+ * loading and JIT state of earlier runs don't leak into the figures. The application keeps its default
+ * profiling settings, the ones it was processed with.
+ */
+public final class StartupProbe {
+
+    private static final String RESULT_PREFIX = "startup-probe ";
+
+    private StartupProbe() {
+    }
+
+    /***
+     * Starts the application once, calls the checkout service and prints the measurements.
+     *
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .main(LoadTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("logging.threshold.console=WARN")
+                .run(args)) {
+            long startup = System.nanoTime() - start;
+            CheckoutService checkout = context.getBean(CheckoutService.class);
+            long callStart = System.nanoTime();
+            checkout.placeOrder(LoadTestRunner.randomOrder());
+            long firstCall = System.nanoTime() - callStart;
+            printResult(startup, firstCall);
+        }
+    }
+
+    /***
+     * Starts the application in fresh JVMs sharing this JVM's class path.
+     *
+     * @param aot {@code true} to start from the AOT-generated initializer.
+     * @param runs number of JVMs to start.
+     * @param outputDirectory directory receiving the output of the started JVMs.
+     * @return medians of the runs.
+     * @throws IOException when a JVM cannot be started or fails.
+     * @throws InterruptedException when interrupted while waiting for a JVM.
+     */
+    public static StartupResult measure(boolean aot, int runs, Path outputDirectory)
+            throws IOException, InterruptedException {
+        String mode = aot ? "AOT" : "JVM";
+        Path log = outputDirectory.resolve("startup-" + mode + ".log");
+        Files.deleteIfExists(log);
+        long[] startup = new long[runs];
+        long[] firstCall = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] measured = fork(StartupProbe.class, List.of("-Dspring.aot.enabled=" + aot), log);
+            startup[i] = measured[0];
+            firstCall[i] = measured[1];
+        }
+        return new StartupResult(mode, runs, median(startup), median(firstCall));
+    }
+
+    /***
+     * Runs a probe's {@code main} in a fresh JVM sharing this JVM's class path.
+     *
+     * @param probe class whose {@code main} prints its result with {@link #printResult(long...)}.
+     * @param jvmArguments arguments of the JVM.
+     * @param log file the JVM's output is appended to.
+     * @return values printed by the probe.
+     * @throws IOException when the JVM cannot be started, fails or prints no result.
+     * @throws InterruptedException when interrupted while waiting for the JVM.
+     */
+    static long[] fork(Class<?> probe, List<String> jvmArguments, Path log) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), probe.getName()));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IOException(probe.getSimpleName() + " exited with " + process.exitValue() + ", see " + log);
+        }
+        List<String> results = Files.readAllLines(log).stream()
+                .filter(line -> line.startsWith(RESULT_PREFIX))
+                .toList();
+        if (results.isEmpty()) {
+            throw new IOException(probe.getSimpleName() + " printed no result, see " + log);
+        }
+        return Arrays.stream(results.get(results.size() - 1).substring(RESULT_PREFIX.length()).split(" "))
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    /***
+     * Prints a probe's result for {@link #fork(Class, List, Path)}.
+     *
+     * @param values measured values.
+     */
+    static void printResult(long... values) {
+        System.out.println(RESULT_PREFIX + String.join(" ", Arrays.stream(values).mapToObj(Long::toString).toList()));
+    }
+
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,12 @@
+package org.profiling.loadtest;
+
+/***
+ * Startup cost of the sample application in one mode, the median of the runs made in fresh JVMs.
+ *
+ * @param mode {@code JVM} for bean definitions read at runtime, {@code AOT} for the initializer generated at build time.
+ * @param runs number of fresh JVMs started.
+ * @param startupNanos time to start the application context.
+ * @param firstCallNanos latency of the first profiled call once the context is started.
+ */
+public record StartupResult(String mode, int runs, long startupNanos, long firstCallNanos) {
+}
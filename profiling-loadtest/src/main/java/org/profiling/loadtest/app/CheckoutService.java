@@ -0,0 +1,42 @@
+package org.profiling.loadtest.app;
+
+import org.profiling.Profiling;
+import org.springframework.stereotype.Service;
+
+/***
+ * Entry point of the sample workload: reserves stock of every line and prices the order.
+ */
+@Service
+public class CheckoutService {
+
+    private final InventoryRepository inventory;
+    private final PricingService pricing;
+
+    /***
+     * Creates checkout service.
+     *
+     * @param inventory stock levels.
+     * @param pricing order pricing.
+     */
+    public CheckoutService(InventoryRepository inventory, PricingService pricing) {
+        this.inventory = inventory;
+        this.pricing = pricing;
+    }
+
+    /***
+     * Places an order.
+     *
+     * @param order order to place.
+     * @return receipt with total price and reserved lines.
+     */
+    @Profiling(message = "Place order")
+    public Receipt placeOrder(Order order) {
+        int reserved = 0;
+        for (OrderLine line : order.lines()) {
+            if (inventory.reserve(line.sku(), line.quantity())) {
+                reserved++;
+            }
+        }
+        return new Receipt(order.id(), pricing.price(order), reserved);
+    }
+}
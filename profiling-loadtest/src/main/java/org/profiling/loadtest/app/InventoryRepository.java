@@ -0,0 +1,43 @@
+package org.profiling.loadtest.app;
+
+import org.profiling.Profiling;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/***
+ * In-memory stock levels. Stock is replenished when it runs out, so reservations never fail for long.
+ */
+@Repository
+public class InventoryRepository {
+
+    /***
+     * Number of distinct products.
+     */
+    public static final int PRODUCTS = 1_000;
+
+    private static final int RESTOCK = 10_000;
+
+    private final AtomicIntegerArray stock = new AtomicIntegerArray(PRODUCTS);
+
+    /***
+     * Reserves stock of a product.
+     *
+     * @param sku product identifier.
+     * @param quantity quantity to reserve.
+     * @return {@code true} when the quantity was reserved.
+     */
+    @Profiling(message = "Reserve stock")
+    public boolean reserve(int sku, int quantity) {
+        while (true) {
+            int available = stock.get(sku);
+            if (available < quantity) {
+                stock.compareAndSet(sku, available, available + RESTOCK);
+                return false;
+            }
+            if (stock.compareAndSet(sku, available, available - quantity)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.profiling.loadtest.app;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/***
+ * Sample application driven by the load test: an order checkout spread over profiled service,
+ * pricing and repository layers, without any network I/O.
+ */
+@SpringBootApplication
+public class LoadTestApplication {
+
+    /***
+     * Starts application; the entry point of Spring AOT processing at build time.
+     *
+     * @param args command line arguments.
+     */
+    public static void main(String[] args) {
+        SpringApplication.run(LoadTestApplication.class, args);
+    }
+}
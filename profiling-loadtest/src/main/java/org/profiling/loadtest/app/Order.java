@@ -0,0 +1,13 @@
+package org.profiling.loadtest.app;
+
+import java.util.List;
+
+/***
+ * Order placed by a customer.
+ *
+ * @param id order identifier.
+ * @param customerId customer identifier.
+ * @param lines ordered products.
+ */
+public record Order(long id, long customerId, List<OrderLine> lines) {
+}
@@ -0,0 +1,10 @@
+package org.profiling.loadtest.app;
+
+/***
+ * Single line of an order.
+ *
+ * @param sku product identifier.
+ * @param quantity ordered quantity.
+ */
+public record OrderLine(int sku, int quantity) {
+}
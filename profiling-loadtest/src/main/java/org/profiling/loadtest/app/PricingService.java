@@ -0,0 +1,42 @@
+package org.profiling.loadtest.app;
+
+import org.profiling.Profiling;
+import org.springframework.stereotype.Service;
+
+/***
+ * Prices orders with per-product prices and volume discounts.
+ */
+@Service
+public class PricingService {
+
+    /***
+     * Computes total price of an order.
+     *
+     * @param order order to price.
+     * @return total price in cents.
+     */
+    @Profiling(message = "Price order")
+    public long price(Order order) {
+        long total = 0;
+        int items = 0;
+        for (OrderLine line : order.lines()) {
+            total += unitPrice(line.sku()) * line.quantity();
+            items += line.quantity();
+        }
+        if (items >= 20) {
+            total -= total / 10;
+        } else if (items >= 10) {
+            total -= total / 20;
+        }
+        return total;
+    }
+
+    private static long unitPrice(int sku) {
+        // stands in for a price rule evaluation of a few hundred nanoseconds
+        long hash = sku;
+        for (int i = 0; i < 64; i++) {
+            hash = hash * 6364136223846793005L + 1442695040888963407L;
+        }
+        return 100 + Math.floorMod(hash, 9_900);
+    }
+}
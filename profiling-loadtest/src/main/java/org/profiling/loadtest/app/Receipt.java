@@ -0,0 +1,11 @@
+package org.profiling.loadtest.app;
+
+/***
+ * Outcome of a placed order.
+ *
+ * @param orderId order identifier.
+ * @param totalCents total price in cents.
+ * @param reservedLines number of lines whose stock was reserved.
+ */
+public record Receipt(long orderId, long totalCents, int reservedLines) {
+}
@@ -0,0 +1,64 @@
+package org.profiling.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadTestRunnerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesReportOfEveryScenario() throws Exception {
+        Path report = directory.resolve("report.json");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = LoadTestRunner.run(new String[]{"--threads", "2", "--warmup", "100ms", "--duration", "200ms",
+                        "--scenarios", "AOP-SIMPLE,LEGACY-PRETTIER,AOP-JFR,NONE", "--startup-runs", "1",
+                        "--report", report.toString()},
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(0, status, err.toString(StandardCharsets.UTF_8));
+        String json = Files.readString(report);
+        assertTrue(json.indexOf("\"scenario\": \"NONE\"") < json.indexOf("\"scenario\": \"AOP-SIMPLE\""), json);
+        assertTrue(json.contains("\"scenario\": \"LEGACY-PRETTIER\""), json);
+        assertTrue(json.contains("\"throughputVsNone\""), json);
+        assertTrue(json.contains("\"errors\": 0"), json);
+        assertTrue(Files.readString(directory.resolve("AOP-SIMPLE.log")).contains("Place order"));
+        assertTrue(Files.size(directory.resolve("AOP-JFR.jfr")) > 0);
+        assertTrue(json.indexOf("\"mode\": \"JVM\"") < json.indexOf("\"mode\": \"AOT\""), json);
+        assertTrue(json.contains("\"startupVsJvm\""), json);
+        assertTrue(json.contains("\"patterns\": 200"), json);
+        assertTrue(json.contains("\"matchedClasses\": "), json);
+        assertFalse(json.contains("\"proxiedBeans\": 0"), json);
+    }
+
+    @Test
+    void rejectsUnknownScenario() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int status = LoadTestRunner.run(new String[]{"--scenarios", "PROXY-SIMPLE"}, System.out,
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(2, status);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("PROXY-SIMPLE"));
+    }
+
+    @Test
+    void runsAgentScenariosLast() {
+        assertEquals(List.of(LoadScenario.NONE.name(), "AOP-SIMPLE", "AGENT-SIMPLE"),
+                LoadScenario.parse("AGENT-SIMPLE,NONE,AOP-SIMPLE").stream().map(LoadScenario::name).toList());
+    }
+}
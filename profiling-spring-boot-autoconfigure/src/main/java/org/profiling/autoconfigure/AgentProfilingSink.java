@@ -0,0 +1,104 @@
+package org.profiling.autoconfigure;
+
+import org.profiling.ProfilingRecord;
+import org.profiling.ProfilingRecordFormatter;
+import org.profiling.ProfilingRuntime;
+import org.profiling.agent.AgentInvocationSink;
+import org.profiling.agent.AgentMethod;
+import org.profiling.agent.AgentRecorders;
+import org.profiling.capture.InvocationCaptures;
+import org.profiling.enums.LogType;
+import org.profiling.exemplar.SlowInvocation;
+import org.profiling.governor.DetailLevel;
+import org.profiling.stats.ProfilingPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+
+/***
+ * Feeds invocations recorded by the profiling agent into the same statistics and log output as the
+ * proxy-based modes. The agent captures only timing and outcome, so records carry no parameters,
+ * result or caller information.
+ */
+public class AgentProfilingSink implements AgentInvocationSink, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger("ProfilingLogger");
+
+    private final ProfilingRuntime runtime;
+    private final LogType logType;
+    private final ProfilingRecordFormatter formatter = new ProfilingRecordFormatter();
+
+    /***
+     * Creates sink and registers it with the agent.
+     *
+     * @param runtime shared profiling collaborators.
+     * @param logType output format; {@link LogType#JFR} records statistics only.
+     */
+    public AgentProfilingSink(ProfilingRuntime runtime, LogType logType) {
+        this.runtime = runtime;
+        this.logType = logType;
+        AgentRecorders.setSink(this);
+    }
+
+    /***
+     * Records an invocation reported by the agent.
+     *
+     * @param method instrumented method metadata.
+     * @param executionNanos execution time in nanoseconds.
+     * @param thrown exception thrown by the method, or {@code null}.
+     */
+    @Override
+    public void record(AgentMethod method, long executionNanos, Throwable thrown) {
+        Method reflected = method.getMethod(null);
+        if (reflected == null) {
+            return;
+        }
+        if (InvocationCaptures.isActive()) {
+            InvocationCaptures.record(reflected, executionNanos, -1L, thrown != null);
+        }
+        if (runtime.getOverhead() != null) {
+            runtime.getOverhead().record(ProfilingPhase.INVOKE, executionNanos);
+        }
+        if (runtime.getMethodStats() != null) {
+            runtime.getMethodStats().record(reflected, executionNanos, thrown != null);
+        }
+
+        boolean slow = runtime.getSlowInvocations() != null
+                && runtime.getSlowInvocations().admits(reflected, executionNanos);
+        DetailLevel level = runtime.getGovernor() != null ? runtime.getGovernor().level() : DetailLevel.FULL;
+        boolean emit = logType != LogType.JFR
+                && (runtime.getGovernor() == null || runtime.getGovernor().shouldEmit(level));
+        if (!slow && !emit) {
+            return;
+        }
+
+        ProfilingRecord record = new ProfilingRecord(reflected, method.getMessage(), null, null, thrown,
+                executionNanos, null, null, false, false, true, false, null, -1L, null, null);
+        if (slow) {
+            runtime.getSlowInvocations().offer(reflected, new SlowInvocation(Instant.now(), record));
+        }
+        if (emit) {
+            long renderStart = System.nanoTime();
+            String text = formatter.format(logType, record);
+            long emitStart = System.nanoTime();
+            logger.info(text);
+            if (runtime.getOverhead() != null) {
+                runtime.getOverhead().record(ProfilingPhase.RENDER, emitStart - renderStart);
+                runtime.getOverhead().record(ProfilingPhase.EMIT, System.nanoTime() - emitStart);
+            }
+        }
+        if (runtime.getGovernor() != null) {
+            runtime.getGovernor().maybeEvaluate(System.nanoTime());
+        }
+    }
+
+    /***
+     * Detaches this sink from the agent.
+     */
+    @Override
+    public void close() {
+        AgentRecorders.setSink(null);
+    }
+}
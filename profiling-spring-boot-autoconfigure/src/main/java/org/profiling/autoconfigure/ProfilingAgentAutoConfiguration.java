@@ -0,0 +1,42 @@
+package org.profiling.autoconfigure;
+
+import org.profiling.ProfilingRuntime;
+import org.profiling.agent.ProfilingAgent;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/***
+ * Auto-configuration for {@link ProfilingMode#AGENT}: connects bytecode instrumented by the
+ * {@code profiling-agent} to the shared profiling collaborators.
+ */
+@AutoConfiguration(after = ProfilingAutoConfiguration.class)
+@ConditionalOnClass(name = "org.profiling.agent.ProfilingAgent")
+@ConditionalOnBean(ProfilingRuntime.class)
+@ConditionalOnProperty(prefix = "profiling", name = "mode", havingValue = "AGENT")
+public class ProfilingAgentAutoConfiguration {
+
+    /***
+     * Installs the agent when the JVM was started without {@code -javaagent} and self-attach is allowed,
+     * then registers the sink receiving instrumented invocations.
+     * Classes loaded before the agent is installed are retransformed.
+     *
+     * @param properties starter properties.
+     * @param runtime shared profiling collaborators.
+     * @return agent sink bean, detached from the agent on context close.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AgentProfilingSink agentProfilingSink(ProfilingProperties properties, ProfilingRuntime runtime) {
+        if (!ProfilingAgent.isInstalled()) {
+            if (!properties.getAgent().isSelfAttach()) {
+                throw new IllegalStateException("profiling.mode=AGENT requires -javaagent or profiling.agent.self-attach=true");
+            }
+            ProfilingAgent.install();
+        }
+        return new AgentProfilingSink(runtime, properties.getLogType());
+    }
+}
@@ -3,17 +3,43 @@ package org.profiling.autoconfigure;
 import org.profiling.ProfilingAopMethodInterceptor;
 import org.profiling.ProfilingHandlerBeanPostProcessor;
 import org.profiling.ProfilingPointcutAdvisor;
+import org.profiling.ProfilingRuntime;
+import org.profiling.baseline.BaselineRecorder;
+import org.profiling.exemplar.SlowInvocationReporter;
+import org.profiling.exemplar.SlowInvocationReservoir;
+import org.profiling.executor.ExecutorStatsRegistry;
+import org.profiling.executor.QueueTimingBeanPostProcessor;
+import org.profiling.governor.OverheadGovernor;
+import org.profiling.pattern.ProfilingPatterns;
+import org.profiling.sampling.InFlightRegistry;
+import org.profiling.sampling.StackSampler;
+import org.profiling.stats.HeapMethodStatsRegistry;
+import org.profiling.stats.MethodStatsEvictionLogger;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.OffHeapMethodStatsRegistry;
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.trace.RequestTracker;
+import org.profiling.trace.TraceContextResolver;
+import org.profiling.trace.TraceContextTaskDecorator;
+import org.profiling.window.AnomalyDetector;
+import org.profiling.window.WindowStatsRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.aop.Advisor;
 import org.springframework.aop.config.AopConfigUtils;
 import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Role;
+import org.springframework.core.task.TaskDecorator;
 
 /***
  * Auto-configuration that wires profiling either through Spring AOP infrastructure (default)
@@ -25,6 +51,259 @@ import org.springframework.context.annotation.Role;
 @ConditionalOnProperty(prefix = "profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class ProfilingAutoConfiguration {
 
+    /***
+     * Registers self-instrumentation statistics and calibrates timer cost at startup. Opt-in, since it adds two
+     * timer reads per phase to every invocation; the governor turns it on as it watches these statistics.
+     *
+     * @return calibrated overhead statistics.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(OverheadMeasured.class)
+    public static ProfilingOverhead profilingOverhead() {
+        ProfilingOverhead overhead = new ProfilingOverhead();
+        overhead.calibrate();
+        return overhead;
+    }
+
+    /***
+     * Registers per-method aggregated statistics, kept off-heap with cold method eviction when configured.
+     *
+     * @param properties starter properties with method statistics settings.
+     * @param slowInvocations slow invocation reservoir whose entries are dropped with evicted methods.
+     * @return method statistics registry.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static MethodStatsRegistry profilingMethodStats(ProfilingProperties properties,
+                                                           ObjectProvider<SlowInvocationReservoir> slowInvocations) {
+        ProfilingProperties.MethodStats methodStats = properties.getMethodStats();
+        if (methodStats.isOffHeap()) {
+            return new OffHeapMethodStatsRegistry(methodStats.getMaxMemory().toBytes(),
+                    new MethodStatsEvictionLogger(slowInvocations.getIfAvailable()));
+        }
+        return new HeapMethodStatsRegistry();
+    }
+
+    /***
+     * Registers governor that reduces profiling detail when the overhead budget is exceeded.
+     * Level transitions are published as {@link org.profiling.governor.DetailLevelChange} application events.
+     *
+     * @param properties starter properties with governor settings.
+     * @param overhead self-instrumentation statistics watched by the governor.
+     * @param publisher publisher for level transition events.
+     * @return overhead governor.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ProfilingOverhead.class)
+    @ConditionalOnProperty(prefix = "profiling.governor", name = "enabled", havingValue = "true")
+    public static OverheadGovernor profilingOverheadGovernor(ProfilingProperties properties, ProfilingOverhead overhead,
+                                                             ApplicationEventPublisher publisher) {
+        ProfilingProperties.Governor governor = properties.getGovernor();
+        return new OverheadGovernor(overhead, governor.getBudget(), governor.getWindow(),
+                governor.getSampleRate(), publisher::publishEvent);
+    }
+
+    /***
+     * Registers tracker that ties profiled invocations to requests.
+     *
+     * @param properties starter properties with trace settings.
+     * @return request tracker.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.trace", name = "enabled", havingValue = "true")
+    public static RequestTracker profilingRequestTracker(ProfilingProperties properties) {
+        ProfilingProperties.Trace trace = properties.getTrace();
+        return new RequestTracker(new TraceContextResolver(trace.getTraceIdKey(), trace.getSpanIdKey()),
+                trace.getRetainedRequests());
+    }
+
+    /***
+     * Registers task decorator that lets executor tasks join the submitting request.
+     * Spring Boot applies a unique {@link TaskDecorator} bean to its auto-configured executors.
+     *
+     * @param tracker request tracker.
+     * @return trace propagating task decorator.
+     */
+    @Bean
+    @ConditionalOnBean(RequestTracker.class)
+    @ConditionalOnMissingBean(TaskDecorator.class)
+    public TraceContextTaskDecorator profilingTaskDecorator(RequestTracker tracker) {
+        return new TraceContextTaskDecorator(tracker);
+    }
+
+    /***
+     * Registers per-executor queue and execution statistics.
+     *
+     * @return executor statistics registry.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.executors", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static ExecutorStatsRegistry profilingExecutorStats() {
+        return new ExecutorStatsRegistry();
+    }
+
+    /***
+     * Registers post processor that times tasks of every {@code ThreadPoolTaskExecutor} bean, including
+     * Spring Boot's {@code @Async} executor. Decorators already set on an executor, such as the
+     * trace propagating one, keep being applied.
+     *
+     * @param executorStats registry receiving per-executor statistics.
+     * @return queue timing bean post processor.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.executors", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static QueueTimingBeanPostProcessor profilingQueueTimingBeanPostProcessor(
+            ExecutorStatsRegistry executorStats) {
+        return new QueueTimingBeanPostProcessor(executorStats);
+    }
+
+    /***
+     * Registers reservoir of the slowest invocations per method.
+     *
+     * @param properties starter properties with slow invocation settings.
+     * @return slow invocation reservoir.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.slow-invocations", name = "enabled", havingValue = "true")
+    public static SlowInvocationReservoir profilingSlowInvocations(ProfilingProperties properties) {
+        return new SlowInvocationReservoir(properties.getSlowInvocations().getSize());
+    }
+
+    /***
+     * Registers periodic report of the slowest invocations.
+     *
+     * @param properties starter properties with slow invocation settings.
+     * @param reservoir slow invocation reservoir to drain.
+     * @return slow invocation reporter, closed on context shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(SlowInvocationReservoir.class)
+    public SlowInvocationReporter profilingSlowInvocationReporter(ProfilingProperties properties,
+                                                                 SlowInvocationReservoir reservoir) {
+        return new SlowInvocationReporter(reservoir, properties.getSlowInvocations().getReportInterval());
+    }
+
+    /***
+     * Registers recorder that persists per-method latency baselines on demand and on shutdown.
+     *
+     * @param properties starter properties with baseline settings.
+     * @param methodStats per-method aggregated statistics to persist.
+     * @return baseline recorder, closed on context shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.baseline", name = "path")
+    public static BaselineRecorder profilingBaselineRecorder(ProfilingProperties properties,
+                                                             MethodStatsRegistry methodStats) {
+        ProfilingProperties.Baseline baseline = properties.getBaseline();
+        return new BaselineRecorder(methodStats, baseline.getPath(), baseline.isWriteOnShutdown());
+    }
+
+    /***
+     * Registers sampler of stacks of long-running profiled invocations.
+     *
+     * @param properties starter properties with stack sampling settings.
+     * @return stack sampler, closed on context shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.sampling", name = "enabled", havingValue = "true")
+    public static StackSampler profilingStackSampler(ProfilingProperties properties) {
+        ProfilingProperties.Sampling sampling = properties.getSampling();
+        return new StackSampler(new InFlightRegistry(), sampling.getInterval(), sampling.getThreshold(),
+                sampling.getHotFrames());
+    }
+
+    /***
+     * Registers per-method rolling windows.
+     *
+     * @param properties starter properties with rolling window settings.
+     * @return rolling windows registry.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "profiling.windows", name = "enabled", havingValue = "true")
+    public static WindowStatsRegistry profilingWindows(ProfilingProperties properties) {
+        return new WindowStatsRegistry(properties.getWindows().getMaxMethods());
+    }
+
+    /***
+     * Registers detector of latency and error rate deviations from rolling baselines.
+     *
+     * @param properties starter properties with rolling window settings.
+     * @param windows rolling windows to watch.
+     * @return anomaly detector, closed on context shutdown.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(WindowStatsRegistry.class)
+    public AnomalyDetector profilingAnomalyDetector(ProfilingProperties properties, WindowStatsRegistry windows) {
+        ProfilingProperties.Windows settings = properties.getWindows();
+        return new AnomalyDetector(windows, settings.getAnomalyFactor(), settings.getEwmaAlpha(),
+                settings.getMinSamples(), settings.getWarmupMinutes());
+    }
+
+    /***
+     * Compiles configured include and exclude patterns.
+     *
+     * @param properties starter properties with pattern settings.
+     * @return compiled patterns, empty when none are configured.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static ProfilingPatterns profilingPatterns(ProfilingProperties properties) {
+        ProfilingProperties.Patterns patterns = properties.getPatterns();
+        return new ProfilingPatterns(
+                patterns.getInclude().stream().map(ProfilingProperties.Patterns.Pattern::toMethodPattern).toList(),
+                patterns.getExclude().stream().map(ProfilingProperties.Patterns.Pattern::toMethodPattern).toList());
+    }
+
+    /***
+     * Collects shared collaborators handed to every profiling interceptor.
+     *
+     * @param overhead self-instrumentation statistics, if enabled.
+     * @param governor overhead governor, if enabled.
+     * @param methodStats per-method aggregated statistics.
+     * @param requestTracker request tracker, if trace correlation is enabled.
+     * @param slowInvocations slow invocation reservoir, if enabled.
+     * @param executorStats per-executor statistics, if enabled.
+     * @param patterns compiled include and exclude patterns.
+     * @param sampler stack sampler, if enabled.
+     * @param windows rolling windows, if enabled.
+     * @return profiling runtime.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public static ProfilingRuntime profilingRuntime(ObjectProvider<ProfilingOverhead> overhead,
+                                                    ObjectProvider<OverheadGovernor> governor,
+                                                    ObjectProvider<MethodStatsRegistry> methodStats,
+                                                    ObjectProvider<RequestTracker> requestTracker,
+                                                    ObjectProvider<SlowInvocationReservoir> slowInvocations,
+                                                    ObjectProvider<ExecutorStatsRegistry> executorStats,
+                                                    ObjectProvider<ProfilingPatterns> patterns,
+                                                    ObjectProvider<StackSampler> sampler,
+                                                    ObjectProvider<WindowStatsRegistry> windows) {
+        ProfilingRuntime runtime = new ProfilingRuntime();
+        runtime.setOverhead(overhead.getIfAvailable());
+        runtime.setGovernor(governor.getIfAvailable());
+        runtime.setMethodStats(methodStats.getIfAvailable());
+        runtime.setRequestTracker(requestTracker.getIfAvailable());
+        runtime.setSlowInvocations(slowInvocations.getIfAvailable());
+        runtime.setExecutorStats(executorStats.getIfAvailable());
+        ProfilingPatterns compiledPatterns = patterns.getIfAvailable();
+        runtime.setPatterns(compiledPatterns != null && !compiledPatterns.isEmpty() ? compiledPatterns : null);
+        runtime.setSampler(sampler.getIfAvailable());
+        runtime.setWindows(windows.getIfAvailable());
+        return runtime;
+    }
+
     /***
      * Registers infrastructure auto-proxy creator used to apply profiling advisor.
      *
@@ -41,23 +320,27 @@ public class ProfilingAutoConfiguration {
     }
 
     /***
-     * Registers advisor that applies profiling to {@link org.profiling.Profiling}-annotated targets.
+     * Registers advisor that applies profiling to {@link org.profiling.Profiling}-annotated targets
+     * and to methods selected by configured patterns.
      *
      * @param properties starter properties used to configure advice behavior.
+     * @param runtime shared collaborators for profiling interceptors.
      * @return profiling advisor bean.
      */
     @Bean
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     @ConditionalOnProperty(prefix = "profiling", name = "mode", havingValue = "AOP", matchIfMissing = true)
     @ConditionalOnMissingBean(ProfilingPointcutAdvisor.class)
-    public Advisor profilingAdvisor(ProfilingProperties properties) {
-        return new ProfilingPointcutAdvisor(new ProfilingAopMethodInterceptor(properties.getLogType()));
+    public Advisor profilingAdvisor(ProfilingProperties properties, ProfilingRuntime runtime) {
+        return new ProfilingPointcutAdvisor(new ProfilingAopMethodInterceptor(properties.getLogType(), runtime),
+                runtime.getPatterns());
     }
 
     /***
      * Creates deprecated enhancer-based bean post processor for compatibility mode.
      *
      * @param properties starter properties used by legacy profiling implementation.
+     * @param runtime shared collaborators for profiling interceptors.
      * @return legacy profiling bean post processor.
      * @deprecated Legacy mode fallback. Prefer {@link ProfilingMode#AOP}.
      */
@@ -65,10 +348,30 @@ public class ProfilingAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     @ConditionalOnProperty(prefix = "profiling", name = "mode", havingValue = "LEGACY")
-    public static ProfilingHandlerBeanPostProcessor profilingHandlerBeanPostProcessor(ProfilingProperties properties) {
+    public static ProfilingHandlerBeanPostProcessor profilingHandlerBeanPostProcessor(ProfilingProperties properties,
+                                                                                      ProfilingRuntime runtime) {
         return new ProfilingHandlerBeanPostProcessor(
                 properties.isEnabled(),
-                properties.getLogType()
+                properties.getLogType(),
+                runtime
         );
     }
+
+    /***
+     * Matches when overhead is measured: explicitly enabled or watched by the governor.
+     */
+    static class OverheadMeasured extends AnyNestedCondition {
+
+        OverheadMeasured() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "profiling.overhead", name = "enabled", havingValue = "true")
+        static class Enabled {
+        }
+
+        @ConditionalOnProperty(prefix = "profiling.governor", name = "enabled", havingValue = "true")
+        static class Governed {
+        }
+    }
 }
@@ -0,0 +1,176 @@
+package org.profiling.autoconfigure;
+
+import org.profiling.ProfilingRecordFormatter;
+import org.profiling.ProfilingRuntime;
+import org.profiling.baseline.BaselineRecorder;
+import org.profiling.enums.LogType;
+import org.profiling.exemplar.SlowInvocation;
+import org.profiling.stats.OffHeapMethodStatsRegistry;
+import org.profiling.window.AnomalyDetector;
+import org.profiling.window.WindowSnapshot;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Actuator endpoint ({@code /actuator/profiling}) exposing the profiler's runtime statistics.
+ */
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final ProfilingRuntime runtime;
+    private final BaselineRecorder baselineRecorder;
+    private final AnomalyDetector anomalyDetector;
+    private final ProfilingRecordFormatter formatter = new ProfilingRecordFormatter();
+
+    /***
+     * Creates endpoint backed by shared profiling collaborators.
+     *
+     * @param runtime profiling runtime whose statistics are exposed.
+     */
+    public ProfilingEndpoint(ProfilingRuntime runtime) {
+        this(runtime, null);
+    }
+
+    /***
+     * Creates endpoint backed by shared profiling collaborators that can also write baselines.
+     *
+     * @param runtime profiling runtime whose statistics are exposed.
+     * @param baselineRecorder baseline recorder, or {@code null} when baselines are disabled.
+     */
+    public ProfilingEndpoint(ProfilingRuntime runtime, BaselineRecorder baselineRecorder) {
+        this(runtime, baselineRecorder, null);
+    }
+
+    /***
+     * Creates endpoint backed by shared profiling collaborators that can also write baselines and
+     * report anomalies.
+     *
+     * @param runtime profiling runtime whose statistics are exposed.
+     * @param baselineRecorder baseline recorder, or {@code null} when baselines are disabled.
+     * @param anomalyDetector anomaly detector, or {@code null} when rolling windows are disabled.
+     */
+    public ProfilingEndpoint(ProfilingRuntime runtime, BaselineRecorder baselineRecorder,
+                             AnomalyDetector anomalyDetector) {
+        this.runtime = runtime;
+        this.baselineRecorder = baselineRecorder;
+        this.anomalyDetector = anomalyDetector;
+    }
+
+    /***
+     * Returns current profiling statistics.
+     *
+     * @return statistics keyed by section name; sections of disabled features are omitted.
+     */
+    @ReadOperation
+    public Map<String, Object> profiling() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (runtime.getOverhead() != null) {
+            result.put("overhead", runtime.getOverhead().snapshot());
+        }
+        if (runtime.getGovernor() != null) {
+            result.put("detailLevel", runtime.getGovernor().level());
+        }
+        if (runtime.getMethodStats() != null) {
+            result.put("methods", runtime.getMethodStats().snapshot());
+            if (runtime.getMethodStats() instanceof OffHeapMethodStatsRegistry offHeap) {
+                result.put("methodStore", Map.of("capacity", offHeap.getCapacity(),
+                        "evictions", offHeap.getEvictions()));
+            }
+        }
+        if (runtime.getRequestTracker() != null) {
+            result.put("requests", runtime.getRequestTracker().recent());
+        }
+        if (runtime.getSlowInvocations() != null) {
+            result.put("slowInvocations", describe(runtime.getSlowInvocations().snapshot()));
+        }
+        if (runtime.getPatterns() != null) {
+            result.put("patterns", Map.of("matchedClasses", runtime.getPatterns().getMatchedClasses(),
+                    "matchNanos", runtime.getPatterns().getMatchNanos()));
+        }
+        if (runtime.getExecutorStats() != null) {
+            result.put("executors", runtime.getExecutorStats().snapshot());
+        }
+        if (runtime.getSampler() != null) {
+            result.put("inFlight", runtime.getSampler().longRunning());
+        }
+        if (runtime.getWindows() != null) {
+            result.put("windows", Map.of("methods", runtime.getWindows().getMethods().size(),
+                    "maxMethods", runtime.getWindows().getMaxMethods(), "dropped", runtime.getWindows().getDropped()));
+        }
+        if (anomalyDetector != null) {
+            result.put("anomalies", anomalyDetector.anomalies());
+        }
+        return result;
+    }
+
+    /***
+     * Aggregates a method's invocations over a rolling window, e.g.
+     * {@code /actuator/profiling/com.acme.OrderService.place?window=5m}.
+     *
+     * @param method fully qualified method name.
+     * @param window window length, one minute when omitted.
+     * @return window aggregate; {@code null} (404) when the method was not recorded or rolling windows
+     * are disabled.
+     */
+    @ReadOperation
+    public WindowSnapshot window(@Selector String method, @Nullable Duration window) {
+        if (runtime.getWindows() == null) {
+            return null;
+        }
+        return runtime.getWindows().query(method, window != null ? window : Duration.ofMinutes(1));
+    }
+
+    /***
+     * Drains the slowest invocations retained since the last drain or periodic report.
+     *
+     * @return drained slow invocations, slowest first; empty when slow invocation capture is disabled.
+     */
+    @DeleteOperation
+    public List<Map<String, Object>> drainSlowInvocations() {
+        if (runtime.getSlowInvocations() == null) {
+            return List.of();
+        }
+        return describe(runtime.getSlowInvocations().drain());
+    }
+
+    /***
+     * Writes a latency baseline of all profiled methods to the configured file.
+     *
+     * @return written file and number of methods; empty when baselines are disabled.
+     * @throws IOException when the baseline cannot be written.
+     */
+    @WriteOperation
+    public Map<String, Object> writeBaseline() throws IOException {
+        if (baselineRecorder == null || runtime.getMethodStats() == null) {
+            return Map.of();
+        }
+        Path file = baselineRecorder.write();
+        return Map.of("path", file.toAbsolutePath().toString(), "methods", runtime.getMethodStats().getMethods().size());
+    }
+
+    private List<Map<String, Object>> describe(List<SlowInvocation> invocations) {
+        return invocations.stream().map(invocation -> {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("method", invocation.record().method().getDeclaringClass().getName()
+                    + "." + invocation.record().method().getName());
+            description.put("timestamp", invocation.timestamp());
+            description.put("executionNanos", invocation.executionNanos());
+            if (invocation.record().trace() != null) {
+                description.put("traceId", invocation.record().trace().traceId());
+            }
+            description.put("details", formatter.format(LogType.PRETTIER, invocation.record()));
+            return description;
+        }).toList();
+    }
+}
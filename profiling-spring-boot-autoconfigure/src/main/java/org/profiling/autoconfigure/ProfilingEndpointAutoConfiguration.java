@@ -0,0 +1,39 @@
+package org.profiling.autoconfigure;
+
+import org.profiling.ProfilingRuntime;
+import org.profiling.baseline.BaselineRecorder;
+import org.profiling.window.AnomalyDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/***
+ * Auto-configuration that exposes profiling statistics through Spring Boot Actuator
+ * when actuator is on the classpath.
+ */
+@AutoConfiguration(after = ProfilingAutoConfiguration.class)
+@ConditionalOnClass(Endpoint.class)
+@ConditionalOnBean(ProfilingRuntime.class)
+public class ProfilingEndpointAutoConfiguration {
+
+    /***
+     * Registers the {@code profiling} actuator endpoint.
+     *
+     * @param runtime shared profiling collaborators.
+     * @param baselineRecorder baseline recorder, if baselines are enabled.
+     * @param anomalyDetector anomaly detector, if rolling windows are enabled.
+     * @return profiling endpoint.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnAvailableEndpoint
+    public ProfilingEndpoint profilingEndpoint(ProfilingRuntime runtime, ObjectProvider<BaselineRecorder> baselineRecorder,
+                                               ObjectProvider<AnomalyDetector> anomalyDetector) {
+        return new ProfilingEndpoint(runtime, baselineRecorder.getIfAvailable(), anomalyDetector.getIfAvailable());
+    }
+}
@@ -11,5 +11,10 @@ public enum ProfilingMode {
     /***
      * Legacy fallback mode that keeps the historical enhancer-based bean post processor.
      */
-    LEGACY
+    LEGACY,
+    /***
+     * Proxy-free mode: the {@code profiling-agent} rewrites {@link org.profiling.Profiling} methods at class-load time.
+     * Covers self-invocations and final classes/methods.
+     */
+    AGENT
 }
@@ -2,7 +2,14 @@ package org.profiling.autoconfigure;
 
 
 import org.profiling.enums.LogType;
+import org.profiling.pattern.MethodPattern;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 /***
  * External configuration for profiling starter behavior.
@@ -12,6 +19,17 @@ public class ProfilingProperties {
     private boolean enabled = true;
     private LogType logType = LogType.SIMPLE;
     private ProfilingMode mode = ProfilingMode.AOP;
+    private final Overhead overhead = new Overhead();
+    private final Governor governor = new Governor();
+    private final Trace trace = new Trace();
+    private final SlowInvocations slowInvocations = new SlowInvocations();
+    private final Agent agent = new Agent();
+    private final Baseline baseline = new Baseline();
+    private final Executors executors = new Executors();
+    private final MethodStats methodStats = new MethodStats();
+    private final Patterns patterns = new Patterns();
+    private final Sampling sampling = new Sampling();
+    private final Windows windows = new Windows();
 
     /***
      * Indicates whether profiling autoconfiguration is active.
@@ -66,4 +84,945 @@ public class ProfilingProperties {
     public void setMode(ProfilingMode mode) {
         this.mode = mode;
     }
+
+    /***
+     * Returns self-instrumentation settings.
+     *
+     * @return overhead measurement settings.
+     */
+    public Overhead getOverhead() {
+        return overhead;
+    }
+
+    /***
+     * Returns overhead governor settings.
+     *
+     * @return governor settings.
+     */
+    public Governor getGovernor() {
+        return governor;
+    }
+
+    /***
+     * Returns trace correlation settings.
+     *
+     * @return trace settings.
+     */
+    public Trace getTrace() {
+        return trace;
+    }
+
+    /***
+     * Returns slow invocation capture settings.
+     *
+     * @return slow invocation settings.
+     */
+    public SlowInvocations getSlowInvocations() {
+        return slowInvocations;
+    }
+
+    /***
+     * Returns agent mode settings.
+     *
+     * @return agent settings.
+     */
+    public Agent getAgent() {
+        return agent;
+    }
+
+    /***
+     * Returns latency baseline settings.
+     *
+     * @return baseline settings.
+     */
+    public Baseline getBaseline() {
+        return baseline;
+    }
+
+    /***
+     * Returns executor timing settings.
+     *
+     * @return executor timing settings.
+     */
+    public Executors getExecutors() {
+        return executors;
+    }
+
+    /***
+     * Returns per-method statistics storage settings.
+     *
+     * @return method statistics settings.
+     */
+    public MethodStats getMethodStats() {
+        return methodStats;
+    }
+
+    /***
+     * Returns include and exclude patterns.
+     *
+     * @return pattern settings.
+     */
+    public Patterns getPatterns() {
+        return patterns;
+    }
+
+    /***
+     * Returns stack sampling settings.
+     *
+     * @return stack sampling settings.
+     */
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    /***
+     * Returns rolling window settings.
+     *
+     * @return rolling window settings.
+     */
+    public Windows getWindows() {
+        return windows;
+    }
+
+    /***
+     * Settings for measuring the profiler's own cost.
+     */
+    public static class Overhead {
+        private boolean enabled = false;
+
+        /***
+         * Indicates whether per-phase self-instrumentation is active.
+         *
+         * @return {@code true} when profiler overhead is measured.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables per-phase self-instrumentation.
+         *
+         * @param enabled self-instrumentation switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /***
+     * Settings for the governor that reduces profiling detail when the overhead budget is exceeded.
+     */
+    public static class Governor {
+        private boolean enabled = false;
+        private double budget = 0.01;
+        private Duration window = Duration.ofSeconds(10);
+        private int sampleRate = 100;
+
+        /***
+         * Indicates whether the overhead governor is active.
+         *
+         * @return {@code true} when detail is adapted to the overhead budget.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables the overhead governor.
+         *
+         * @param enabled governor switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /***
+         * Returns maximum profiler share of observed time.
+         *
+         * @return budget as a fraction, e.g. {@code 0.01} for 1%.
+         */
+        public double getBudget() {
+            return budget;
+        }
+
+        /***
+         * Sets maximum profiler share of observed time.
+         *
+         * @param budget budget as a fraction between 0 and 1.
+         */
+        public void setBudget(double budget) {
+            this.budget = budget;
+        }
+
+        /***
+         * Returns evaluation window.
+         *
+         * @return window after which the overhead share is re-evaluated.
+         */
+        public Duration getWindow() {
+            return window;
+        }
+
+        /***
+         * Sets evaluation window.
+         *
+         * @param window window after which the overhead share is re-evaluated.
+         */
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        /***
+         * Returns sampling rate used at the sampled detail level.
+         *
+         * @return one of how many invocations produces a record.
+         */
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        /***
+         * Sets sampling rate used at the sampled detail level.
+         *
+         * @param sampleRate one of how many invocations produces a record.
+         */
+        public void setSampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    /***
+     * Settings for tying profiling records to requests through trace identifiers.
+     */
+    public static class Trace {
+        private boolean enabled = false;
+        private int retainedRequests = 100;
+        private String traceIdKey = "traceId";
+        private String spanIdKey = "spanId";
+
+        /***
+         * Indicates whether trace correlation is active.
+         *
+         * @return {@code true} when records carry trace identifiers.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables trace correlation.
+         *
+         * @param enabled trace correlation switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /***
+         * Returns number of most recent request summaries kept in memory.
+         *
+         * @return retained request count.
+         */
+        public int getRetainedRequests() {
+            return retainedRequests;
+        }
+
+        /***
+         * Sets number of most recent request summaries kept in memory.
+         *
+         * @param retainedRequests retained request count.
+         */
+        public void setRetainedRequests(int retainedRequests) {
+            this.retainedRequests = retainedRequests;
+        }
+
+        /***
+         * Returns MDC key holding the trace identifier.
+         *
+         * @return MDC trace key.
+         */
+        public String getTraceIdKey() {
+            return traceIdKey;
+        }
+
+        /***
+         * Sets MDC key holding the trace identifier.
+         *
+         * @param traceIdKey MDC trace key.
+         */
+        public void setTraceIdKey(String traceIdKey) {
+            this.traceIdKey = traceIdKey;
+        }
+
+        /***
+         * Returns MDC key holding the span identifier.
+         *
+         * @return MDC span key.
+         */
+        public String getSpanIdKey() {
+            return spanIdKey;
+        }
+
+        /***
+         * Sets MDC key holding the span identifier.
+         *
+         * @param spanIdKey MDC span key.
+         */
+        public void setSpanIdKey(String spanIdKey) {
+            this.spanIdKey = spanIdKey;
+        }
+    }
+
+    /***
+     * Settings for capturing full detail of the slowest invocations per method.
+     */
+    public static class SlowInvocations {
+        private boolean enabled = false;
+        private int size = 5;
+        private Duration reportInterval = Duration.ofMinutes(1);
+
+        /***
+         * Indicates whether slow invocation capture is active.
+         *
+         * @return {@code true} when the slowest invocations are retained.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables slow invocation capture.
+         *
+         * @param enabled slow invocation capture switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /***
+         * Returns number of slowest invocations retained per method.
+         *
+         * @return reservoir size per method.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /***
+         * Sets number of slowest invocations retained per method.
+         *
+         * @param size reservoir size per method.
+         */
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        /***
+         * Returns interval of periodic slow invocation reports.
+         *
+         * @return report interval, zero disables periodic reports.
+         */
+        public Duration getReportInterval() {
+            return reportInterval;
+        }
+
+        /***
+         * Sets interval of periodic slow invocation reports.
+         *
+         * @param reportInterval report interval, zero disables periodic reports.
+         */
+        public void setReportInterval(Duration reportInterval) {
+            this.reportInterval = reportInterval;
+        }
+    }
+
+    /***
+     * Settings for {@link ProfilingMode#AGENT}.
+     */
+    public static class Agent {
+        private boolean selfAttach = true;
+
+        /***
+         * Indicates whether the agent attaches itself at startup when not started with {@code -javaagent}.
+         *
+         * @return {@code true} when runtime self-attach is allowed.
+         */
+        public boolean isSelfAttach() {
+            return selfAttach;
+        }
+
+        /***
+         * Allows or forbids runtime self-attach of the agent.
+         *
+         * @param selfAttach self-attach switch.
+         */
+        public void setSelfAttach(boolean selfAttach) {
+            this.selfAttach = selfAttach;
+        }
+    }
+
+    /***
+     * Settings for persisting per-method latency baselines.
+     */
+    public static class Baseline {
+        private Path path;
+        private boolean writeOnShutdown = true;
+
+        /***
+         * Returns baseline file.
+         *
+         * @return baseline file, {@code null} when baselines are disabled.
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /***
+         * Sets baseline file; setting it enables baselines.
+         *
+         * @param path baseline file.
+         */
+        public void setPath(Path path) {
+            this.path = path;
+        }
+
+        /***
+         * Indicates whether a baseline is written when the application shuts down.
+         *
+         * @return {@code true} when a final baseline is written on shutdown.
+         */
+        public boolean isWriteOnShutdown() {
+            return writeOnShutdown;
+        }
+
+        /***
+         * Enables or disables writing a baseline on shutdown.
+         *
+         * @param writeOnShutdown shutdown write switch.
+         */
+        public void setWriteOnShutdown(boolean writeOnShutdown) {
+            this.writeOnShutdown = writeOnShutdown;
+        }
+    }
+
+    /***
+     * Settings for reporting time-in-queue of executor-dispatched tasks.
+     */
+    public static class Executors {
+        private boolean enabled = true;
+
+        /***
+         * Indicates whether thread pool executors report time-in-queue and execution time.
+         *
+         * @return {@code true} when executor tasks are timed.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables executor task timing.
+         *
+         * @param enabled executor timing switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /***
+     * Settings for storing per-method aggregated statistics.
+     */
+    public static class MethodStats {
+        private boolean offHeap = false;
+        private DataSize maxMemory = DataSize.ofMegabytes(64);
+
+        /***
+         * Indicates whether statistics are kept in a fixed-size off-heap arena.
+         *
+         * @return {@code true} when statistics are stored off-heap with cold method eviction.
+         */
+        public boolean isOffHeap() {
+            return offHeap;
+        }
+
+        /***
+         * Enables or disables the off-heap statistics arena.
+         *
+         * @param offHeap off-heap storage switch.
+         */
+        public void setOffHeap(boolean offHeap) {
+            this.offHeap = offHeap;
+        }
+
+        /***
+         * Returns memory cap of the off-heap arena.
+         *
+         * @return arena size; cold methods are evicted once it is full.
+         */
+        public DataSize getMaxMemory() {
+            return maxMemory;
+        }
+
+        /***
+         * Sets memory cap of the off-heap arena.
+         *
+         * @param maxMemory arena size.
+         */
+        public void setMaxMemory(DataSize maxMemory) {
+            this.maxMemory = maxMemory;
+        }
+    }
+
+    /***
+     * Settings for selecting profiled methods by configuration instead of annotations.
+     */
+    public static class Patterns {
+        private List<Pattern> include = new ArrayList<>();
+        private List<Pattern> exclude = new ArrayList<>();
+
+        /***
+         * Returns patterns selecting methods to profile.
+         *
+         * @return include patterns.
+         */
+        public List<Pattern> getInclude() {
+            return include;
+        }
+
+        /***
+         * Sets patterns selecting methods to profile.
+         *
+         * @param include include patterns.
+         */
+        public void setInclude(List<Pattern> include) {
+            this.include = include;
+        }
+
+        /***
+         * Returns patterns selecting methods never to profile; they win over includes and annotations.
+         *
+         * @return exclude patterns.
+         */
+        public List<Pattern> getExclude() {
+            return exclude;
+        }
+
+        /***
+         * Sets patterns selecting methods never to profile.
+         *
+         * @param exclude exclude patterns.
+         */
+        public void setExclude(List<Pattern> exclude) {
+            this.exclude = exclude;
+        }
+
+        /***
+         * Single include or exclude pattern with the flags of {@link org.profiling.Profiling}.
+         */
+        public static class Pattern {
+            private String type;
+            private String method;
+            private String returns;
+            private String parameters;
+            private String message = "";
+            private boolean logParams = true;
+            private boolean logResult = true;
+            private boolean logTime = true;
+            private boolean logCallerInfo = true;
+            private boolean contention = false;
+
+            /***
+             * Returns class glob.
+             *
+             * @return class glob, e.g. {@code com.acme.**} or {@code com.acme.*Client}.
+             */
+            public String getType() {
+                return type;
+            }
+
+            /***
+             * Sets class glob.
+             *
+             * @param type class glob, e.g. {@code com.acme.**} or {@code com.acme.*Client}.
+             */
+            public void setType(String type) {
+                this.type = type;
+            }
+
+            /***
+             * Returns method name glob.
+             *
+             * @return method name glob, {@code null} for any method.
+             */
+            public String getMethod() {
+                return method;
+            }
+
+            /***
+             * Sets method name glob.
+             *
+             * @param method method name glob, {@code null} for any method.
+             */
+            public void setMethod(String method) {
+                this.method = method;
+            }
+
+            /***
+             * Returns return type glob.
+             *
+             * @return return type glob, {@code null} for any return type.
+             */
+            public String getReturns() {
+                return returns;
+            }
+
+            /***
+             * Sets return type glob.
+             *
+             * @param returns return type glob, {@code null} for any return type.
+             */
+            public void setReturns(String returns) {
+                this.returns = returns;
+            }
+
+            /***
+             * Returns parameter type globs.
+             *
+             * @return comma separated parameter type globs, {@code ..} for any remaining parameters.
+             */
+            public String getParameters() {
+                return parameters;
+            }
+
+            /***
+             * Sets parameter type globs.
+             *
+             * @param parameters comma separated parameter type globs, {@code ..} for any remaining parameters.
+             */
+            public void setParameters(String parameters) {
+                this.parameters = parameters;
+            }
+
+            /***
+             * Returns message logged for selected methods.
+             *
+             * @return message logged for selected methods.
+             */
+            public String getMessage() {
+                return message;
+            }
+
+            /***
+             * Sets message logged for selected methods.
+             *
+             * @param message message logged for selected methods.
+             */
+            public void setMessage(String message) {
+                this.message = message;
+            }
+
+            /***
+             * Indicates whether parameters are logged for selected methods.
+             *
+             * @return {@code true} when parameters are logged.
+             */
+            public boolean isLogParams() {
+                return logParams;
+            }
+
+            /***
+             * Enables or disables parameter logging for selected methods.
+             *
+             * @param logParams parameter logging switch.
+             */
+            public void setLogParams(boolean logParams) {
+                this.logParams = logParams;
+            }
+
+            /***
+             * Indicates whether the result is logged for selected methods.
+             *
+             * @return {@code true} when the result is logged.
+             */
+            public boolean isLogResult() {
+                return logResult;
+            }
+
+            /***
+             * Enables or disables result logging for selected methods.
+             *
+             * @param logResult result logging switch.
+             */
+            public void setLogResult(boolean logResult) {
+                this.logResult = logResult;
+            }
+
+            /***
+             * Indicates whether execution time is logged for selected methods.
+             *
+             * @return {@code true} when execution time is logged.
+             */
+            public boolean isLogTime() {
+                return logTime;
+            }
+
+            /***
+             * Enables or disables execution time logging for selected methods.
+             *
+             * @param logTime execution time logging switch.
+             */
+            public void setLogTime(boolean logTime) {
+                this.logTime = logTime;
+            }
+
+            /***
+             * Indicates whether caller information is logged for selected methods.
+             *
+             * @return {@code true} when caller information is logged.
+             */
+            public boolean isLogCallerInfo() {
+                return logCallerInfo;
+            }
+
+            /***
+             * Enables or disables caller information logging for selected methods.
+             *
+             * @param logCallerInfo caller information logging switch.
+             */
+            public void setLogCallerInfo(boolean logCallerInfo) {
+                this.logCallerInfo = logCallerInfo;
+            }
+
+            /***
+             * Indicates whether wall time of selected methods is split into CPU, blocked, waited and other time.
+             *
+             * @return {@code true} when contention is measured.
+             */
+            public boolean isContention() {
+                return contention;
+            }
+
+            /***
+             * Enables or disables contention measurement for selected methods.
+             *
+             * @param contention contention measurement switch.
+             */
+            public void setContention(boolean contention) {
+                this.contention = contention;
+            }
+
+            /***
+             * Converts pattern to its core representation.
+             *
+             * @return method pattern.
+             */
+            public MethodPattern toMethodPattern() {
+                return new MethodPattern(type, method, returns, parameters, message,
+                        logParams, logResult, logTime, logCallerInfo, contention);
+            }
+        }
+    }
+
+    /***
+     * Settings for sampling stacks of long-running invocations.
+     */
+    public static class Sampling {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofMillis(50);
+        private Duration threshold = Duration.ofSeconds(1);
+        private int hotFrames = 10;
+
+        /***
+         * Indicates whether stack sampling of long-running invocations is active.
+         *
+         * @return {@code true} when long-running invocations are sampled.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables stack sampling of long-running invocations.
+         *
+         * @param enabled stack sampling switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /***
+         * Returns interval between stack samples.
+         *
+         * @return sampling interval.
+         */
+        public Duration getInterval() {
+            return interval;
+        }
+
+        /***
+         * Sets interval between stack samples.
+         *
+         * @param interval sampling interval.
+         */
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        /***
+         * Returns minimum running time before an invocation is sampled.
+         *
+         * @return sampling threshold.
+         */
+        public Duration getThreshold() {
+            return threshold;
+        }
+
+        /***
+         * Sets minimum running time before an invocation is sampled.
+         *
+         * @param threshold sampling threshold.
+         */
+        public void setThreshold(Duration threshold) {
+            this.threshold = threshold;
+        }
+
+        /***
+         * Returns maximum number of hot frames attached to a profiling record.
+         *
+         * @return hot frame limit.
+         */
+        public int getHotFrames() {
+            return hotFrames;
+        }
+
+        /***
+         * Sets maximum number of hot frames attached to a profiling record.
+         *
+         * @param hotFrames hot frame limit.
+         */
+        public void setHotFrames(int hotFrames) {
+            this.hotFrames = hotFrames;
+        }
+    }
+
+    /***
+     * Settings for rolling per-method windows and anomaly detection.
+     */
+    public static class Windows {
+        private boolean enabled = false;
+        private double anomalyFactor = 3.0;
+        private double ewmaAlpha = 0.2;
+        private int minSamples = 20;
+        private int warmupMinutes = 5;
+        private int maxMethods = 200;
+
+        /***
+         * Indicates whether rolling windows are maintained.
+         *
+         * @return {@code true} when per-second and per-minute windows are recorded.
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /***
+         * Enables or disables rolling windows.
+         *
+         * @param enabled rolling windows switch.
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /***
+         * Returns how many times its baseline a metric must exceed to raise an anomaly.
+         *
+         * @return anomaly factor.
+         */
+        public double getAnomalyFactor() {
+            return anomalyFactor;
+        }
+
+        /***
+         * Sets how many times its baseline a metric must exceed to raise an anomaly.
+         *
+         * @param anomalyFactor anomaly factor, greater than {@code 1}.
+         */
+        public void setAnomalyFactor(double anomalyFactor) {
+            this.anomalyFactor = anomalyFactor;
+        }
+
+        /***
+         * Returns smoothing factor of the latency and error rate baselines.
+         *
+         * @return EWMA alpha.
+         */
+        public double getEwmaAlpha() {
+            return ewmaAlpha;
+        }
+
+        /***
+         * Sets smoothing factor of the latency and error rate baselines.
+         *
+         * @param ewmaAlpha EWMA alpha between {@code 0} and {@code 1}.
+         */
+        public void setEwmaAlpha(double ewmaAlpha) {
+            this.ewmaAlpha = ewmaAlpha;
+        }
+
+        /***
+         * Returns minimum invocations in a minute for it to be evaluated.
+         *
+         * @return minimum invocations per minute.
+         */
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        /***
+         * Sets minimum invocations in a minute for it to be evaluated.
+         *
+         * @param minSamples minimum invocations per minute.
+         */
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        /***
+         * Returns evaluated minutes needed before anomalies are raised.
+         *
+         * @return warm-up minutes.
+         */
+        public int getWarmupMinutes() {
+            return warmupMinutes;
+        }
+
+        /***
+         * Sets evaluated minutes needed before anomalies are raised.
+         *
+         * @param warmupMinutes warm-up minutes.
+         */
+        public void setWarmupMinutes(int warmupMinutes) {
+            this.warmupMinutes = warmupMinutes;
+        }
+
+        /***
+         * Returns maximum number of methods with rolling windows.
+         *
+         * @return windowed method limit.
+         */
+        public int getMaxMethods() {
+            return maxMethods;
+        }
+
+        /***
+         * Sets maximum number of methods with rolling windows; each takes about 125KB.
+         *
+         * @param maxMethods windowed method limit.
+         */
+        public void setMaxMethods(int maxMethods) {
+            this.maxMethods = maxMethods;
+        }
+    }
 }
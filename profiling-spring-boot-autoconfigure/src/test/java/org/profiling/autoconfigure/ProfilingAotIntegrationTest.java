@@ -0,0 +1,104 @@
+package org.profiling.autoconfigure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.profiling.Profiling;
+import org.profiling.plan.ProfilingPlans;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.MethodStatsSnapshot;
+import org.springframework.aot.test.generate.TestGenerationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.test.tools.CompileWithForkedClassLoader;
+import org.springframework.core.test.tools.TestCompiler;
+import org.springframework.javapoet.ClassName;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/***
+ * Runs the same application on the JVM and from AOT-generated code and checks that both profile the
+ * same methods under the same names.
+ */
+class ProfilingAotIntegrationTest {
+
+    @AfterEach
+    void resetPlans() {
+        ProfilingPlans.reset();
+    }
+
+    @Test
+    @CompileWithForkedClassLoader
+    void aotRunUsesBuildTimePlans() throws Exception {
+        Method greet = GreetingService.class.getMethod("greet", String.class);
+
+        List<String> jvm = profiledMethods(() -> {
+            AnnotationConfigApplicationContext context = createContext();
+            context.refresh();
+            return context;
+        });
+        assertThat(ProfilingPlans.isRegistered(GreetingService.class, greet)).isFalse();
+        ProfilingPlans.reset();
+
+        TestGenerationContext generationContext = new TestGenerationContext();
+        ClassName initializerName = new ApplicationContextAotGenerator()
+                .processAheadOfTime(createContext(), generationContext);
+        generationContext.writeGeneratedContent();
+
+        AtomicReference<List<String>> aot = new AtomicReference<>();
+        TestCompiler.forSystem().with(generationContext).compile(compiled -> aot.set(profiledMethods(() -> {
+            @SuppressWarnings("unchecked")
+            ApplicationContextInitializer<GenericApplicationContext> initializer =
+                    compiled.getInstance(ApplicationContextInitializer.class, initializerName.toString());
+            GenericApplicationContext context = new GenericApplicationContext();
+            initializer.initialize(context);
+            context.refresh();
+            return context;
+        })));
+
+        assertThat(ProfilingPlans.isRegistered(GreetingService.class, greet)).isTrue();
+        assertThat(jvm).containsExactly(GreetingService.class.getName() + ".greet");
+        assertThat(aot.get()).isEqualTo(jvm);
+    }
+
+    private static List<String> profiledMethods(ContextFactory factory) {
+        try (GenericApplicationContext context = factory.create()) {
+            assertThat(context.getBean(GreetingService.class).greet("aot")).isEqualTo("hello aot");
+            return context.getBean(MethodStatsRegistry.class).snapshot().stream()
+                    .map(MethodStatsSnapshot::method)
+                    .toList();
+        }
+    }
+
+    private static AnnotationConfigApplicationContext createContext() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.register(ProfilingAutoConfiguration.class, TestConfiguration.class);
+        return context;
+    }
+
+    private interface ContextFactory {
+        GenericApplicationContext create();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    public static class TestConfiguration {
+        @Bean
+        public GreetingService greetingService() {
+            return new GreetingService();
+        }
+    }
+
+    @Profiling(message = "Greeting")
+    public static class GreetingService {
+        public String greet(String name) {
+            return "hello " + name;
+        }
+    }
+}
@@ -3,7 +3,12 @@ package org.profiling.autoconfigure;
 import org.junit.jupiter.api.Test;
 import org.profiling.Profiling;
 import org.profiling.ProfilingHandlerBeanPostProcessor;
+import org.profiling.governor.OverheadGovernor;
+import org.profiling.stats.MethodStatsRegistry;
+import org.profiling.stats.ProfilingOverhead;
+import org.profiling.stats.ProfilingPhase;
 import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.aop.framework.autoproxy.InfrastructureAdvisorAutoProxyCreator;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -39,6 +44,68 @@ class ProfilingAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void overheadIsMeasuredPerPhase() {
+        contextRunner.withPropertyValues("profiling.overhead.enabled=true").run(context -> {
+            ProfilingOverhead overhead = context.getBean(ProfilingOverhead.class);
+            context.getBean(TestService.class).call();
+            assertThat(overhead.getTimerCostNanos()).isPositive();
+            assertThat(overhead.phase(ProfilingPhase.LOOKUP).count()).isEqualTo(1);
+            assertThat(overhead.phase(ProfilingPhase.INVOKE).count()).isEqualTo(1);
+            assertThat(overhead.phase(ProfilingPhase.EMIT).count()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void overheadMeasurementIsOptIn() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(ProfilingOverhead.class));
+    }
+
+    @Test
+    void governorMeasuresOverhead() {
+        contextRunner
+                .withPropertyValues("profiling.governor.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ProfilingOverhead.class);
+                    assertThat(context).hasSingleBean(OverheadGovernor.class);
+                });
+    }
+
+    @Test
+    void agentModeProfilesWithoutProxies() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(ProfilingAgentAutoConfiguration.class))
+                .withPropertyValues("profiling.mode=agent")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(AgentProfilingSink.class);
+                    assertThat(context).doesNotHaveBean(InfrastructureAdvisorAutoProxyCreator.class);
+                    TestService bean = context.getBean(TestService.class);
+                    assertThat(bean.getClass()).isEqualTo(TestService.class);
+                    assertThat(bean.call()).isEqualTo("ok");
+                    assertThat(context.getBean(MethodStatsRegistry.class).snapshot())
+                            .anySatisfy(stats -> assertThat(stats.method()).endsWith("TestService.call"));
+                });
+    }
+
+    @Test
+    void patternsSelectMethodsWithoutAnnotations() {
+        contextRunner
+                .withBean(PlainService.class)
+                .withPropertyValues("profiling.patterns.include[0].type=*PlainService",
+                        "profiling.patterns.include[0].method=load*",
+                        "profiling.patterns.exclude[0].type=*TestService")
+                .run(context -> {
+                    PlainService plain = context.getBean(PlainService.class);
+                    assertThat(AopUtils.isAopProxy(plain)).isTrue();
+                    assertThat(AopUtils.isAopProxy(context.getBean(TestService.class))).isFalse();
+                    plain.load();
+                    plain.store();
+                    assertThat(context.getBean(MethodStatsRegistry.class).snapshot())
+                            .singleElement()
+                            .satisfies(stats -> assertThat(stats.method()).endsWith("PlainService.load"));
+                });
+    }
+
     @Configuration(proxyBeanMethods = false)
     static class TestConfiguration {
         @Bean
@@ -47,6 +114,15 @@ class ProfilingAutoConfigurationTest {
         }
     }
 
+    public static class PlainService {
+        public String load() {
+            return "loaded";
+        }
+
+        public void store() {
+        }
+    }
+
     @Profiling
     public static class TestService {
         public String call() {
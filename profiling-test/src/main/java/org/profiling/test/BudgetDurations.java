@@ -0,0 +1,31 @@
+package org.profiling.test;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/***
+ * Parses budget durations such as {@code 250us}, {@code 2ms} or {@code 1s}.
+ */
+final class BudgetDurations {
+
+    private static final Pattern FORMAT = Pattern.compile("^\\s*(\\d+)\\s*(ns|us|ms|s)\\s*$");
+    private static final Map<String, ChronoUnit> UNITS = Map.of(
+            "ns", ChronoUnit.NANOS,
+            "us", ChronoUnit.MICROS,
+            "ms", ChronoUnit.MILLIS,
+            "s", ChronoUnit.SECONDS);
+
+    private BudgetDurations() {
+    }
+
+    static Duration parse(String value) {
+        Matcher matcher = FORMAT.matcher(value);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid budget duration '" + value + "', expected e.g. 2ms");
+        }
+        return Duration.of(Long.parseLong(matcher.group(1)), UNITS.get(matcher.group(2)));
+    }
+}
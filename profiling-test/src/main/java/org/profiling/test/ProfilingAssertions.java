@@ -0,0 +1,191 @@
+package org.profiling.test;
+
+import org.profiling.capture.CaptureSnapshot;
+import org.profiling.capture.CapturedMethodStats;
+import org.profiling.capture.InvocationCapture;
+
+import java.time.Duration;
+
+/***
+ * Fluent assertions on captured profiling statistics:
+ * <pre>{@code
+ * ProfilingAssertions.assertThat(capture)
+ *         .method("UserService.loadUser")
+ *         .wasInvoked(3)
+ *         .percentileAtMost(99, Duration.ofMillis(2))
+ *         .allocatedAtMostPerInvocation(64 * 1024);
+ * }</pre>
+ */
+public final class ProfilingAssertions {
+
+    private ProfilingAssertions() {
+    }
+
+    /***
+     * Starts assertions on the current state of a capture.
+     *
+     * @param capture capture of the running test.
+     * @return snapshot assertions.
+     */
+    public static SnapshotAssert assertThat(InvocationCapture capture) {
+        return assertThat(capture.snapshot());
+    }
+
+    /***
+     * Starts assertions on a snapshot.
+     *
+     * @param snapshot captured statistics.
+     * @return snapshot assertions.
+     */
+    public static SnapshotAssert assertThat(CaptureSnapshot snapshot) {
+        return new SnapshotAssert(snapshot);
+    }
+
+    /***
+     * Assertions on a whole snapshot.
+     */
+    public static final class SnapshotAssert {
+
+        private final CaptureSnapshot snapshot;
+
+        private SnapshotAssert(CaptureSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /***
+         * Selects methods matching a pattern, see {@link CapturedMethodStats#matches(String)}.
+         *
+         * @param pattern method pattern.
+         * @return method assertions.
+         */
+        public MethodAssert method(String pattern) {
+            return new MethodAssert(this, pattern, snapshot.method(pattern));
+        }
+
+        /***
+         * Verifies that no profiled method was invoked.
+         *
+         * @return this assertion.
+         */
+        public SnapshotAssert hasNoInvocations() {
+            if (!snapshot.methods().isEmpty()) {
+                throw new AssertionError("Expected no profiled invocations but captured " + snapshot.methods().stream()
+                        .map(stats -> stats.method() + " x" + stats.count())
+                        .toList());
+            }
+            return this;
+        }
+    }
+
+    /***
+     * Assertions on statistics of the selected methods.
+     */
+    public static final class MethodAssert {
+
+        private final SnapshotAssert snapshot;
+        private final String pattern;
+        private final CapturedMethodStats stats;
+
+        private MethodAssert(SnapshotAssert snapshot, String pattern, CapturedMethodStats stats) {
+            this.snapshot = snapshot;
+            this.pattern = pattern;
+            this.stats = stats;
+        }
+
+        /***
+         * Verifies exact invocation count.
+         *
+         * @param expected expected invocations.
+         * @return this assertion.
+         */
+        public MethodAssert wasInvoked(long expected) {
+            if (stats.count() != expected) {
+                fail("invoked " + expected + " times", "invoked " + stats.count() + " times");
+            }
+            return this;
+        }
+
+        /***
+         * Verifies minimal invocation count.
+         *
+         * @param minimum minimal invocations.
+         * @return this assertion.
+         */
+        public MethodAssert wasInvokedAtLeast(long minimum) {
+            if (stats.count() < minimum) {
+                fail("invoked at least " + minimum + " times", "invoked " + stats.count() + " times");
+            }
+            return this;
+        }
+
+        /***
+         * Verifies that no invocation threw an exception.
+         *
+         * @return this assertion.
+         */
+        public MethodAssert hasNoErrors() {
+            if (stats.errors() != 0) {
+                fail("no errors", stats.errors() + " failed invocations");
+            }
+            return this;
+        }
+
+        /***
+         * Verifies latency percentile.
+         *
+         * @param percentile percentile between {@code 0} and {@code 100}; {@code 100} is the slowest invocation.
+         * @param limit upper bound, inclusive.
+         * @return this assertion.
+         */
+        public MethodAssert percentileAtMost(double percentile, Duration limit) {
+            long actual = stats.percentileNanos(percentile);
+            if (actual > limit.toNanos()) {
+                fail("p" + format(percentile) + " <= " + limit.toNanos() + " ns",
+                        "p" + format(percentile) + " = " + actual + " ns over " + stats.count() + " invocations");
+            }
+            return this;
+        }
+
+        /***
+         * Verifies the largest allocation of a single invocation.
+         *
+         * @param maxBytes upper bound, inclusive.
+         * @return this assertion.
+         */
+        public MethodAssert allocatedAtMostPerInvocation(long maxBytes) {
+            if (!stats.allocationMeasured()) {
+                fail("allocation <= " + maxBytes + " bytes", "allocation not measured on this JVM or profiling mode");
+            }
+            if (stats.maxAllocatedBytes() > maxBytes) {
+                fail("allocation <= " + maxBytes + " bytes", stats.maxAllocatedBytes() + " bytes");
+            }
+            return this;
+        }
+
+        /***
+         * Returns the selected statistics for custom checks.
+         *
+         * @return merged statistics of matching methods.
+         */
+        public CapturedMethodStats stats() {
+            return stats;
+        }
+
+        /***
+         * Returns to snapshot assertions to select another method.
+         *
+         * @return snapshot assertions.
+         */
+        public SnapshotAssert and() {
+            return snapshot;
+        }
+
+        private void fail(String expected, String actual) {
+            throw new AssertionError(pattern + ": expected " + expected + " but was " + actual);
+        }
+
+        private static String format(double percentile) {
+            return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.profiling.test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/***
+ * Performance budget of a {@code @Profiling} method, checked after each test by {@link ProfilingExtension}.
+ * On a test class the budget applies to every test method.
+ * <p>
+ * Durations are written as a number followed by {@code ns}, {@code us}, {@code ms} or {@code s}, e.g. {@code 2ms}.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(ProfilingBudgets.class)
+@ExtendWith(ProfilingExtension.class)
+public @interface ProfilingBudget {
+    /***
+     * Profiled method: fully qualified name or its trailing part, e.g. {@code UserService.loadUser}.
+     * Overloads are checked together.
+     * @return method pattern
+     */
+    String method();
+
+    /***
+     * Upper bound of the median latency, empty for no bound
+     * @return duration
+     */
+    String p50() default "";
+
+    /***
+     * Upper bound of the 99th percentile latency, empty for no bound
+     * @return duration
+     */
+    String p99() default "";
+
+    /***
+     * Upper bound of the slowest invocation, empty for no bound
+     * @return duration
+     */
+    String max() default "";
+
+    /***
+     * Upper bound of bytes allocated by a single invocation, negative for no bound
+     * @return bytes
+     */
+    long maxAllocatedBytes() default -1;
+
+    /***
+     * Minimal number of invocations, so a budget never passes because the method was not called
+     * @return invocation count
+     */
+    long minInvocations() default 1;
+}
@@ -0,0 +1,24 @@
+package org.profiling.test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/***
+ * Container of repeated {@link ProfilingBudget}s.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(ProfilingExtension.class)
+public @interface ProfilingBudgets {
+    /***
+     * Budgets
+     * @return budgets
+     */
+    ProfilingBudget[] value();
+}
@@ -0,0 +1,118 @@
+package org.profiling.test;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.profiling.capture.CaptureSnapshot;
+import org.profiling.capture.InvocationCapture;
+import org.profiling.capture.InvocationCaptures;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/***
+ * JUnit 5 extension that captures every {@code @Profiling} invocation made during a test, in memory,
+ * and checks the {@link ProfilingBudget}s declared on the test method and class afterwards. Only the
+ * test's thread and threads it starts are captured, so budgets hold under parallel test execution.
+ * <p>
+ * The capture can be injected as an {@link InvocationCapture} parameter to assert on it directly with
+ * {@link ProfilingAssertions}.
+ */
+public class ProfilingExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ProfilingExtension.class);
+
+    /***
+     * Opens capture for the test.
+     *
+     * @param context test context.
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(InvocationCapture.class, InvocationCaptures.open());
+    }
+
+    /***
+     * Closes capture and checks budgets unless the test already failed.
+     *
+     * @param context test context.
+     */
+    @Override
+    public void afterEach(ExtensionContext context) {
+        InvocationCapture capture = context.getStore(NAMESPACE).remove(InvocationCapture.class, InvocationCapture.class);
+        if (capture == null) {
+            return;
+        }
+        capture.close();
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<ProfilingBudget> budgets = new ArrayList<>();
+        context.getTestClass().ifPresent(type ->
+                budgets.addAll(AnnotationSupport.findRepeatableAnnotations(type, ProfilingBudget.class)));
+        context.getTestMethod().ifPresent(method ->
+                budgets.addAll(AnnotationSupport.findRepeatableAnnotations(method, ProfilingBudget.class)));
+        if (!budgets.isEmpty()) {
+            check(capture.snapshot(), budgets);
+        }
+    }
+
+    /***
+     * Supports {@link InvocationCapture} parameters.
+     *
+     * @param parameterContext parameter context.
+     * @param extensionContext test context.
+     * @return {@code true} for capture parameters.
+     */
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == InvocationCapture.class;
+    }
+
+    /***
+     * Resolves capture of the running test.
+     *
+     * @param parameterContext parameter context.
+     * @param extensionContext test context.
+     * @return open capture.
+     */
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(InvocationCapture.class, InvocationCapture.class);
+    }
+
+    static void check(CaptureSnapshot snapshot, List<ProfilingBudget> budgets) {
+        List<String> violations = new ArrayList<>();
+        for (ProfilingBudget budget : budgets) {
+            ProfilingAssertions.MethodAssert method = ProfilingAssertions.assertThat(snapshot).method(budget.method());
+            collect(violations, () -> method.wasInvokedAtLeast(budget.minInvocations()));
+            if (!budget.p50().isEmpty()) {
+                collect(violations, () -> method.percentileAtMost(50, BudgetDurations.parse(budget.p50())));
+            }
+            if (!budget.p99().isEmpty()) {
+                collect(violations, () -> method.percentileAtMost(99, BudgetDurations.parse(budget.p99())));
+            }
+            if (!budget.max().isEmpty()) {
+                collect(violations, () -> method.percentileAtMost(100, BudgetDurations.parse(budget.max())));
+            }
+            if (budget.maxAllocatedBytes() >= 0) {
+                collect(violations, () -> method.allocatedAtMostPerInvocation(budget.maxAllocatedBytes()));
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Profiling budget exceeded:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static void collect(List<String> violations, Runnable check) {
+        try {
+            check.run();
+        } catch (AssertionError e) {
+            violations.add(" - " + e.getMessage());
+        }
+    }
+}
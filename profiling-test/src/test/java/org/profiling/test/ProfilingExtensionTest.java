@@ -0,0 +1,160 @@
+package org.profiling.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+import org.profiling.Profiling;
+import org.profiling.ProfilingAopMethodInterceptor;
+import org.profiling.ProfilingPointcutAdvisor;
+import org.profiling.capture.InvocationCapture;
+import org.profiling.enums.LogType;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+class ProfilingExtensionTest {
+
+    private static final String FIXTURES = "profiling.test.fixtures";
+
+    @Test
+    void budgetWithinLimitsPasses() {
+        Events events = execute("withinBudget");
+
+        events.assertStatistics(stats -> stats.succeeded(1).failed(0));
+    }
+
+    @Test
+    void exceededBudgetsFailTheTest() {
+        Events events = execute("overBudget");
+
+        events.assertStatistics(stats -> stats.failed(1));
+        Throwable failure = events.failed().stream().findFirst().orElseThrow()
+                .getPayload(TestExecutionResult.class).orElseThrow()
+                .getThrowable().orElseThrow();
+        assertTrue(failure.getMessage().contains("UserService.allocate: expected allocation <= 1024 bytes"),
+                failure.getMessage());
+        assertTrue(failure.getMessage().contains("UserService.sleep: expected p99 <= 1000000 ns"), failure.getMessage());
+    }
+
+    @Test
+    void budgetFailsWhenMethodIsNotInvoked() {
+        execute("notInvoked").assertStatistics(stats -> stats.failed(1));
+    }
+
+    @Test
+    void capturesNothingOutsideOfTests() {
+        UserService service = proxy();
+        service.loadUser("a");
+
+        execute("noInvocations").assertStatistics(stats -> stats.succeeded(1));
+    }
+
+    @Test
+    void fluentAssertionsReportViolations() {
+        execute("fluent").assertStatistics(stats -> stats.succeeded(1));
+        assertThrows(IllegalArgumentException.class, () -> BudgetDurations.parse("2 minutes"));
+        assertEquals(Duration.ofNanos(250_000), BudgetDurations.parse("250us"));
+    }
+
+    private static Events execute(String name) {
+        Method method = Arrays.stream(ProfiledTestCase.class.getDeclaredMethods())
+                .filter(candidate -> candidate.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+        return EngineTestKit.engine("junit-jupiter")
+                .configurationParameter(FIXTURES, "true")
+                .selectors(selectMethod(ProfiledTestCase.class, method))
+                .execute()
+                .testEvents();
+    }
+
+    static UserService proxy() {
+        ProxyFactory factory = new ProxyFactory(new UserService());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new ProfilingPointcutAdvisor(new ProfilingAopMethodInterceptor(LogType.JFR)));
+        return (UserService) factory.getProxy();
+    }
+
+    /***
+     * Fixture run through {@link EngineTestKit} only; some of its tests fail on purpose.
+     */
+    @ExtendWith(ProfilingExtension.class)
+    @EnabledIf("launchedByTestKit")
+    static class ProfiledTestCase {
+
+        static boolean launchedByTestKit(ExtensionContext context) {
+            return context.getConfigurationParameter(FIXTURES).isPresent();
+        }
+
+        private final UserService service = proxy();
+
+        @Test
+        @ProfilingBudget(method = "UserService.loadUser", p99 = "50ms", maxAllocatedBytes = 1024 * 1024)
+        void withinBudget() {
+            for (int i = 0; i < 100; i++) {
+                service.loadUser("user-" + i);
+            }
+        }
+
+        @Test
+        @ProfilingBudget(method = "UserService.allocate", maxAllocatedBytes = 1024)
+        @ProfilingBudget(method = "UserService.sleep", p99 = "1ms")
+        void overBudget() throws InterruptedException {
+            service.allocate(1_000_000);
+            service.sleep(5);
+        }
+
+        @Test
+        @ProfilingBudget(method = "UserService.loadUser", p99 = "1s")
+        void notInvoked() {
+        }
+
+        @Test
+        void noInvocations(InvocationCapture capture) {
+            ProfilingAssertions.assertThat(capture).hasNoInvocations();
+        }
+
+        @Test
+        void fluent(InvocationCapture capture) throws InterruptedException {
+            service.loadUser("a");
+            service.loadUser("b");
+            service.sleep(2);
+
+            ProfilingAssertions.assertThat(capture)
+                    .method("UserService.loadUser").wasInvoked(2).hasNoErrors()
+                    .percentileAtMost(99, Duration.ofMillis(50))
+                    .and()
+                    .method("ProfilingExtensionTest.UserService.sleep").wasInvoked(1);
+
+            AssertionError error = assertThrows(AssertionError.class, () -> ProfilingAssertions.assertThat(capture)
+                    .method("UserService.sleep").percentileAtMost(50, Duration.ofNanos(1)));
+            assertTrue(error.getMessage().startsWith("UserService.sleep: expected p50 <= 1 ns but was p50 = "));
+        }
+    }
+
+    @Profiling
+    public static class UserService {
+        public String loadUser(String id) {
+            return "user-" + id;
+        }
+
+        public int allocate(int bytes) {
+            return new byte[bytes].length;
+        }
+
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+    }
+}